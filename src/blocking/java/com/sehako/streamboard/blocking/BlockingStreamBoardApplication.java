@@ -0,0 +1,41 @@
+package com.sehako.streamboard.blocking;
+
+import com.sehako.streamboard.application.view.PostViewCounterProperties;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+// 리액티브 애플리케이션과 같은 /post API를 Spring MVC와 JDBC로 제공한다. 요청은 가상 스레드에서 처리한다.
+// 같은 classpath에서 리액티브 애플리케이션이 이 패키지를 스캔해도 프로필이 없으면 아무 빈도 만들지 않는다.
+@Profile(BlockingStreamBoardApplication.PROFILE)
+@SpringBootApplication(exclude = {
+        R2dbcAutoConfiguration.class,
+        R2dbcDataAutoConfiguration.class,
+        R2dbcRepositoriesAutoConfiguration.class,
+        R2dbcTransactionManagerAutoConfiguration.class
+})
+@Import(ResponseMessages.class)
+@EnableConfigurationProperties(PostViewCounterProperties.class)
+public class BlockingStreamBoardApplication {
+    public static final String PROFILE = "blocking";
+
+    public static void main(String[] args) {
+        builder().run(args);
+    }
+
+    // WebFlux도 classpath에 있으므로 웹 타입을 직접 정한다.
+    public static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(BlockingStreamBoardApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles(PROFILE)
+                .properties("spring.threads.virtual.enabled=true");
+    }
+}
@@ -0,0 +1,128 @@
+package com.sehako.streamboard.blocking.application;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostPageVersion;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.blocking.BlockingStreamBoardApplication;
+import com.sehako.streamboard.blocking.infrastructure.JdbcPostRepository;
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+import com.sehako.streamboard.infrastructure.domain.PostVersion;
+import com.sehako.streamboard.presentation.request.PageDirection;
+import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// PostService와 같은 요청과 응답을 주고받는다. Mono가 비어 있던 자리는 빈 Optional이 대신한다.
+// 요청마다 가상 스레드가 하나씩 붙으므로 캐시나 요청 병합 없이 데이터베이스를 바로 읽는다.
+@Profile(BlockingStreamBoardApplication.PROFILE)
+@Service
+@RequiredArgsConstructor
+public class BlockingPostService {
+    private static final Integer DEFAULT_MAX_CURSOR = Integer.MAX_VALUE;
+
+    private final JdbcPostRepository postRepository;
+    private final BlockingViewCounter postViewCounter;
+
+    public Integer createPost(PostWriteRequest request) {
+        return postRepository.insert(request.title(), request.content(), LocalDateTime.now());
+    }
+
+    // 다음 페이지가 있는지 알 수 있도록 한 건을 더 읽는다.
+    public PostPageResponse retrievePostPage(PostRetrieveRequest request) {
+        Integer cursor = cursorOf(request);
+        Integer size = request.size();
+        List<PostRetrieveResponse> rows = request.direction() == PageDirection.PREV
+                ? postRepository.findAfterCursor(cursor, size + 1)
+                : postRepository.findByCursor(cursor, size + 1);
+
+        PostPageResponse page = PostPageResponse.of(rows, size, request.direction());
+        return new PostPageResponse(
+                page.posts().stream().map(postViewCounter::current).toList(),
+                page.hasNext(),
+                page.nextCursor()
+        );
+    }
+
+    public String retrievePostsVersion(PostRetrieveRequest request) {
+        Integer cursor = cursorOf(request);
+        Integer size = request.size();
+        PageDirection direction = request.direction();
+        List<PostVersion> rows = direction == PageDirection.PREV
+                ? postRepository.findVersionsAfterCursor(cursor, size + 1)
+                : postRepository.findVersionsByCursor(cursor, size + 1);
+        return PostPageVersion.of(rows, size, direction, PostVersion::no, PostVersion::version);
+    }
+
+    public Optional<Integer> retrievePostVersion(Integer no) {
+        return postRepository.findVersionByNo(no);
+    }
+
+    public Optional<PostDetailRetrieveResponse> retrievePostDetail(PostDetailRetrieveRequest request) {
+        return postRepository.findByNo(request.no())
+                .map(post -> post.withViews(postViewCounter.increment(post.no(), post.views())));
+    }
+
+    // 저장된 조회수를 모르면 0을 넘긴다. 반환값은 쓰지 않는다.
+    public void countView(Integer no) {
+        postViewCounter.increment(no, 0L);
+    }
+
+    @Transactional
+    public Optional<PostDetailRetrieveResponse> patchPostDetail(Integer no, PostPatchRequest request) {
+        return patch(no, null, request);
+    }
+
+    @Transactional
+    public Optional<PostDetailRetrieveResponse> patchPostDetail(
+            Integer no,
+            Integer expectedVersion,
+            PostPatchRequest request
+    ) {
+        return patch(no, expectedVersion, request);
+    }
+
+    public Integer deletePost(Integer no) {
+        return postRepository.deleteByNo(no);
+    }
+
+    private Integer cursorOf(PostRetrieveRequest request) {
+        // 이전 방향은 커서보다 큰 번호를 읽으므로 0이면 가장 오래된 글부터 읽는다.
+        if (request.direction() == PageDirection.PREV) {
+            return request.cursor();
+        }
+        return request.cursor() == 0 ? DEFAULT_MAX_CURSOR : request.cursor();
+    }
+
+    // post 행을 먼저 갱신해 잠근 뒤에 분리된 본문을 지우고, 같은 트랜잭션에서 다시 읽어 이 요청이 쓴 상태를 반환한다.
+    private Optional<PostDetailRetrieveResponse> patch(
+            Integer no,
+            Integer expectedVersion,
+            PostPatchRequest request
+    ) {
+        int updated = expectedVersion == null
+                ? postRepository.updatePost(no, request.title(), request.content())
+                : postRepository.updatePostIfVersion(no, request.title(), request.content(), expectedVersion);
+        if (updated == 0) {
+            if (expectedVersion != null) {
+                throw new ApplicationException(ErrorCode.PRECONDITION_FAILED);
+            }
+            return Optional.empty();
+        }
+
+        if (request.content() != null) {
+            postRepository.deleteSeparatedContent(no);
+        }
+        return postRepository.findByNo(no)
+                .map(post -> post.withViews(postViewCounter.current(post.no(), post.views())));
+    }
+}
@@ -0,0 +1,162 @@
+package com.sehako.streamboard.blocking.application;
+
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.application.view.PostViewCounterProperties;
+import com.sehako.streamboard.blocking.BlockingStreamBoardApplication;
+import com.sehako.streamboard.blocking.infrastructure.JdbcPostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// PostViewCounter와 같이 조회수를 모아 두었다가 주기적으로 한 번의 배치 UPDATE로 기록한다.
+// 조회마다 UPDATE를 보내면 두 구성의 차이가 아니라 조회수 기록 방식의 차이를 재게 된다.
+@Slf4j
+@Profile(BlockingStreamBoardApplication.PROFILE)
+@Component
+public class BlockingViewCounter {
+    private final JdbcPostRepository postRepository;
+    private final PostViewCounterProperties properties;
+    private final Map<Integer, LongAdder> counters = new ConcurrentHashMap<>();
+    private final LongAdder pending = new LongAdder();
+    private final ReentrantLock flushing = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter flushed;
+    private final Counter dropped;
+    private ScheduledExecutorService flusher;
+
+    public BlockingViewCounter(
+            JdbcPostRepository postRepository,
+            PostViewCounterProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.postRepository = postRepository;
+        this.properties = properties;
+        this.flushed = Counter.builder("streamboard.views.flushed")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("streamboard.views.dropped")
+                .register(meterRegistry);
+        Gauge.builder("streamboard.views.pending", pending, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("streamboard.views.tracked", counters, Map::size)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("post-view-flusher").factory()
+        );
+        long interval = properties.flushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // 진행 중인 기록을 기다린 뒤 남은 증가분을 한 번 더 기록한다. 제한 시간을 넘기면 남은 증가분은 잃는다.
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            if (flusher.awaitTermination(properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                flush();
+            } else {
+                log.warn("Failed to flush {} pending post views on shutdown", pending.sum());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 조회 한 번을 더하고, stored에 아직 기록되지 않은 증가분을 더한 조회수를 반환한다.
+    // 기록하면서 비운 카운터를 지우는 것과 겹치지 않도록 맵 안에서 더한다.
+    public long increment(Integer no, long stored) {
+        if (pending.sum() >= properties.hardLimit()) {
+            dropped.increment();
+            return current(no, stored);
+        }
+        LongAdder views = counters.compute(no, (key, current) -> {
+            LongAdder adder = current == null ? new LongAdder() : current;
+            adder.increment();
+            return adder;
+        });
+        pending.increment();
+
+        if (pending.sum() >= properties.maxPending() && flusher != null && !flusher.isShutdown()
+                && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    flushRequested.set(false);
+                }
+            });
+        }
+        return stored + views.sum();
+    }
+
+    public long current(Integer no, long stored) {
+        LongAdder views = counters.get(no);
+        return views == null ? stored : stored + views.sum();
+    }
+
+    public PostRetrieveResponse current(PostRetrieveResponse post) {
+        LongAdder views = counters.get(post.no());
+        return views == null ? post : post.withViews(post.views() + views.sum());
+    }
+
+    // 동시에 한 번만 기록한다. 기록이 커밋된 뒤에 증가분을 빼므로, 그 사이에 읽은 조회수는 잠시 크게 보일 수 있다.
+    void flush() {
+        if (!flushing.tryLock()) {
+            return;
+        }
+        try {
+            List<Integer> nos = new ArrayList<>();
+            List<Long> deltas = new ArrayList<>();
+            new TreeMap<>(counters).forEach((no, views) -> {
+                long delta = views.sum();
+                if (delta > 0) {
+                    nos.add(no);
+                    deltas.add(delta);
+                }
+            });
+
+            long sum = deltas.stream().mapToLong(Long::longValue).sum();
+            try {
+                postRepository.addViews(nos, deltas);
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} post views, retrying on next flush", sum, e);
+                return;
+            }
+
+            for (int i = 0; i < nos.size(); i++) {
+                long delta = deltas.get(i);
+                counters.computeIfPresent(nos.get(i), (key, views) -> {
+                    views.add(-delta);
+                    return views.sum() == 0 ? null : views;
+                });
+            }
+            pending.add(-sum);
+            flushed.increment(sum);
+        } finally {
+            flushing.unlock();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.sehako.streamboard.blocking.common;
+
+import com.sehako.streamboard.blocking.BlockingStreamBoardApplication;
+import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@Profile(BlockingStreamBoardApplication.PROFILE)
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class BlockingExceptionHandler {
+    private final ResponseMessages responseMessages;
+
+    @ExceptionHandler(ApplicationException.class)
+    public ResponseEntity<JsonResponse<Void>> handleApplicationException(
+            ApplicationException e,
+            Locale locale) {
+
+        ErrorCode error = e.getErrorCode();
+
+        return ResponseEntity.status(error.getStatus())
+                .body(responseMessages.get(error, locale).wrap());
+    }
+}
@@ -0,0 +1,184 @@
+package com.sehako.streamboard.blocking.infrastructure;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.blocking.BlockingStreamBoardApplication;
+import com.sehako.streamboard.common.compression.Gzip;
+import com.sehako.streamboard.infrastructure.domain.PostVersion;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+// PostRepository와 같은 SQL을 JDBC로 실행한다. 두 구성이 같은 테이블을 같은 방식으로 읽어야 비교가 공정하다.
+@Profile(BlockingStreamBoardApplication.PROFILE)
+@Repository
+@RequiredArgsConstructor
+public class JdbcPostRepository {
+    private static final String ADD_VIEWS = "UPDATE post SET views = views + ? WHERE no = ?";
+    private static final RowMapper<PostRetrieveResponse> SUMMARY = (rs, rowNum) -> new PostRetrieveResponse(
+            rs.getInt("no"),
+            rs.getString("title"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getInt("version"),
+            rs.getLong("views")
+    );
+    private static final RowMapper<PostVersion> VERSION = (rs, rowNum) -> new PostVersion(
+            rs.getInt("no"),
+            rs.getInt("version")
+    );
+    // 압축된 본문이 있으면 그쪽이 최신이다. post에 남은 옛 본문보다 먼저 본다.
+    private static final RowMapper<PostDetailRetrieveResponse> DETAIL = (rs, rowNum) -> {
+        byte[] compressed = rs.getBytes("content_gzip");
+        String content = compressed == null
+                ? rs.getString("content")
+                : new String(Gzip.decompress(ByteBuffer.wrap(compressed)), StandardCharsets.UTF_8);
+        return new PostDetailRetrieveResponse(
+                rs.getInt("no"),
+                rs.getString("title"),
+                content,
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getInt("version"),
+                rs.getLong("views")
+        );
+    };
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<PostRetrieveResponse> findByCursor(Integer cursor, Integer size) {
+        return jdbcClient.sql("SELECT no, title, created_at, version, views "
+                        + "FROM post "
+                        + "WHERE no < :cursor "
+                        + "ORDER BY no DESC "
+                        + "LIMIT :size")
+                .param("cursor", cursor)
+                .param("size", size)
+                .query(SUMMARY)
+                .list();
+    }
+
+    public List<PostRetrieveResponse> findAfterCursor(Integer cursor, Integer size) {
+        return jdbcClient.sql("SELECT no, title, created_at, version, views "
+                        + "FROM post "
+                        + "WHERE no > :cursor "
+                        + "ORDER BY no ASC "
+                        + "LIMIT :size")
+                .param("cursor", cursor)
+                .param("size", size)
+                .query(SUMMARY)
+                .list();
+    }
+
+    public List<PostVersion> findVersionsByCursor(Integer cursor, Integer size) {
+        return jdbcClient.sql("SELECT no, version "
+                        + "FROM post "
+                        + "WHERE no < :cursor "
+                        + "ORDER BY no DESC "
+                        + "LIMIT :size")
+                .param("cursor", cursor)
+                .param("size", size)
+                .query(VERSION)
+                .list();
+    }
+
+    public List<PostVersion> findVersionsAfterCursor(Integer cursor, Integer size) {
+        return jdbcClient.sql("SELECT no, version "
+                        + "FROM post "
+                        + "WHERE no > :cursor "
+                        + "ORDER BY no ASC "
+                        + "LIMIT :size")
+                .param("cursor", cursor)
+                .param("size", size)
+                .query(VERSION)
+                .list();
+    }
+
+    public Optional<PostDetailRetrieveResponse> findByNo(Integer no) {
+        return jdbcClient.sql("SELECT p.no, p.title, COALESCE(c.content, p.content) AS content, c.content_gzip, "
+                        + "p.created_at, p.version, p.views "
+                        + "FROM post p "
+                        + "LEFT JOIN post_content c ON c.no = p.no "
+                        + "WHERE p.no = :no")
+                .param("no", no)
+                .query(DETAIL)
+                .optional();
+    }
+
+    public Optional<Integer> findVersionByNo(Integer no) {
+        return jdbcClient.sql("SELECT version FROM post WHERE no = :no")
+                .param("no", no)
+                .query(Integer.class)
+                .optional();
+    }
+
+    public Integer insert(String title, String content, LocalDateTime createdAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcClient.sql("INSERT INTO post (title, content, created_at) VALUES (:title, :content, :createdAt)")
+                .param("title", title)
+                .param("content", content)
+                .param("createdAt", createdAt)
+                .update(keyHolder, "no");
+        return keyHolder.getKeyAs(Number.class).intValue();
+    }
+
+    public int updatePost(Integer no, String title, String content) {
+        return jdbcClient.sql("UPDATE post SET "
+                        + "content = IFNULL(:content, content), "
+                        + "title = IFNULL(:title, title), "
+                        + "version = version + 1 "
+                        + "WHERE no = :no")
+                .param("no", no)
+                .param("title", title)
+                .param("content", content)
+                .update();
+    }
+
+    public int updatePostIfVersion(Integer no, String title, String content, Integer version) {
+        return jdbcClient.sql("UPDATE post SET "
+                        + "content = IFNULL(:content, content), "
+                        + "title = IFNULL(:title, title), "
+                        + "version = version + 1 "
+                        + "WHERE no = :no AND version = :version")
+                .param("no", no)
+                .param("title", title)
+                .param("content", content)
+                .param("version", version)
+                .update();
+    }
+
+    // 본문이 post_content로 옮겨진 글이면 수정한 본문 대신 옛 본문이 읽히지 않도록 분리된 본문을 지운다.
+    public void deleteSeparatedContent(Integer no) {
+        jdbcClient.sql("DELETE FROM post_content WHERE no = :no")
+                .param("no", no)
+                .update();
+    }
+
+    public int deleteByNo(Integer no) {
+        return jdbcClient.sql("DELETE FROM post WHERE no = :no")
+                .param("no", no)
+                .update();
+    }
+
+    // 하나의 배치로 글마다 증가분을 더한다. 잠금 순서가 같도록 호출하는 쪽에서 번호 순으로 넘긴다.
+    public void addViews(List<Integer> nos, List<Long> deltas) {
+        if (nos.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(nos.size());
+        for (int i = 0; i < nos.size(); i++) {
+            batch.add(new Object[]{deltas.get(i), nos.get(i)});
+        }
+        jdbcTemplate.batchUpdate(ADD_VIEWS, batch);
+    }
+}
@@ -0,0 +1,182 @@
+package com.sehako.streamboard.blocking.presentation;
+
+import static com.sehako.streamboard.common.response.message.code.SuccessCode.SUCCESS;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostPageVersion;
+import com.sehako.streamboard.blocking.BlockingStreamBoardApplication;
+import com.sehako.streamboard.blocking.application.BlockingPostService;
+import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.message.ResponseEnvelope;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import com.sehako.streamboard.common.response.message.code.Code;
+import com.sehako.streamboard.presentation.PostETag;
+import com.sehako.streamboard.presentation.request.PageDirection;
+import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// PostController에서 부하 테스트 시나리오가 쓰는 엔드포인트만 옮겼다. 응답 본문과 ETag, 상태 코드는 같다.
+@Slf4j
+@Profile(BlockingStreamBoardApplication.PROFILE)
+@RestController
+@RequestMapping("/post")
+public class BlockingPostController {
+    private static final String POST_RETRIEVE_URI = "/post/%s";
+    private static final String NOT_MODIFIED_METRIC = "streamboard.http.not.modified";
+
+    private final BlockingPostService postService;
+    private final ResponseMessages responseMessages;
+    private final Counter listNotModified;
+    private final Counter detailNotModified;
+
+    public BlockingPostController(
+            BlockingPostService postService,
+            ResponseMessages responseMessages,
+            MeterRegistry meterRegistry
+    ) {
+        this.postService = postService;
+        this.responseMessages = responseMessages;
+        this.listNotModified = Counter.builder(NOT_MODIFIED_METRIC)
+                .tag("endpoint", "list")
+                .register(meterRegistry);
+        this.detailNotModified = Counter.builder(NOT_MODIFIED_METRIC)
+                .tag("endpoint", "detail")
+                .register(meterRegistry);
+    }
+
+    @PostMapping
+    public ResponseEntity<JsonResponse<Void>> createPost(
+            @RequestBody PostWriteRequest request
+    ) {
+        Integer no = postService.createPost(request);
+        return ResponseEntity
+                .created(
+                        URI.create(String.format(POST_RETRIEVE_URI, no))
+                )
+                .build();
+    }
+
+    @GetMapping
+    public ResponseEntity<JsonResponse<PostPageResponse>> retrievePosts(
+            @RequestParam(value = "cursor", defaultValue = "0") Integer cursor,
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "direction", defaultValue = "next") String direction,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Locale locale
+    ) {
+        log.info("retrievePosts cursor={}, size={}, direction={}", cursor, size, direction);
+        PostRetrieveRequest request = PostRetrieveRequest.from(cursor, size, PageDirection.from(direction));
+
+        if (ifNoneMatch != null) {
+            String eTag = PostETag.ofPage(postService.retrievePostsVersion(request));
+            if (PostETag.matches(ifNoneMatch, eTag)) {
+                listNotModified.increment();
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .build();
+            }
+        }
+        return buildPageResponseEntity(SUCCESS, locale, postService.retrievePostPage(request));
+    }
+
+    @GetMapping("/{no}")
+    public ResponseEntity<JsonResponse<PostDetailRetrieveResponse>> retrievePostDetail(
+            @PathVariable Integer no,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Locale locale
+    ) {
+        // 버전만 확인하므로 본문을 읽거나 직렬화하지 않고 304를 응답한다.
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = postService.retrievePostVersion(no)
+                    .flatMap(version -> PostETag.matchDetail(ifNoneMatch, no, version));
+            if (eTag.isPresent()) {
+                detailNotModified.increment();
+                // 조회수는 ETag에 포함되지 않으므로 304로 응답한 조회도 세어 둔다.
+                postService.countView(no);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag.get())
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+        }
+        return buildDetailResponseEntity(
+                SUCCESS,
+                locale,
+                postService.retrievePostDetail(PostDetailRetrieveRequest.from(no))
+        );
+    }
+
+    @PatchMapping("/{no}")
+    public ResponseEntity<JsonResponse<PostDetailRetrieveResponse>> patchPostDetail(
+            @PathVariable Integer no,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody PostPatchRequest request,
+            Locale locale
+    ) {
+        Optional<PostDetailRetrieveResponse> patched = ifMatch == null
+                ? postService.patchPostDetail(no, request)
+                : postService.patchPostDetail(no, PostETag.parseVersion(no, ifMatch), request);
+
+        return buildDetailResponseEntity(
+                SUCCESS,
+                locale,
+                patched
+        );
+    }
+
+    @DeleteMapping("/{no}")
+    public ResponseEntity<Void> deletePost(
+            @PathVariable Integer no
+    ) {
+        postService.deletePost(no);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<JsonResponse<PostPageResponse>> buildPageResponseEntity(
+            Code code,
+            Locale locale,
+            PostPageResponse data
+    ) {
+        ResponseEnvelope envelope = responseMessages.get(code, locale);
+        return ResponseEntity.ok()
+                .eTag(PostETag.ofPage(PostPageVersion.of(data)))
+                .body(envelope.wrap(data));
+    }
+
+    // 게시글이 없으면 리액티브 구성에서 빈 Mono를 응답할 때와 같이 본문 없는 200으로 응답한다.
+    private ResponseEntity<JsonResponse<PostDetailRetrieveResponse>> buildDetailResponseEntity(
+            Code code,
+            Locale locale,
+            Optional<PostDetailRetrieveResponse> data
+    ) {
+        ResponseEnvelope envelope = responseMessages.get(code, locale);
+        return data.map(post -> ResponseEntity.ok()
+                        .eTag(PostETag.ofDetail(post.no(), post.version()))
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .body(envelope.wrap(post)))
+                .orElseGet(() -> ResponseEntity.ok().<JsonResponse<PostDetailRetrieveResponse>>build());
+    }
+}
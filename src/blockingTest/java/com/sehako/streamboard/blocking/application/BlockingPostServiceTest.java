@@ -0,0 +1,145 @@
+package com.sehako.streamboard.blocking.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.blocking.BlockingStreamBoardApplication;
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.presentation.request.PageDirection;
+import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.ActiveProfiles;
+
+// 기록 주기를 길게 두어 조회수가 테스트 도중에 기록되지 않게 한다.
+@SpringBootTest(properties = "streamboard.view-counter.flush-interval=1h")
+@ActiveProfiles({"test", BlockingStreamBoardApplication.PROFILE})
+class BlockingPostServiceTest {
+
+    @Autowired
+    private BlockingPostService postService;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("DELETE FROM post").update();
+    }
+
+    @Test
+    @DisplayName("사용자가 게시글 목록을 조회하면 다음 페이지 여부와 다음 커서가 함께 반환된다.")
+    void postPageRetrieveTest() {
+        // given
+        Integer oldest = postService.createPost(new PostWriteRequest("title1", "content1"));
+        Integer middle = postService.createPost(new PostWriteRequest("title2", "content2"));
+        postService.createPost(new PostWriteRequest("title3", "content3"));
+
+        // when
+        PostPageResponse first = postService.retrievePostPage(new PostRetrieveRequest(0, 2));
+        PostPageResponse last = postService.retrievePostPage(new PostRetrieveRequest(middle, 2));
+
+        // then
+        assertThat(first.posts()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.nextCursor()).isEqualTo(middle);
+        assertThat(last.posts()).extracting(PostRetrieveResponse::no).containsExactly(oldest);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("사용자가 이전 방향으로 게시글 목록을 조회하면 커서보다 새로운 글이 최신 글부터 반환된다.")
+    void previousPostPageRetrieveTest() {
+        // given
+        Integer oldest = postService.createPost(new PostWriteRequest("title1", "content1"));
+        Integer second = postService.createPost(new PostWriteRequest("title2", "content2"));
+        Integer third = postService.createPost(new PostWriteRequest("title3", "content3"));
+        postService.createPost(new PostWriteRequest("title4", "content4"));
+
+        // when
+        PostPageResponse page = postService.retrievePostPage(
+                new PostRetrieveRequest(oldest, 2, PageDirection.PREV)
+        );
+
+        // then
+        assertThat(page.posts()).extracting(PostRetrieveResponse::no).containsExactly(third, second);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.nextCursor()).isEqualTo(third);
+    }
+
+    @Test
+    @DisplayName("사용자가 게시글을 조회할 때마다 조회수가 하나씩 증가하고 목록에도 반영된다.")
+    void retrievePostingViewsTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title1", "content1"));
+        PostDetailRetrieveRequest request = new PostDetailRetrieveRequest(no);
+
+        // when
+        postService.retrievePostDetail(request);
+        PostDetailRetrieveResponse response = postService.retrievePostDetail(request).orElseThrow();
+
+        // then
+        assertThat(response.views()).isEqualTo(2L);
+        assertThat(postService.retrievePostPage(new PostRetrieveRequest(0, 10)).posts())
+                .extracting(PostRetrieveResponse::views)
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("사용자가 최신 버전을 기준으로 게시글을 수정하면 버전이 증가한다.")
+    void conditionalPatchPostTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title1", "content1"));
+
+        // when
+        PostDetailRetrieveResponse updated = postService.patchPostDetail(
+                no, 0, new PostPatchRequest("newTitle", null)
+        ).orElseThrow();
+
+        // then
+        assertThat(updated.title()).isEqualTo("newTitle");
+        assertThat(updated.content()).isEqualTo("content1");
+        assertThat(updated.version()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("사용자가 오래된 버전을 기준으로 게시글을 수정하면 수정되지 않고 실패한다.")
+    void stalePatchPostTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title1", "content1"));
+        postService.patchPostDetail(no, new PostPatchRequest("newTitle", null));
+
+        // when
+
+        // then
+        assertThatThrownBy(() -> postService.patchPostDetail(no, 0, new PostPatchRequest("staleTitle", null)))
+                .isInstanceOf(ApplicationException.class);
+        assertThat(postService.retrievePostDetail(new PostDetailRetrieveRequest(no)))
+                .hasValueSatisfying(post -> assertThat(post.title()).isEqualTo("newTitle"));
+    }
+
+    @Test
+    @DisplayName("사용자가 게시글을 삭제하면 더 이상 조회되지 않는다.")
+    void deletePostTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title1", "content1"));
+
+        // when
+        Integer deleted = postService.deletePost(no);
+
+        // then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(postService.retrievePostDetail(new PostDetailRetrieveRequest(no))).isEmpty();
+    }
+}
@@ -0,0 +1,117 @@
+package com.sehako.streamboard.blocking.presentation;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.blocking.BlockingStreamBoardApplication;
+import com.sehako.streamboard.blocking.application.BlockingPostService;
+import com.sehako.streamboard.presentation.PostControllerScenarios;
+import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+// PostControllerTest와 같은 시나리오를 MockMvc에 보내 두 구성의 응답이 같은지 확인한다.
+@WebMvcTest(BlockingPostController.class)
+@ActiveProfiles({"test", BlockingStreamBoardApplication.PROFILE})
+class BlockingPostControllerTest extends PostControllerScenarios {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BlockingPostService postService;
+
+    private WebTestClient webTestClient;
+
+    @TestConfiguration
+    static class MeterRegistryConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = MockMvcWebTestClient.bindTo(mockMvc).build();
+    }
+
+    @Override
+    protected WebTestClient webTestClient() {
+        return webTestClient;
+    }
+
+    @Override
+    protected void givenCreated(PostWriteRequest request, Integer no) {
+        Mockito.when(postService.createPost(request)).thenReturn(no);
+    }
+
+    @Override
+    protected void givenPage(PostRetrieveRequest request, PostPageResponse page) {
+        Mockito.when(postService.retrievePostPage(request)).thenReturn(page);
+    }
+
+    @Override
+    protected void givenPageVersion(PostRetrieveRequest request, String version) {
+        Mockito.when(postService.retrievePostsVersion(request)).thenReturn(version);
+    }
+
+    @Override
+    protected void givenDetail(PostDetailRetrieveRequest request, PostDetailRetrieveResponse detail) {
+        Mockito.when(postService.retrievePostDetail(request)).thenReturn(Optional.of(detail));
+    }
+
+    @Override
+    protected void givenVersion(Integer no, Integer version) {
+        Mockito.when(postService.retrievePostVersion(no)).thenReturn(Optional.of(version));
+    }
+
+    @Override
+    protected void givenPatched(Integer no, PostPatchRequest request, PostDetailRetrieveResponse patched) {
+        Mockito.when(postService.patchPostDetail(no, request)).thenReturn(Optional.of(patched));
+    }
+
+    @Override
+    protected void givenPatched(
+            Integer no, Integer version, PostPatchRequest request, PostDetailRetrieveResponse patched
+    ) {
+        Mockito.when(postService.patchPostDetail(no, version, request)).thenReturn(Optional.of(patched));
+    }
+
+    @Override
+    protected void givenDeleted(Integer no) {
+        Mockito.when(postService.deletePost(no)).thenReturn(1);
+    }
+
+    @Override
+    protected void verifyNoServiceCalls() {
+        Mockito.verifyNoInteractions(postService);
+    }
+
+    @Override
+    protected void verifyPageNotRead() {
+        Mockito.verify(postService, Mockito.never()).retrievePostPage(Mockito.any());
+    }
+
+    @Override
+    protected void verifyDetailNotReadButViewCounted(Integer no) {
+        Mockito.verify(postService, Mockito.never()).retrievePostDetail(Mockito.any());
+        Mockito.verify(postService).countView(no);
+    }
+}
@@ -0,0 +1,49 @@
+package com.sehako.streamboard.benchmark;
+
+import com.sehako.streamboard.StreamBoardApplication;
+import com.sehako.streamboard.application.PostService;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+// 벤치마크마다 이름이 다른 인메모리 H2 데이터베이스로 애플리케이션을 띄운다.
+// spring.r2dbc.url 시스템 속성을 주면 그 데이터베이스에서 실행한다. 계정 등 나머지 spring.r2dbc.* 속성도 시스템 속성으로 넘긴다.
+final class BenchmarkApplication {
+    private static final int SEED_CONCURRENCY = 8;
+    private static final String R2DBC_URL = "spring.r2dbc.url";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> defaults = new ArrayList<>(List.of(
+                R2DBC_URL + "=" + System.getProperty(R2DBC_URL, "r2dbc:h2:mem:///" + database + ";DB_CLOSE_DELAY=-1"),
+                "spring.sql.init.mode=always",
+                "server.port=0",
+                "logging.level.com.sehako.streamboard=warn"
+        ));
+        defaults.addAll(List.of(properties));
+
+        return new SpringApplicationBuilder(StreamBoardApplication.class)
+                .properties(defaults.toArray(String[]::new))
+                .run();
+    }
+
+    // 캐시가 켜져 있어도 작성한 글이 바로 반영되도록 서비스를 거쳐 작성한다.
+    static void seed(ConfigurableApplicationContext context, int count, int contentLength) {
+        PostService postService = context.getBean(PostService.class);
+        String content = content(contentLength);
+
+        Flux.range(0, count)
+                .flatMap(i -> postService.createPost(new PostWriteRequest("title" + i, content)), SEED_CONCURRENCY)
+                .then()
+                .block();
+    }
+
+    static String content(int length) {
+        return "가".repeat(length / 3) + "a".repeat(length % 3);
+    }
+}
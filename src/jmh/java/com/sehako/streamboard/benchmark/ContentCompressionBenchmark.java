@@ -0,0 +1,74 @@
+package com.sehako.streamboard.benchmark;
+
+import com.sehako.streamboard.common.compression.Gzip;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// 본문 압축과 해제에 드는 CPU 시간을 압축 수준별로 본다. 압축률은 compress의 보조 결과 ratio로 남아
+// results.json에서 시간과 함께 비교할 수 있다.
+// 같은 글자를 반복한 본문은 비현실적으로 잘 압축되므로 단어를 무작위로 이어 붙인 본문을 쓴다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContentCompressionBenchmark {
+    private static final String[] WORDS = {
+            "게시판", "스트리밍", "응답", "캐시", "데이터베이스", "커넥션", "요청", "지연",
+            "webflux", "reactor", "r2dbc", "netty", "buffer", "cursor", "page", "version"
+    };
+
+    @Param({"1024", "16384"})
+    private int length;
+
+    @Param({"1", "6", "9"})
+    private int level;
+
+    private byte[] raw;
+    private ByteBuffer compressed;
+
+    @Setup
+    public void setUp() {
+        raw = text(length).getBytes(StandardCharsets.UTF_8);
+        compressed = ByteBuffer.wrap(Gzip.compress(raw, level));
+    }
+
+    @Benchmark
+    public byte[] compress(Ratio ratio) {
+        byte[] bytes = Gzip.compress(raw, level);
+        ratio.ratio = (double) bytes.length / raw.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] decompress() {
+        return Gzip.decompress(compressed.duplicate());
+    }
+
+    private static String text(int length) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)])
+                    .append(random.nextInt(10) == 0 ? ". " : " ");
+        }
+        return text.substring(0, length);
+    }
+
+    // 압축된 크기를 원래 크기로 나눈 값이다. 작을수록 잘 압축된다.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Ratio {
+        public double ratio;
+    }
+}
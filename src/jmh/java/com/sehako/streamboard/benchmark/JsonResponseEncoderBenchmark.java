@@ -0,0 +1,109 @@
+package com.sehako.streamboard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.JsonResponseEncoder;
+import com.sehako.streamboard.common.response.message.ResponseEnvelope;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import com.sehako.streamboard.common.response.message.code.SuccessCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// 미리 직렬화해 둔 응답 래퍼를 쓰는 인코더와 Jackson 기본 인코더를 같은 응답으로 비교한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonResponseEncoderBenchmark {
+    private static final ResolvableType PAGE_TYPE =
+            ResolvableType.forClassWithGenerics(JsonResponse.class, PostPageResponse.class);
+    private static final ResolvableType DETAIL_TYPE =
+            ResolvableType.forClassWithGenerics(JsonResponse.class, PostDetailRetrieveResponse.class);
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    @Param({"1024", "102400"})
+    private int contentLength;
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private JsonResponseEncoder envelopeEncoder;
+    private Jackson2JsonEncoder jacksonEncoder;
+    private JsonResponse<PostPageResponse> page;
+    private JsonResponse<PostDetailRetrieveResponse> detail;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("i18n/messages", "i18n/errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        ResponseMessages responseMessages = new ResponseMessages(messageSource, objectMapper);
+
+        envelopeEncoder = new JsonResponseEncoder(objectMapper, responseMessages, new SimpleMeterRegistry());
+        jacksonEncoder = new Jackson2JsonEncoder(objectMapper);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PostRetrieveResponse> posts = new ArrayList<>(pageSize);
+        for (int no = pageSize; no > 0; no--) {
+            posts.add(new PostRetrieveResponse(no, "title" + no, now, 0, 0L));
+        }
+
+        ResponseEnvelope envelope = responseMessages.get(SuccessCode.SUCCESS, Locale.KOREAN);
+        page = envelope.wrap(new PostPageResponse(posts, true, 1));
+        detail = envelope.wrap(new PostDetailRetrieveResponse(
+                1, "title", BenchmarkApplication.content(contentLength), now, 0, 0L
+        ));
+    }
+
+    @Benchmark
+    public int encodePage() {
+        return encode(envelopeEncoder, page, PAGE_TYPE);
+    }
+
+    @Benchmark
+    public int encodePageWithJackson() {
+        return encode(jacksonEncoder, page, PAGE_TYPE);
+    }
+
+    @Benchmark
+    public int encodeDetail() {
+        return encode(envelopeEncoder, detail, DETAIL_TYPE);
+    }
+
+    @Benchmark
+    public int encodeDetailWithJackson() {
+        return encode(jacksonEncoder, detail, DETAIL_TYPE);
+    }
+
+    private int encode(Jackson2JsonEncoder encoder, Object value, ResolvableType type) {
+        DataBuffer buffer = encoder.encodeValue(value, bufferFactory, type, MediaType.APPLICATION_JSON, Map.of());
+        int length = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return length;
+    }
+}
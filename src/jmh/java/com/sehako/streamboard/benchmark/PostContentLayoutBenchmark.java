@@ -0,0 +1,90 @@
+package com.sehako.streamboard.benchmark;
+
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.infrastructure.domain.PostReadingConverter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// 본문이 100 KB인 글의 목록 조회를 본문을 post 행에 둔 경우와 post_content로 분리한 경우로 나누어 측정한다.
+// 목록 쿼리는 본문 컬럼을 읽지 않으므로 두 경우의 차이는 행 너비에서 온다. 캐시는 꺼서 매번 데이터베이스를 읽는다.
+// fullRowQuery는 본문까지 모든 컬럼을 읽어 엔티티로 바꾸던 이전 목록 쿼리이고, separateTable=false에서의 값이 변경 전 기준이다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostContentLayoutBenchmark {
+    private static final int POST_COUNT = 200;
+    private static final int CONTENT_LENGTH = 100 * 1024;
+    private static final int PAGE_SIZE = 20;
+    private static final String FULL_ROW_QUERY = "SELECT * "
+            + "FROM post "
+            + "WHERE no < :cursor "
+            + "ORDER BY no DESC "
+            + "LIMIT :size";
+
+    @Param({"false", "true"})
+    private boolean separateTable;
+
+    private final PostReadingConverter postReadingConverter = new PostReadingConverter();
+    private ConfigurableApplicationContext context;
+    private WebTestClient webTestClient;
+    private PostRepository postRepository;
+    private DatabaseClient databaseClient;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "content-layout-" + separateTable,
+                "streamboard.post-content.separate-table=" + separateTable
+        );
+        BenchmarkApplication.seed(context, POST_COUNT, CONTENT_LENGTH);
+        webTestClient = WebTestClient.bindToApplicationContext(context).build();
+        postRepository = context.getBean(PostRepository.class);
+        databaseClient = context.getBean(DatabaseClient.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] retrievePosts() {
+        return webTestClient.get().uri("/post?size=" + PAGE_SIZE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public List<PostRetrieveResponse> projectionQuery() {
+        return postRepository.findByCursor(Integer.MAX_VALUE, PAGE_SIZE)
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<PostRetrieveResponse> fullRowQuery() {
+        return databaseClient.sql(FULL_ROW_QUERY)
+                .bind("cursor", Integer.MAX_VALUE)
+                .bind("size", PAGE_SIZE)
+                .map(row -> PostRetrieveResponse.from(postReadingConverter.convert(row)))
+                .all()
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,63 @@
+package com.sehako.streamboard.benchmark;
+
+import com.sehako.streamboard.application.PostService;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// 스레드마다 PostService.createPost를 하나씩 기다리며 동시에 글을 작성한다. 쓰기 배치를 켜면 동시에 들어온 요청이
+// 한 번의 INSERT로 모이므로, Throughput은 초당 작성 건수를, SampleTime은 요청 한 건의 지연 시간 분포(p99 포함)를 보여 준다.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class PostInsertBenchmark {
+    private static final int CONTENT_LENGTH = 1024;
+
+    @Param({"false", "true"})
+    private boolean writeBatch;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private PostRepository postRepository;
+    private PostWriteRequest request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "insert-" + writeBatch,
+                "streamboard.write-batch.enabled=" + writeBatch
+        );
+        postService = context.getBean(PostService.class);
+        postRepository = context.getBean(PostRepository.class);
+        request = new PostWriteRequest("title", BenchmarkApplication.content(CONTENT_LENGTH));
+    }
+
+    // 반복마다 테이블을 비워 행 수가 측정값에 영향을 주지 않게 한다.
+    @TearDown(Level.Iteration)
+    public void clear() {
+        postRepository.deleteAll().block();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer createPost() {
+        return postService.createPost(request).block();
+    }
+}
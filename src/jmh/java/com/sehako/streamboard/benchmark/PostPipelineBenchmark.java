@@ -0,0 +1,70 @@
+package com.sehako.streamboard.benchmark;
+
+import com.sehako.streamboard.infrastructure.PostRepository;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// 컨트롤러부터 H2까지 요청 한 건이 거치는 전체 경로를 서버 소켓 없이 측정한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostPipelineBenchmark {
+    private static final int POST_COUNT = 1000;
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private WebTestClient webTestClient;
+    private Integer latestNo;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "pipeline-" + cacheEnabled,
+                "streamboard.feed-cache.enabled=" + cacheEnabled,
+                "streamboard.detail-cache.enabled=" + cacheEnabled
+        );
+        BenchmarkApplication.seed(context, POST_COUNT, 1024);
+        latestNo = context.getBean(PostRepository.class)
+                .findByCursor(Integer.MAX_VALUE, 1)
+                .blockFirst()
+                .no();
+        webTestClient = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] retrievePosts() {
+        return webTestClient.get().uri("/post?size=20")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] retrievePostDetail() {
+        return webTestClient.get().uri("/post/{no}", latestNo)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+}
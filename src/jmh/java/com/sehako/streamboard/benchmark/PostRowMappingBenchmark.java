@@ -0,0 +1,85 @@
+package com.sehako.streamboard.benchmark;
+
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.infrastructure.domain.Post;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// 같은 조회 결과를 엔티티 매핑, 목록용 프로젝션 매핑, 컬럼 직접 읽기로 변환해 변환 비용의 차이를 본다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostRowMappingBenchmark {
+    private static final String SELECT_ALL = "SELECT * FROM post ORDER BY no DESC LIMIT :size";
+    private static final String SELECT_SUMMARY =
+            "SELECT no, title, created_at, version, views FROM post ORDER BY no DESC LIMIT :size";
+
+    @Param({"10", "100"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private DatabaseClient databaseClient;
+    private R2dbcConverter converter;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("row-mapping");
+        BenchmarkApplication.seed(context, 100, 1024);
+        databaseClient = context.getBean(DatabaseClient.class);
+        converter = context.getBean(R2dbcConverter.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Post> readEntity() {
+        return databaseClient.sql(SELECT_ALL)
+                .bind("size", rows)
+                .map((row, metadata) -> converter.read(Post.class, row, metadata))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<PostRetrieveResponse> readProjection() {
+        return databaseClient.sql(SELECT_SUMMARY)
+                .bind("size", rows)
+                .map((row, metadata) -> converter.read(PostRetrieveResponse.class, row, metadata))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<PostRetrieveResponse> readColumns() {
+        return databaseClient.sql(SELECT_SUMMARY)
+                .bind("size", rows)
+                .map(row -> new PostRetrieveResponse(
+                        row.get("no", Integer.class),
+                        row.get("title", String.class),
+                        row.get("created_at", LocalDateTime.class),
+                        row.get("version", Integer.class),
+                        row.get("views", Long.class)
+                ))
+                .all()
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,123 @@
+package com.sehako.streamboard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.JsonResponseEncoder;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import com.sehako.streamboard.common.response.message.code.Code;
+import com.sehako.streamboard.common.response.message.code.SuccessCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// /post, /post/{no} 응답을 만드는 두 방식을 비교한다. lookup은 요청마다 MessageSource를 찾고 boundedElastic으로
+// 옮겨 갔다가 데이터와 zip한 뒤 Jackson으로 직렬화하던 이전 방식이고, table은 시작할 때 만든 봉투와 인코더를 쓰는 지금 방식이다.
+// 서비스 결과는 이미 준비된 값으로 두어 봉투를 만드는 비용만 남긴다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseEnvelopeBenchmark {
+    private static final ResolvableType PAGE_TYPE =
+            ResolvableType.forClassWithGenerics(JsonResponse.class, PostPageResponse.class);
+    private static final ResolvableType DETAIL_TYPE =
+            ResolvableType.forClassWithGenerics(JsonResponse.class, PostDetailRetrieveResponse.class);
+    private static final int PAGE_SIZE = 10;
+    private static final int CONTENT_LENGTH = 1024;
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private final Locale locale = Locale.KOREAN;
+    private MessageSource messageSource;
+    private ResponseMessages responseMessages;
+    private JsonResponseEncoder envelopeEncoder;
+    private Jackson2JsonEncoder jacksonEncoder;
+    private PostPageResponse page;
+    private PostDetailRetrieveResponse detail;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+        resourceBundleMessageSource.setBasenames("i18n/messages", "i18n/errors");
+        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+        messageSource = resourceBundleMessageSource;
+        responseMessages = new ResponseMessages(messageSource, objectMapper);
+
+        envelopeEncoder = new JsonResponseEncoder(objectMapper, responseMessages, new SimpleMeterRegistry());
+        jacksonEncoder = new Jackson2JsonEncoder(objectMapper);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PostRetrieveResponse> posts = new ArrayList<>(PAGE_SIZE);
+        for (int no = PAGE_SIZE; no > 0; no--) {
+            posts.add(new PostRetrieveResponse(no, "title" + no, now, 0, 0L));
+        }
+        page = new PostPageResponse(posts, true, 1);
+        detail = new PostDetailRetrieveResponse(1, "title", BenchmarkApplication.content(CONTENT_LENGTH), now, 0, 0L);
+    }
+
+    @Benchmark
+    public int pageWithTable() {
+        return encode(envelopeEncoder, fromTable(page), PAGE_TYPE);
+    }
+
+    @Benchmark
+    public int pageWithLookup() {
+        return encode(jacksonEncoder, fromLookup(SuccessCode.SUCCESS, page), PAGE_TYPE);
+    }
+
+    @Benchmark
+    public int detailWithTable() {
+        return encode(envelopeEncoder, fromTable(detail), DETAIL_TYPE);
+    }
+
+    @Benchmark
+    public int detailWithLookup() {
+        return encode(jacksonEncoder, fromLookup(SuccessCode.SUCCESS, detail), DETAIL_TYPE);
+    }
+
+    private <T> JsonResponse<T> fromTable(T data) {
+        return Mono.just(data)
+                .map(result -> responseMessages.get(SuccessCode.SUCCESS, locale).wrap(result))
+                .block();
+    }
+
+    private <T> JsonResponse<T> fromLookup(Code code, T data) {
+        Mono<String> message = Mono.just(messageSource.getMessage(code.getCode(), null, locale))
+                .subscribeOn(Schedulers.boundedElastic());
+        return Mono.zip(message, Mono.just(data))
+                .map(tuple -> JsonResponse.of(code, tuple.getT1(), tuple.getT2()))
+                .block();
+    }
+
+    private int encode(Jackson2JsonEncoder encoder, Object value, ResolvableType type) {
+        DataBuffer buffer = encoder.encodeValue(value, bufferFactory, type, MediaType.APPLICATION_JSON, Map.of());
+        int length = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return length;
+    }
+}
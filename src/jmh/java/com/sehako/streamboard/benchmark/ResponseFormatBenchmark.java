@@ -0,0 +1,101 @@
+package com.sehako.streamboard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.common.response.BinaryMediaTypes;
+import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.JsonResponseEncoder;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import com.sehako.streamboard.common.response.message.code.SuccessCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+
+// 같은 목록 응답을 응답 형식별 인코더로 직렬화하는 시간을 본다. 응답 크기는 설정 단계에서 한 번 출력한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+    private static final ResolvableType PAGE_TYPE =
+            ResolvableType.forClassWithGenerics(JsonResponse.class, PostPageResponse.class);
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private AbstractJackson2Encoder encoder;
+    private MimeType mimeType;
+    private JsonResponse<PostPageResponse> page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("i18n/messages", "i18n/errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        ResponseMessages responseMessages = new ResponseMessages(messageSource, objectMapper);
+
+        switch (format) {
+            case "cbor" -> {
+                encoder = new Jackson2CborEncoder(Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+                mimeType = BinaryMediaTypes.CBOR;
+            }
+            case "smile" -> {
+                encoder = new Jackson2SmileEncoder(Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+                mimeType = BinaryMediaTypes.SMILE;
+            }
+            default -> {
+                encoder = new JsonResponseEncoder(objectMapper, responseMessages, new SimpleMeterRegistry());
+                mimeType = MediaType.APPLICATION_JSON;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PostRetrieveResponse> posts = new ArrayList<>(pageSize);
+        for (int no = pageSize; no > 0; no--) {
+            posts.add(new PostRetrieveResponse(no, "title" + no, now, no % 5, (long) no * 31));
+        }
+        page = responseMessages.get(SuccessCode.SUCCESS, Locale.KOREAN)
+                .wrap(new PostPageResponse(posts, true, 1));
+
+        System.out.printf("%nformat=%s pageSize=%d bytes=%d%n", format, pageSize, encode());
+    }
+
+    @Benchmark
+    public int encode() {
+        DataBuffer buffer = encoder.encodeValue(page, bufferFactory, PAGE_TYPE, mimeType, Map.of());
+        int length = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return length;
+    }
+}
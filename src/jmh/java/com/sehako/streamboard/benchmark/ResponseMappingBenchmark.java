@@ -0,0 +1,40 @@
+package com.sehako.streamboard.benchmark;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.infrastructure.domain.Post;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMappingBenchmark {
+    private Post post;
+
+    @Setup
+    public void setUp() {
+        post = new Post("title", BenchmarkApplication.content(1024));
+        ReflectionTestUtils.setField(post, "no", 1);
+        ReflectionTestUtils.setField(post, "createdAt", LocalDateTime.now());
+        ReflectionTestUtils.setField(post, "version", 0);
+    }
+
+    @Benchmark
+    public PostRetrieveResponse retrieveResponseFrom() {
+        return PostRetrieveResponse.from(post);
+    }
+
+    @Benchmark
+    public PostDetailRetrieveResponse detailResponseFrom() {
+        return PostDetailRetrieveResponse.from(post);
+    }
+}
@@ -0,0 +1,129 @@
+package com.sehako.streamboard.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// 연산별 지연 시간(마이크로초)과 오류, 서버가 503으로 거절한 횟수, 요청을 보내지 못한 횟수를 모은다.
+// 거절된 요청은 지연 시간 분포에 넣지 않으므로 count는 제대로 처리된 요청 수다.
+// 대상으로 고를 글이 없어 건너뛴 조회/수정/삭제도 분포에 넣지 않고 skipped로 따로 센다.
+final class LatencyReport {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> shed = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> dropped = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> skipped = new EnumMap<>(Operation.class);
+    // 모든 연산의 성공한 요청만 모은다. goodput과 과부하 비교의 p99는 여기서 구한다.
+    private final Histogram succeeded = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+            shed.put(operation, new LongAdder());
+            dropped.put(operation, new LongAdder());
+            skipped.put(operation, new LongAdder());
+        }
+    }
+
+    void recordSuccess(Operation operation, long latencyNanos) {
+        succeeded.recordValue(record(operation, latencyNanos));
+    }
+
+    void recordError(Operation operation, long latencyNanos) {
+        errors.get(operation).increment();
+        record(operation, latencyNanos);
+    }
+
+    void recordShed(Operation operation) {
+        shed.get(operation).increment();
+    }
+
+    void recordDropped(Operation operation) {
+        dropped.get(operation).increment();
+    }
+
+    void recordSkipped(Operation operation) {
+        skipped.get(operation).increment();
+    }
+
+    void print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        out.printf("%-12s %9s %8s %8s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "shed", "dropped", "skipped", "rps", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)",
+                "max(ms)");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            out.printf("%-12s %9d %8d %8d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.key(),
+                    histogram.getTotalCount(),
+                    errors.get(operation).sum(),
+                    shed.get(operation).sum(),
+                    dropped.get(operation).sum(),
+                    skipped.get(operation).sum(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    static void printSummaryHeader(PrintStream out) {
+        out.printf("%-12s %13s %10s %8s %8s %8s %8s %9s%n",
+                "run", "goodput(rps)", "ok(rps)", "errors", "shed", "dropped", "skipped", "p99(ms)");
+    }
+
+    // 모든 연산을 합쳐 한 줄로 출력한다. goodput은 slo 안에 성공한 요청만 센다.
+    void printSummary(PrintStream out, String run, Duration elapsed, Duration slo) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        long sloMicros = Math.min(slo.toNanos() / 1000, HIGHEST_TRACKABLE_MICROS);
+        out.printf("%-12s %13.1f %10.1f %8d %8d %8d %8d %9.2f%n",
+                run,
+                succeeded.getCountBetweenValues(0, sloMicros) / seconds,
+                succeeded.getTotalCount() / seconds,
+                sum(errors),
+                sum(shed),
+                sum(dropped),
+                sum(skipped),
+                millis(succeeded.getValueAtPercentile(99)));
+    }
+
+    // HdrHistogram 플로터 등에서 그대로 읽을 수 있는 .hgrm 형식으로 연산별 분포를 남긴다.
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Operation operation : Operation.values()) {
+            Path file = directory.resolve(operation.key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                histograms.get(operation).outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private long record(Operation operation, long latencyNanos) {
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(latencyNanos), 0), HIGHEST_TRACKABLE_MICROS);
+        histograms.get(operation).recordValue(micros);
+        return micros;
+    }
+
+    private static long sum(Map<Operation, LongAdder> counts) {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,137 @@
+package com.sehako.streamboard.load;
+
+import com.sehako.streamboard.StreamBoardApplication;
+import com.sehako.streamboard.blocking.BlockingStreamBoardApplication;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// 응답 속도와 상관없이 정해진 간격으로 요청을 보내는 개방형 부하 모델.
+// 지연 시간은 실제로 보낸 시각이 아니라 보냈어야 하는 시각부터 재므로, 밀린 요청의 대기 시간까지 포함된다.
+public final class LoadTestRunner {
+    private static final String H2_URL = "r2dbc:h2:mem:///%s;DB_CLOSE_DELAY=-1";
+    private static final String H2_JDBC_URL = "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1";
+    private static final String DATABASE = "load-test";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        try (ConfigurableApplicationContext context = start(settings.stack(), DATABASE)) {
+            Measurement measurement = measure(context, settings);
+            measurement.report().print(System.out, measurement.elapsed());
+            measurement.memory().print(System.out);
+            measurement.report().write(settings.reportDirectory());
+            System.out.printf("Histograms written to %s%n", settings.reportDirectory().toAbsolutePath());
+        }
+    }
+
+    // 게시글을 미리 작성하고 예열한 뒤 측정한다.
+    static Measurement measure(ConfigurableApplicationContext context, LoadTestSettings settings) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        WebClient webClient = WebClient.create("http://localhost:" + port);
+        Workload workload = new Workload(webClient, settings);
+
+        System.out.printf("Seeding %d posts%n", settings.seedPosts());
+        workload.seed().block();
+
+        System.out.printf("Warming up for %s at %d req/s%n", settings.warmup(), settings.rate());
+        run(workload, settings, settings.warmup(), new LatencyReport());
+
+        System.out.printf("Measuring the %s stack for %s at %d req/s%n",
+                settings.stack().key(), settings.duration(), settings.rate());
+        LatencyReport report = new LatencyReport();
+        MemorySampler memory = MemorySampler.start();
+        Duration elapsed = run(workload, settings, settings.duration(), report);
+        memory.stop();
+        return new Measurement(report, memory, elapsed);
+    }
+
+    // -Pspring.r2dbc.url(블로킹 구성은 -Pspring.datasource.url) 등으로 데이터베이스가 지정되지 않았다면 인메모리 H2로 띄운다.
+    // args는 명령행 인자로 넘기므로 -P로 넘긴 같은 프로퍼티보다 우선한다.
+    static ConfigurableApplicationContext start(Stack stack, String database, String... args) {
+        List<String> defaults = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.sql.init.mode=always",
+                "logging.level.com.sehako.streamboard=warn"
+        ));
+
+        if (stack == Stack.BLOCKING) {
+            if (System.getProperty("spring.datasource.url") == null) {
+                defaults.add("spring.datasource.url=" + String.format(H2_JDBC_URL, database));
+            }
+            return BlockingStreamBoardApplication.builder()
+                    .properties(defaults.toArray(String[]::new))
+                    .run(args);
+        }
+
+        if (System.getProperty("spring.r2dbc.url") == null) {
+            defaults.add("spring.r2dbc.url=" + String.format(H2_URL, database));
+        }
+        // 블로킹 구성의 서블릿 스택과 JDBC도 classpath에 있으므로 웹 타입을 정하고 JDBC 데이터 소스는 만들지 않는다.
+        defaults.add("spring.autoconfigure.exclude=" + DataSourceAutoConfiguration.class.getName());
+        return new SpringApplicationBuilder(StreamBoardApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties(defaults.toArray(String[]::new))
+                .run(args);
+    }
+
+    private static Duration run(Workload workload, LoadTestSettings settings, Duration duration, LatencyReport report) {
+        long periodNanos = 1_000_000_000L / settings.rate();
+        long requests = duration.toNanos() / periodNanos;
+        AtomicInteger inFlight = new AtomicInteger();
+        long start = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(periodNanos))
+                .take(requests)
+                .flatMap(tick -> {
+                    long intended = start + (tick + 1) * periodNanos;
+                    Operation operation = workload.next();
+
+                    // 처리량을 넘어서면 요청이 한없이 쌓이지 않도록 보내지 않고 따로 센다.
+                    if (inFlight.incrementAndGet() > settings.maxInFlight()) {
+                        inFlight.decrementAndGet();
+                        report.recordDropped(operation);
+                        return Mono.empty();
+                    }
+                    return workload.execute(operation)
+                            .doOnNext(sent -> {
+                                // 대상 글이 없어 보내지 않은 요청은 지연 시간 0인 성공으로 세지 않는다.
+                                if (sent) {
+                                    report.recordSuccess(operation, System.nanoTime() - intended);
+                                } else {
+                                    report.recordSkipped(operation);
+                                }
+                            })
+                            // 서버가 부하를 덜어내려고 거절한 요청은 오류와 따로 세어 처리량이 유지되는지 볼 수 있게 한다.
+                            .onErrorResume(WebClientResponseException.ServiceUnavailable.class, e -> {
+                                report.recordShed(operation);
+                                return Mono.empty();
+                            })
+                            .onErrorResume(e -> {
+                                report.recordError(operation, System.nanoTime() - intended);
+                                return Mono.empty();
+                            })
+                            .doFinally(signal -> inFlight.decrementAndGet());
+                }, Integer.MAX_VALUE)
+                .blockLast();
+
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    record Measurement(LatencyReport report, MemorySampler memory, Duration elapsed) {
+    }
+}
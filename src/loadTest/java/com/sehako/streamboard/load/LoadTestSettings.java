@@ -0,0 +1,55 @@
+package com.sehako.streamboard.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+// -PloadTest.<name>=<value>로 전달된 값을 읽는다. 같은 값이면 같은 시나리오가 재현된다.
+record LoadTestSettings(
+        Stack stack,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int seedPosts,
+        int pageSize,
+        int contentLength,
+        int maxInFlight,
+        Map<Operation, Integer> mix,
+        Path reportDirectory
+) {
+    private static final String PREFIX = "loadTest.";
+    private static final String DEFAULT_MIX = "create:10,first-page:40,deep-page:15,detail:25,patch:7,delete:3";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Stack.from(property("stack", "reactive")),
+                Integer.parseInt(property("rate", "200")),
+                DurationStyle.detectAndParse(property("warmup", "10s")),
+                DurationStyle.detectAndParse(property("duration", "60s")),
+                Integer.parseInt(property("seedPosts", "1000")),
+                Integer.parseInt(property("pageSize", "10")),
+                Integer.parseInt(property("contentLength", "1024")),
+                Integer.parseInt(property("maxInFlight", "1024")),
+                parseMix(property("mix", DEFAULT_MIX)),
+                Path.of(property("reportDirectory", "build/reports/loadTest"))
+        );
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid load test mix entry: " + entry);
+            }
+            mix.put(Operation.from(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,71 @@
+package com.sehako.streamboard.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 측정 구간 동안 힙 사용량과 프로세스 RSS의 최댓값을 잰다.
+// 부하를 만드는 클라이언트도 같은 JVM에서 돌기 때문에 절댓값보다 두 구성 사이의 차이를 본다.
+final class MemorySampler {
+    private static final long INTERVAL_MILLIS = 100;
+    private static final Path STATUS = Path.of("/proc/self/status");
+    private static final double BYTES_PER_MIB = 1024.0 * 1024.0;
+    private static final double KILOBYTES_PER_MIB = 1024.0;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private final AtomicLong peakRssKilobytes = new AtomicLong(-1);
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("memory-sampler").factory()
+    );
+
+    private MemorySampler() {
+    }
+
+    static MemorySampler start() {
+        MemorySampler memorySampler = new MemorySampler();
+        memorySampler.sampler.scheduleAtFixedRate(memorySampler::sample, 0, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        return memorySampler;
+    }
+
+    void stop() {
+        sampler.shutdownNow();
+        sample();
+    }
+
+    void print(PrintStream out) {
+        long rss = peakRssKilobytes.get();
+        out.printf("peak heap used %.1f MiB, peak RSS %s%n",
+                peakHeapBytes.get() / BYTES_PER_MIB,
+                rss < 0 ? "n/a" : String.format("%.1f MiB", rss / KILOBYTES_PER_MIB));
+    }
+
+    private void sample() {
+        peakHeapBytes.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+        peakRssKilobytes.accumulateAndGet(rss(), Math::max);
+    }
+
+    // /proc가 없는 운영체제에서는 -1을 반환한다.
+    private static long rss() {
+        if (!Files.exists(STATUS)) {
+            return -1;
+        }
+        try {
+            for (String line : Files.readAllLines(STATUS)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException e) {
+            // 읽지 못한 표본은 건너뛴다.
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,29 @@
+package com.sehako.streamboard.load;
+
+enum Operation {
+    CREATE("create"),
+    FIRST_PAGE("first-page"),
+    DEEP_PAGE("deep-page"),
+    DETAIL("detail"),
+    PATCH("patch"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation from(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load test operation: " + key);
+    }
+}
@@ -0,0 +1,46 @@
+package com.sehako.streamboard.load;
+
+import com.sehako.streamboard.load.LoadTestRunner.Measurement;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// 처리량보다 높은 부하를 동시 처리 한도를 끈 구성과 켠 구성에 차례로 보내 goodput과 p99를 비교한다.
+// 한도가 없으면 밀린 요청도 결국 성공하지만 늦게 끝나므로, goodput은 loadTest.slo 안에 성공한 요청만 센다.
+// 두 실행은 같은 JVM에서 돌지만 각자 새 애플리케이션과 인메모리 데이터베이스로 시작하고 같은 시간만큼 예열한다.
+public final class OverloadTestRunner {
+    private static final String LIMIT_PROPERTY = "--streamboard.concurrency-limit.enabled=";
+
+    private OverloadTestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        if (settings.stack() != Stack.REACTIVE) {
+            throw new IllegalArgumentException("Only the reactive stack has a concurrency limit");
+        }
+        Duration slo = DurationStyle.detectAndParse(System.getProperty("loadTest.slo", "500ms"));
+
+        Map<String, Measurement> measurements = new LinkedHashMap<>();
+        for (boolean enabled : new boolean[]{false, true}) {
+            String run = enabled ? "limit-on" : "limit-off";
+            System.out.printf("Running with the concurrency limit %s%n", enabled ? "enabled" : "disabled");
+            try (ConfigurableApplicationContext context = LoadTestRunner.start(
+                    settings.stack(), "overload-" + run, LIMIT_PROPERTY + enabled)) {
+                Measurement measurement = LoadTestRunner.measure(context, settings);
+                measurement.report().print(System.out, measurement.elapsed());
+                measurement.report().write(settings.reportDirectory().resolve(run));
+                measurements.put(run, measurement);
+            }
+        }
+
+        System.out.printf("%nOverload at %d req/s, goodput counts successes within %s%n", settings.rate(), slo);
+        LatencyReport.printSummaryHeader(System.out);
+        measurements.forEach((run, measurement) ->
+                measurement.report().printSummary(System.out, run, measurement.elapsed(), slo));
+        System.out.printf("Histograms written to %s%n", settings.reportDirectory().toAbsolutePath());
+    }
+}
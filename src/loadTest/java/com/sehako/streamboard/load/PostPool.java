@@ -0,0 +1,39 @@
+package com.sehako.streamboard.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 작성된 글 번호를 번호 순서로 유지한다. 작성이 동시에 끝나 응답 순서가 섞여도 앞쪽일수록 오래된 글이다.
+// 삭제도 순서를 유지하도록 뒤의 번호를 당겨 지운다. 글 수가 수만 건이라 복사 비용은 요청 한 건보다 작다.
+final class PostPool {
+    private final List<Integer> posts = new ArrayList<>();
+
+    synchronized void add(Integer no) {
+        int index = Collections.binarySearch(posts, no);
+        if (index < 0) {
+            posts.add(-index - 1, no);
+        }
+    }
+
+    // 가장 오래된 oldestFraction 구간에서 하나를 고른다.
+    synchronized Integer pick(double oldestFraction) {
+        if (posts.isEmpty()) {
+            return null;
+        }
+        int bound = Math.max(1, (int) (posts.size() * oldestFraction));
+        return posts.get(ThreadLocalRandom.current().nextInt(bound));
+    }
+
+    synchronized Integer take() {
+        if (posts.isEmpty()) {
+            return null;
+        }
+        return posts.remove(ThreadLocalRandom.current().nextInt(posts.size()));
+    }
+
+    synchronized List<Integer> snapshot() {
+        return List.copyOf(posts);
+    }
+}
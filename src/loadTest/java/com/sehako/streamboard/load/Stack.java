@@ -0,0 +1,28 @@
+package com.sehako.streamboard.load;
+
+// 부하를 받을 구성. 두 구성은 같은 /post API와 같은 응답 형식을 제공한다.
+enum Stack {
+    // WebFlux, R2DBC
+    REACTIVE("reactive"),
+    // Spring MVC, 가상 스레드, JDBC
+    BLOCKING("blocking");
+
+    private final String key;
+
+    Stack(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Stack from(String key) {
+        for (Stack stack : values()) {
+            if (stack.key.equals(key)) {
+                return stack;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load test stack: " + key);
+    }
+}
@@ -0,0 +1,124 @@
+package com.sehako.streamboard.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.convert.DurationStyle;
+
+// 변형마다 애플리케이션을 새 프로세스로 띄우고, 시작부터 첫 목록 조회가 200으로 응답할 때까지의 시간과
+// 그 순간의 RSS를 잰다. 변형의 JVM 인자는 Gradle이 -Dstartup.<이름>.args로 넘긴다.
+public final class StartupProbe {
+    private static final String PREFIX = "startup.";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String java = System.getProperty(PREFIX + "java", ProcessHandle.current().info().command().orElse("java"));
+        int runs = Integer.parseInt(System.getProperty(PREFIX + "runs", "5"));
+        int port = Integer.parseInt(System.getProperty(PREFIX + "port", "18080"));
+        Duration timeout = DurationStyle.detectAndParse(System.getProperty(PREFIX + "timeout", "60s"));
+        Path reportDirectory = Path.of(System.getProperty(PREFIX + "reportDirectory", "build/reports/startup"));
+        Files.createDirectories(reportDirectory);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/post?size=10"))
+                .timeout(timeout)
+                .build();
+
+        System.out.printf("%-10s %6s %12s %12s %12s %12s%n",
+                "variant", "runs", "first p50", "first min", "first max", "rss p50");
+        for (String variant : System.getProperty(PREFIX + "variants", "jar,cds").split(",")) {
+            String variantArgs = System.getProperty(PREFIX + variant.trim() + ".args");
+            if (variantArgs == null) {
+                throw new IllegalArgumentException("Missing -D" + PREFIX + variant.trim() + ".args");
+            }
+
+            List<Long> firstRequestMillis = new ArrayList<>();
+            List<Long> rssKilobytes = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                List<String> command = new ArrayList<>();
+                command.add(java);
+                command.add("-Dserver.port=" + port);
+                command.addAll(Arrays.asList(variantArgs.trim().split("\\s+")));
+
+                Path log = reportDirectory.resolve(variant.trim() + "-" + run + ".log");
+                long start = System.nanoTime();
+                Process process = new ProcessBuilder(command)
+                        .redirectErrorStream(true)
+                        .redirectOutput(log.toFile())
+                        .start();
+                try {
+                    awaitFirstResponse(client, request, process, start + timeout.toNanos(), log);
+                    firstRequestMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    rssKilobytes.add(rss(process.pid()));
+                } finally {
+                    process.destroy();
+                    if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                        process.destroyForcibly().waitFor();
+                    }
+                }
+            }
+
+            firstRequestMillis.sort(null);
+            rssKilobytes.sort(null);
+            long rss = rssKilobytes.get(rssKilobytes.size() / 2);
+            System.out.printf("%-10s %6d %10dms %10dms %10dms %12s%n",
+                    variant.trim(),
+                    runs,
+                    firstRequestMillis.get(firstRequestMillis.size() / 2),
+                    firstRequestMillis.get(0),
+                    firstRequestMillis.get(firstRequestMillis.size() - 1),
+                    rss < 0 ? "n/a" : (rss / 1024) + "MB");
+        }
+        System.out.printf("Process logs written to %s%n", reportDirectory.toAbsolutePath());
+    }
+
+    private static void awaitFirstResponse(
+            HttpClient client,
+            HttpRequest request,
+            Process process,
+            long deadline,
+            Path log
+    ) throws IOException, InterruptedException {
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않았거나 서버가 연결을 받을 준비가 되지 않았다.
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("No successful response before timeout, see " + log);
+    }
+
+    // /proc가 없는 운영체제에서는 -1을 반환한다.
+    private static long rss(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+}
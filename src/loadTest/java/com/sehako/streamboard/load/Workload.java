@@ -0,0 +1,130 @@
+package com.sehako.streamboard.load;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// 비율에 맞춰 연산을 고르고, 조회/수정/삭제 대상은 지금까지 작성된 글 중에서 고른다.
+final class Workload {
+    private static final int SEED_CONCURRENCY = 16;
+    private static final Mono<Boolean> SKIPPED = Mono.just(false);
+
+    private final WebClient webClient;
+    private final LoadTestSettings settings;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final String content;
+
+    private final PostPool posts = new PostPool();
+
+    Workload(WebClient webClient, LoadTestSettings settings) {
+        this.webClient = webClient;
+        this.settings = settings;
+        this.content = "a".repeat(settings.contentLength());
+
+        Map<Operation, Integer> mix = settings.mix();
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Load test mix must have a positive total weight");
+        }
+    }
+
+    Mono<Void> seed() {
+        return Flux.range(0, settings.seedPosts())
+                .flatMap(i -> create(), SEED_CONCURRENCY)
+                .then();
+    }
+
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    // 요청을 보냈으면 true를, 대상으로 고를 글이 없어 보내지 않았으면 false를 낸다.
+    Mono<Boolean> execute(Operation operation) {
+        return switch (operation) {
+            case CREATE -> create().thenReturn(true);
+            case FIRST_PAGE -> get("/post?size={size}", settings.pageSize()).thenReturn(true);
+            case DEEP_PAGE -> deepPage().thenReturn(true);
+            case DETAIL -> withPost(no -> get("/post/{no}", no));
+            case PATCH -> withPost(this::patch);
+            case DELETE -> withTakenPost(this::delete);
+        };
+    }
+
+    private Mono<Void> create() {
+        return webClient.post().uri("/post")
+                .bodyValue(Map.of("title", "load test", "content", content))
+                .retrieve()
+                .toBodilessEntity()
+                .doOnNext(this::remember)
+                .then();
+    }
+
+    // 가장 오래된 4분의 1 구간에서 커서를 골라 캐시 구간 밖의 깊은 페이지를 읽는다.
+    private Mono<Void> deepPage() {
+        Integer cursor = posts.pick(0.25);
+        if (cursor == null) {
+            return get("/post?size={size}", settings.pageSize());
+        }
+        return get("/post?cursor={cursor}&size={size}", cursor, settings.pageSize());
+    }
+
+    private Mono<Void> patch(Integer no) {
+        return webClient.patch().uri("/post/{no}", no)
+                .bodyValue(Map.of("title", "patched"))
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    private Mono<Void> delete(Integer no) {
+        return webClient.delete().uri("/post/{no}", no)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    private Mono<Void> get(String uri, Object... variables) {
+        return webClient.get().uri(uri, variables)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    private Mono<Boolean> withPost(Function<Integer, Mono<Void>> request) {
+        Integer no = posts.pick(1.0);
+        return no == null ? SKIPPED : request.apply(no).thenReturn(true);
+    }
+
+    // 삭제할 글은 목록에서 꺼내므로 다른 요청이 다시 고르지 않는다.
+    private Mono<Boolean> withTakenPost(Function<Integer, Mono<Void>> request) {
+        Integer no = posts.take();
+        return no == null ? SKIPPED : request.apply(no).thenReturn(true);
+    }
+
+    private void remember(ResponseEntity<Void> response) {
+        URI location = response.getHeaders().getLocation();
+        if (location == null) {
+            return;
+        }
+        String path = location.getPath();
+        posts.add(Integer.valueOf(path.substring(path.lastIndexOf('/') + 1)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.sehako.streamboard.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PostPoolTest {
+
+    @Test
+    @DisplayName("글을 지운 뒤에도 남은 글은 번호 순서를 유지하고, 오래된 구간에서는 가장 오래된 글들만 고른다.")
+    void pickOldestAfterTakeTest() {
+        // given
+        PostPool pool = new PostPool();
+        IntStream.rangeClosed(1, 100).map(no -> 101 - no).forEach(pool::add);
+        for (int i = 0; i < 50; i++) {
+            pool.take();
+        }
+
+        // when
+        List<Integer> remaining = pool.snapshot();
+        Integer oldestQuarterEnd = remaining.get(remaining.size() / 4 - 1);
+
+        // then
+        assertThat(remaining).hasSize(50).isSorted();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(pool.pick(0.25)).isLessThanOrEqualTo(oldestQuarterEnd);
+        }
+    }
+}
@@ -1,58 +1,445 @@
 package com.sehako.streamboard.application;
 
+import com.sehako.streamboard.application.cache.PostDetailCache;
+import com.sehako.streamboard.application.cache.PostFeedCache;
+import com.sehako.streamboard.application.cache.PostPagePrefetcher;
+import com.sehako.streamboard.application.feed.PostEventFeed;
+import com.sehako.streamboard.application.read.PostReadCoalescer;
+import com.sehako.streamboard.application.response.PostBatchRetrieveResponse;
 import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostEvent;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostPageVersion;
+import com.sehako.streamboard.application.response.PostPreviewResponse;
+import com.sehako.streamboard.application.response.PostProjectionResponse;
 import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.application.response.PostSearchResponse;
+import com.sehako.streamboard.application.search.PostSearchHit;
+import com.sehako.streamboard.application.search.PostSearchIndex;
+import com.sehako.streamboard.application.view.PostViewCounter;
+import com.sehako.streamboard.application.write.PostWriteCoalescer;
+import com.sehako.streamboard.application.write.PostWriteJournal;
+import com.sehako.streamboard.common.metrics.Measured;
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+import com.sehako.streamboard.infrastructure.PostBatchRepository;
+import com.sehako.streamboard.infrastructure.PostContentRepository;
 import com.sehako.streamboard.infrastructure.PostRepository;
-import com.sehako.streamboard.infrastructure.domain.Post;
+import com.sehako.streamboard.infrastructure.domain.PostContent;
+import com.sehako.streamboard.infrastructure.domain.PostVersion;
+import com.sehako.streamboard.presentation.request.PageDirection;
+import com.sehako.streamboard.presentation.request.PostBatchRetrieveRequest;
 import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostField;
 import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostPreviewRequest;
 import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostSearchRequest;
 import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import jakarta.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
+@Measured("service")
 @Transactional
 @RequiredArgsConstructor
 public class PostService {
     private final static Integer DEFAULT_MAX_CURSOR = Integer.MAX_VALUE;
 
     private final PostRepository postRepository;
+    private final PostBatchRepository postBatchRepository;
+    private final PostContentRepository postContentRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final PostFeedCache postFeedCache;
+    private final PostDetailCache postDetailCache;
+    private final PostPagePrefetcher postPagePrefetcher;
+    private final PostWriteCoalescer postWriteCoalescer;
+    private final PostSearchIndex postSearchIndex;
+    private final PostViewCounter postViewCounter;
+    private final PostReadCoalescer postReadCoalescer;
+    private final PostEventFeed postEventFeed;
+    private final PostWriteJournal postWriteJournal;
 
+    // 저널에 기록한 글은 데이터베이스에 기록된 뒤에 목록 캐시와 색인, 이벤트 피드에 알린다.
+    @PostConstruct
+    void publishDrainedPosts() {
+        postWriteJournal.onDrained(entry -> published(
+                PostRetrieveResponse.created(entry.no(), entry.title(), entry.createdAt()),
+                entry.content()
+        ));
+    }
+
+    // 배치 기록은 별도 트랜잭션에서 커밋되므로, 대기하는 동안 커넥션을 붙잡지 않도록 트랜잭션을 열지 않는다.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Mono<Integer> createPost(PostWriteRequest request) {
-        return postRepository.save(request.toEntity())
-                .map(Post::getNo);
+        if (postWriteJournal.isEnabled()) {
+            return postWriteJournal.append(request).map(PostRetrieveResponse::no);
+        }
+
+        Mono<PostRetrieveResponse> created = postWriteCoalescer.isEnabled()
+                ? postWriteCoalescer.submit(request)
+                : insert(request);
+        return created.flatMap(post -> afterCommit(() -> published(post, request.content())).thenReturn(post.no()));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Flux<PostRetrieveResponse> retrievePosts(PostRetrieveRequest request) {
-        Integer cursor = request.cursor();
-        if (cursor == 0) {
-            cursor = DEFAULT_MAX_CURSOR;
+        Integer cursor = cursorOf(request);
+        Integer size = request.size();
+        // 스트리밍 응답은 행을 읽는 대로 내보내야 하므로 목록을 모으는 요청 병합을 거치지 않는다.
+        if (request.direction() == PageDirection.PREV) {
+            return postFeedCache.findNewer(cursor, size)
+                    .map(rows -> Flux.fromIterable(PostPageResponse.page(rows, size, PageDirection.PREV)))
+                    .orElseGet(() -> postRepository.findAfterCursorNewestFirst(cursor, size))
+                    .map(postViewCounter::current);
         }
+        return postFeedCache.find(cursor, size)
+                .map(Flux::fromIterable)
+                .orElseGet(() -> postRepository.findByCursor(cursor, size))
+                .map(postViewCounter::current);
+    }
+
+    // 다음 페이지가 있는지 알 수 있도록 한 건을 더 읽는다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Mono<PostPageResponse> retrievePostPage(PostRetrieveRequest request) {
+        return findRows(request)
+                .map(rows -> PostPageResponse.of(rows, request.size(), request.direction()))
+                .doOnNext(page -> prefetchNext(request, page))
+                .map(page -> new PostPageResponse(
+                        page.posts().stream().map(postViewCounter::current).toList(),
+                        page.hasNext(),
+                        page.nextCursor()
+                ));
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Mono<String> retrievePostsVersion(PostRetrieveRequest request) {
         Integer size = request.size();
+        PageDirection direction = request.direction();
+        Integer cursor = cursorOf(request);
+
+        Optional<List<PostRetrieveResponse>> cached = direction == PageDirection.PREV
+                ? postFeedCache.findNewer(cursor, size + 1)
+                : postFeedCache.find(cursor, size + 1);
+        if (cached.isPresent()) {
+            return Mono.just(PostPageVersion.of(PostPageResponse.of(cached.get(), size, direction)));
+        }
 
-        return postRepository.findByCursor(cursor, size)
-                .map(PostRetrieveResponse::from);
+        Flux<PostVersion> rows = direction == PageDirection.PREV
+                ? postRepository.findVersionsAfterCursor(cursor, size + 1)
+                : postRepository.findVersionsByCursor(cursor, size + 1);
+        return rows.collectList()
+                .map(versions -> PostPageVersion.of(versions, size, direction, PostVersion::no, PostVersion::version));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Mono<Integer> retrievePostVersion(Integer no) {
+        Optional<PostDetailRetrieveResponse> journaled = postWriteJournal.find(no);
+        if (journaled.isPresent()) {
+            return Mono.just(journaled.get().version());
+        }
+        return postDetailCache.getIfPresent(no)
+                .map(post -> Mono.just(post.version()))
+                .orElseGet(() -> postRepository.findVersionByNo(no));
+    }
+
+    // 캐시에는 데이터베이스에서 읽은 조회수를 그대로 두고, 응답에만 아직 기록되지 않은 증가분을 더한다.
+    // 저널에만 있는 글은 데이터베이스에 없으므로 저널에서 읽는다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<PostDetailRetrieveResponse> retrievePostDetail(PostDetailRetrieveRequest request) {
         Integer no = request.no();
-        return postRepository.findByNo(no)
-                .map(PostDetailRetrieveResponse::from);
+        Optional<PostDetailRetrieveResponse> journaled = postWriteJournal.find(no);
+        if (journaled.isPresent()) {
+            return Mono.just(journaled.get())
+                    .map(post -> post.withViews(postViewCounter.increment(post.no(), post.views())));
+        }
+        return postDetailCache.get(no, key -> postReadCoalescer.detail(key, () -> postRepository.findByNo(key)
+                        .map(PostDetailRetrieveResponse::from)))
+                .map(post -> post.withViews(postViewCounter.increment(post.no(), post.views())));
+    }
+
+    // 저장된 조회수를 모르면 0을 넘긴다. 다음 상세 조회에서 읽은 값이 기준이 된다.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Mono<Void> countView(Integer no) {
+        return Mono.fromRunnable(() -> postViewCounter.increment(no, postDetailCache.getIfPresent(no)
+                .map(PostDetailRetrieveResponse::views)
+                .orElse(0L)));
+    }
+
+    // 캐시에 본문 전체가 있으면 그대로 자르고, 없으면 앞부분만 읽어 온다. 미리보기는 캐시를 채우지 않는다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Mono<PostPreviewResponse> retrievePostPreview(PostPreviewRequest request) {
+        Integer no = request.no();
+        return postDetailCache.getIfPresent(no)
+                .map(post -> Mono.just(PostPreviewResponse.of(post, request.length())))
+                .orElseGet(() -> postContentRepository.findPreview(no, request.length()))
+                .map(post -> post.withViews(postViewCounter.increment(post.no(), post.views())));
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Mono<PostContent> retrievePostContent(Integer no) {
+        return postContentRepository.findContent(no);
+    }
+
+    // end는 포함하지 않는다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Flux<ByteBuffer> streamPostContent(PostContent content, long start, long end) {
+        return postContentRepository.streamContent(content, start, end);
+    }
+
+    // 데이터베이스를 읽지 않고 커밋된 쓰기를 이벤트로 받는다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Flux<PostEvent> streamPostEvents(Long lastEventId) {
+        return postEventFeed.subscribe(lastEventId);
+    }
+
+    // 캐시에 있는 글은 그대로 쓰고 나머지만 한 번의 IN 쿼리로 읽는다.
+    // 쓰기와 경합할 수 있으므로 여기서 읽은 글로 상세 캐시를 채우지는 않는다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Mono<PostBatchRetrieveResponse> retrievePostBatch(PostBatchRetrieveRequest request) {
+        Map<Integer, PostProjectionResponse> found = new HashMap<>();
+        postDetailCache.getAllPresent(request.ids())
+                .forEach((no, post) -> found.put(no, PostProjectionResponse.of(viewed(post), request)));
+
+        List<Integer> misses = request.ids().stream()
+                .filter(no -> !found.containsKey(no))
+                .toList();
+        if (misses.isEmpty()) {
+            return Mono.just(PostBatchRetrieveResponse.of(request.ids(), found));
+        }
+
+        Flux<PostProjectionResponse> loaded = request.includes(PostField.CONTENT)
+                ? postRepository.findAllByNos(misses)
+                        .map(post -> PostProjectionResponse.of(viewed(PostDetailRetrieveResponse.from(post)), request))
+                : postRepository.findSummariesByNos(misses)
+                        .map(post -> PostProjectionResponse.of(postViewCounter.current(post), request));
+        return loaded.collectMap(PostProjectionResponse::no, post -> post, () -> new HashMap<>(found))
+                .map(posts -> PostBatchRetrieveResponse.of(request.ids(), posts));
+    }
+
+    // 색인에서 찾은 번호로 목록에 필요한 컬럼만 읽어 점수 순서대로 돌려준다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Mono<PostSearchResponse> searchPosts(PostSearchRequest request) {
+        if (!postSearchIndex.isReady()) {
+            return Mono.error(new ApplicationException(ErrorCode.SEARCH_UNAVAILABLE));
+        }
+
+        return Mono.fromSupplier(() -> postSearchIndex.search(request.query(), request.cursor(), request.size() + 1))
+                .flatMap(hits -> {
+                    List<Integer> nos = hits.stream()
+                            .limit(request.size())
+                            .map(PostSearchHit::no)
+                            .toList();
+                    Mono<Map<Integer, PostRetrieveResponse>> rows = nos.isEmpty()
+                            ? Mono.just(Map.of())
+                            : postRepository.findSummariesByNos(nos)
+                                    .map(postViewCounter::current)
+                                    .collectMap(PostRetrieveResponse::no);
+                    return rows.map(posts -> PostSearchResponse.of(hits, request.size(), posts));
+                });
     }
 
     public Mono<PostDetailRetrieveResponse> patchPostDetail(Integer no, PostPatchRequest request) {
-        return postRepository.updatePost(no, request.title(), request.content())
-                .then(postRepository.findByNo(no))
-                .map(PostDetailRetrieveResponse::from);
+        return patch(no, null, request);
+    }
+
+    public Mono<PostDetailRetrieveResponse> patchPostDetail(
+            Integer no,
+            Integer expectedVersion,
+            PostPatchRequest request
+    ) {
+        return patch(no, expectedVersion, request);
     }
 
     public Mono<Integer> deletePost(Integer no) {
-        return postRepository.deleteByNo(no);
+        return postWriteJournal.awaitDrained(no)
+                .then(postRepository.deleteByNo(no))
+                .flatMap(deleted -> afterCommit(() -> {
+                    postReadCoalescer.fence(no);
+                    postFeedCache.remove(no);
+                    postDetailCache.invalidate(no);
+                    postPagePrefetcher.invalidateAll();
+                    postSearchIndex.remove(no);
+                    if (deleted > 0) {
+                        postEventFeed.deleted(no);
+                    }
+                }).thenReturn(deleted));
+    }
+
+    private Mono<PostDetailRetrieveResponse> patch(Integer no, Integer expectedVersion, PostPatchRequest request) {
+        return postWriteJournal.awaitDrained(no)
+                .then(Mono.defer(() -> patchStored(no, expectedVersion, request)));
+    }
+
+    private Mono<PostDetailRetrieveResponse> patchStored(
+            Integer no,
+            Integer expectedVersion,
+            PostPatchRequest request
+    ) {
+        // 캐시된 상세 정보의 버전으로 compare-and-set 하면 수정 결과를 다시 읽지 않고 메모리에서 합칠 수 있다.
+        Mono<PostDetailRetrieveResponse> patched = postDetailCache.getIfPresent(no)
+                .filter(cached -> expectedVersion == null || expectedVersion.equals(cached.version()))
+                .map(cached -> compareAndSet(no, cached.version(), request)
+                        .flatMap(updated -> {
+                            if (updated) {
+                                return Mono.just(cached.patch(request));
+                            }
+                            return expectedVersion == null ? updateAndReload(no, request) : preconditionFailed();
+                        }))
+                .orElseGet(() -> {
+                    if (expectedVersion == null) {
+                        return updateAndReload(no, request);
+                    }
+                    return compareAndSet(no, expectedVersion, request)
+                            .flatMap(updated -> updated ? reload(no) : preconditionFailed());
+                });
+
+        return patched.flatMap(response -> afterCommit(() -> {
+            postReadCoalescer.fence(no);
+            postFeedCache.update(PostRetrieveResponse.from(response));
+            postDetailCache.put(response);
+            postPagePrefetcher.invalidateAll();
+            postSearchIndex.index(response.no(), response.version(), response.title(), response.content());
+            postEventFeed.patched(PostRetrieveResponse.from(response));
+        }).thenReturn(viewed(response)));
+    }
+
+    // 요청한 방향으로 정렬된 최대 size + 1개의 행을 읽는다.
+    private Mono<List<PostRetrieveResponse>> findRows(PostRetrieveRequest request) {
+        Integer cursor = cursorOf(request);
+        Integer size = request.size() + 1;
+
+        if (request.direction() == PageDirection.PREV) {
+            return postFeedCache.findNewer(cursor, size)
+                    .map(Mono::just)
+                    .orElseGet(() -> postReadCoalescer.page(cursor, size, PageDirection.PREV,
+                            () -> postRepository.findAfterCursor(cursor, size).collectList()));
+        }
+        return postFeedCache.find(cursor, size)
+                .or(() -> postPagePrefetcher.find(request))
+                .map(Mono::just)
+                .orElseGet(() -> findByCursor(cursor, size));
+    }
+
+    // 같은 커서와 크기로 동시에 들어온 목록 조회는 하나의 쿼리를 나누어 쓴다.
+    private Mono<List<PostRetrieveResponse>> findByCursor(Integer cursor, Integer size) {
+        return postReadCoalescer.page(cursor, size, PageDirection.NEXT,
+                () -> postRepository.findByCursor(cursor, size).collectList());
+    }
+
+    // 사용자가 현재 페이지를 읽는 동안 다음 페이지를 미리 읽어 둔다. 최신 글 캐시가 응답할 수 있는 구간은 건너뛴다.
+    private void prefetchNext(PostRetrieveRequest request, PostPageResponse page) {
+        if (request.direction() != PageDirection.NEXT || !page.hasNext()) {
+            return;
+        }
+        Integer cursor = page.nextCursor();
+        Integer size = request.size() + 1;
+        if (postFeedCache.covers(cursor, size)) {
+            return;
+        }
+        postPagePrefetcher.prefetch(
+                request.withCursor(cursor),
+                () -> postRepository.findByCursor(cursor, size).collectList()
+        );
+    }
+
+    private Integer cursorOf(PostRetrieveRequest request) {
+        // 이전 방향은 커서보다 큰 번호를 읽으므로 0이면 가장 오래된 글부터 읽는다.
+        if (request.direction() == PageDirection.PREV) {
+            return request.cursor();
+        }
+        return request.cursor() == 0 ? DEFAULT_MAX_CURSOR : request.cursor();
+    }
+
+    private Mono<PostRetrieveResponse> insert(PostWriteRequest request) {
+        if (!postContentRepository.isSeparated()) {
+            return postRepository.save(request.toEntity()).map(PostRetrieveResponse::from);
+        }
+
+        // 본문을 별도 테이블에 두면 두 테이블에 나누어 기록해야 하므로 이 경우에만 트랜잭션을 연다.
+        LocalDateTime createdAt = LocalDateTime.now();
+        Flux<Integer> inserted = postBatchRepository.insertAll(List.of(request.toEntity()), createdAt);
+        return transactionalOperator.transactional(inserted)
+                .single()
+                .map(no -> PostRetrieveResponse.created(no, request.title(), createdAt));
+    }
+
+    private Mono<Boolean> compareAndSet(Integer no, Integer version, PostPatchRequest request) {
+        return update(no, version, request)
+                .map(updated -> updated > 0);
+    }
+
+    // 같은 트랜잭션에서 갱신한 행은 커밋 전까지 잠겨 있으므로, 다시 읽으면 이 요청이 쓴 상태가 그대로 보인다.
+    private Mono<PostDetailRetrieveResponse> updateAndReload(Integer no, PostPatchRequest request) {
+        return update(no, null, request)
+                .then(reload(no));
+    }
+
+    private Mono<Integer> update(Integer no, Integer version, PostPatchRequest request) {
+        if (!postContentRepository.isSeparated() || request.content() == null) {
+            return version == null
+                    ? postRepository.updatePost(no, request.title(), request.content())
+                    : postRepository.updatePostIfVersion(no, request.title(), request.content(), version);
+        }
+
+        // post 행을 먼저 갱신해 잠그고 인라인 본문을 비운 뒤에 본문을 교체한다.
+        Mono<Integer> updated = version == null
+                ? postRepository.updatePostClearingContent(no, request.title())
+                : postRepository.updatePostClearingContentIfVersion(no, request.title(), version);
+        return updated.flatMap(count -> count == 0
+                ? Mono.just(count)
+                : postContentRepository.replace(no, request.content()).thenReturn(count));
+    }
+
+    private Mono<PostDetailRetrieveResponse> reload(Integer no) {
+        return postRepository.findByNo(no)
+                .map(PostDetailRetrieveResponse::from);
+    }
+
+    private void published(PostRetrieveResponse post, String content) {
+        postReadCoalescer.fence(post.no());
+        postFeedCache.put(post);
+        postSearchIndex.index(post.no(), post.version(), post.title(), content);
+        postEventFeed.created(post);
+    }
+
+    private PostDetailRetrieveResponse viewed(PostDetailRetrieveResponse post) {
+        return post.withViews(postViewCounter.current(post.no(), post.views()));
+    }
+
+    private Mono<PostDetailRetrieveResponse> preconditionFailed() {
+        return Mono.error(new ApplicationException(ErrorCode.PRECONDITION_FAILED));
+    }
+
+    private Mono<Void> afterCommit(Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(manager -> {
+                    if (!manager.isSynchronizationActive()) {
+                        return Mono.<Void>fromRunnable(action);
+                    }
+                    manager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(action);
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(action));
     }
 }
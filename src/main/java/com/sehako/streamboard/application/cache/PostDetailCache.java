@@ -0,0 +1,105 @@
+package com.sehako.streamboard.application.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+public class PostDetailCache {
+    private static final String CACHE_NAME = "post-detail";
+    // 레코드, 박싱된 키와 캐시 노드가 차지하는 대략적인 크기
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final boolean enabled;
+    private final AsyncCache<Integer, PostDetailRetrieveResponse> cache;
+
+    public PostDetailCache(PostDetailCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumWeight().toBytes())
+                .weigher((Integer no, PostDetailRetrieveResponse post) -> weigh(post))
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .buildAsync();
+
+        if (enabled) {
+            new CaffeineCacheMetrics<>(cache.synchronous(), CACHE_NAME, Tags.empty())
+                    .bindTo(meterRegistry);
+        }
+    }
+
+    public Mono<PostDetailRetrieveResponse> get(
+            Integer no,
+            Function<Integer, Mono<PostDetailRetrieveResponse>> loader
+    ) {
+        if (!enabled) {
+            return loader.apply(no);
+        }
+
+        // 로더가 호출자의 트랜잭션 컨텍스트를 그대로 사용하도록 구독 컨텍스트를 넘긴다.
+        // 한 구독자가 취소해도 같은 키를 기다리는 다른 구독자의 로딩은 취소되지 않는다.
+        return Mono.deferContextual(context -> Mono.fromFuture(
+                cache.get(no, (key, executor) -> loader.apply(key)
+                        .contextWrite(context)
+                        .toFuture()),
+                true
+        ));
+    }
+
+    // 통계에 남기지 않고, 로딩이 끝난 값만 확인한다.
+    public Optional<PostDetailRetrieveResponse> getIfPresent(Integer no) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        CompletableFuture<PostDetailRetrieveResponse> future = cache.asMap().get(no);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(future.getNow(null));
+    }
+
+    public Map<Integer, PostDetailRetrieveResponse> getAllPresent(Collection<Integer> nos) {
+        if (!enabled) {
+            return Map.of();
+        }
+
+        Map<Integer, PostDetailRetrieveResponse> found = new HashMap<>();
+        for (Integer no : nos) {
+            getIfPresent(no).ifPresent(post -> found.put(no, post));
+        }
+        return found;
+    }
+
+    public void put(PostDetailRetrieveResponse post) {
+        if (enabled) {
+            cache.put(post.no(), CompletableFuture.completedFuture(post));
+        }
+    }
+
+    public void invalidate(Integer no) {
+        if (enabled) {
+            cache.synchronous().invalidate(no);
+        }
+    }
+
+    private static int weigh(PostDetailRetrieveResponse post) {
+        long chars = length(post.title()) + length(post.content());
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + chars * Character.BYTES);
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
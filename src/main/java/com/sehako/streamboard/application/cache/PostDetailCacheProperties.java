@@ -0,0 +1,14 @@
+package com.sehako.streamboard.application.cache;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties("streamboard.detail-cache")
+public record PostDetailCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64MB") DataSize maximumWeight,
+        @DefaultValue("10m") Duration expireAfterWrite
+) {
+}
@@ -0,0 +1,256 @@
+package com.sehako.streamboard.application.cache;
+
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class PostFeedCache {
+    private static final Integer MAX_CURSOR = Integer.MAX_VALUE;
+
+    private final PostRepository postRepository;
+    private final PostFeedCacheProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+
+    // 쓰기 이벤트마다 증가한다. 다시 읽어오는 동안 값이 바뀌었다면 조회 결과를 버린다.
+    private final AtomicLong modifications = new AtomicLong();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    private volatile Window window;
+    private volatile long syncedAt;
+    private Disposable refresher;
+
+    public PostFeedCache(
+            PostRepository postRepository,
+            PostFeedCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.postRepository = postRepository;
+        this.properties = properties;
+        this.hits = Counter.builder("streamboard.feed.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("streamboard.feed.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        if (properties.enabled()) {
+            Gauge.builder("streamboard.feed.cache.size", this, PostFeedCache::size)
+                    .register(meterRegistry);
+            Gauge.builder("streamboard.feed.cache.hit.ratio", this, PostFeedCache::hitRatio)
+                    .register(meterRegistry);
+            TimeGauge.builder("streamboard.feed.cache.staleness", this, TimeUnit.MILLISECONDS,
+                            PostFeedCache::staleness)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        refresher = Flux.interval(Duration.ZERO, properties.refreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> reload())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+
+    public Optional<List<PostRetrieveResponse>> find(Integer cursor, Integer size) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        return count(older(cursor, size));
+    }
+
+    // 커서보다 새로운 글을 번호 오름차순으로 반환한다. 구간은 최신 글부터 연속되어 있으므로
+    // 커서가 구간 안에 있으면 그보다 새로운 글은 모두 캐시에 있다.
+    public Optional<List<PostRetrieveResponse>> findNewer(Integer cursor, Integer size) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        return count(newer(cursor, size));
+    }
+
+    // 통계에 남기지 않고 캐시에서 응답할 수 있는 구간인지만 확인한다.
+    public boolean covers(Integer cursor, Integer size) {
+        return properties.enabled() && older(cursor, size).isPresent();
+    }
+
+    private Optional<List<PostRetrieveResponse>> older(Integer cursor, Integer size) {
+        Window current = window;
+        if (current == null || size > properties.capacity()) {
+            return Optional.empty();
+        }
+
+        List<PostRetrieveResponse> page = new ArrayList<>(size);
+        for (PostRetrieveResponse post : current.posts.tailMap(cursor, false).values()) {
+            if (page.size() == size) {
+                break;
+            }
+            page.add(post);
+        }
+
+        // 캐시된 구간 아래로 내려가는 페이지는 데이터베이스에서 읽어야 한다.
+        if (page.size() < size && !current.exhaustive) {
+            return Optional.empty();
+        }
+        return Optional.of(page);
+    }
+
+    private Optional<List<PostRetrieveResponse>> newer(Integer cursor, Integer size) {
+        Window current = window;
+        if (current == null) {
+            return Optional.empty();
+        }
+        if (!current.exhaustive && (current.posts.isEmpty() || cursor < current.posts.lastKey())) {
+            return Optional.empty();
+        }
+
+        List<PostRetrieveResponse> page = new ArrayList<>(size);
+        for (PostRetrieveResponse post : current.posts.headMap(cursor, false).descendingMap().values()) {
+            if (page.size() == size) {
+                break;
+            }
+            page.add(post);
+        }
+        return Optional.of(page);
+    }
+
+    private Optional<List<PostRetrieveResponse>> count(Optional<List<PostRetrieveResponse>> page) {
+        if (page.isPresent()) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return page;
+    }
+
+    public synchronized void put(PostRetrieveResponse post) {
+        modifications.incrementAndGet();
+        Window current = window;
+        if (current == null) {
+            return;
+        }
+        if (!current.exhaustive && !current.posts.isEmpty() && post.no() < current.posts.lastKey()) {
+            return;
+        }
+
+        current.posts.put(post.no(), post);
+        while (current.posts.size() > properties.capacity()) {
+            current.exhaustive = false;
+            current.posts.pollLastEntry();
+        }
+    }
+
+    public synchronized void update(PostRetrieveResponse post) {
+        modifications.incrementAndGet();
+        Window current = window;
+        if (current != null) {
+            current.posts.replace(post.no(), post);
+        }
+    }
+
+    public void remove(Integer no) {
+        boolean shrunk;
+        synchronized (this) {
+            modifications.incrementAndGet();
+            Window current = window;
+            shrunk = current != null && current.posts.remove(no) != null && !current.exhaustive;
+        }
+
+        // 구간 안의 글이 삭제되면 그만큼 아래쪽 글을 다시 채워 넣는다.
+        if (shrunk) {
+            reload().subscribe();
+        }
+    }
+
+    Mono<Void> reload() {
+        return Mono.defer(() -> {
+            if (!reloading.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+
+            long observed = modifications.get();
+            return postRepository.findByCursor(MAX_CURSOR, properties.capacity())
+                    .collectList()
+                    .doOnNext(posts -> swap(posts, observed))
+                    .doFinally(signal -> reloading.set(false))
+                    .onErrorResume(e -> {
+                        log.warn("Failed to reload post feed cache", e);
+                        return Mono.empty();
+                    })
+                    .then();
+        });
+    }
+
+    private synchronized void swap(List<PostRetrieveResponse> posts, long observed) {
+        if (modifications.get() != observed) {
+            log.debug("Post feed cache modified while reloading, keeping current window");
+            return;
+        }
+
+        ConcurrentSkipListMap<Integer, PostRetrieveResponse> map =
+                new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        for (PostRetrieveResponse post : posts) {
+            map.put(post.no(), post);
+        }
+        window = new Window(map, posts.size() < properties.capacity());
+        syncedAt = System.currentTimeMillis();
+    }
+
+    private double size() {
+        Window current = window;
+        return current == null ? 0 : current.posts.size();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private double staleness() {
+        return window == null ? Double.NaN : System.currentTimeMillis() - syncedAt;
+    }
+
+    private static final class Window {
+        // 번호 내림차순. 가장 최신 글부터 빈틈없이 연속된 구간만 담는다.
+        private final ConcurrentSkipListMap<Integer, PostRetrieveResponse> posts;
+        // 테이블 전체가 구간 안에 들어와 있으면 true
+        private volatile boolean exhaustive;
+
+        private Window(ConcurrentSkipListMap<Integer, PostRetrieveResponse> posts, boolean exhaustive) {
+            this.posts = posts;
+            this.exhaustive = exhaustive;
+        }
+    }
+}
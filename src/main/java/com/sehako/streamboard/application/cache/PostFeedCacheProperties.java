@@ -0,0 +1,13 @@
+package com.sehako.streamboard.application.cache;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.feed-cache")
+public record PostFeedCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") int capacity,
+        @DefaultValue("30s") Duration refreshInterval
+) {
+}
@@ -0,0 +1,13 @@
+package com.sehako.streamboard.application.cache;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.page-prefetch")
+public record PostPagePrefetchProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000") long maximumSize,
+        @DefaultValue("10s") Duration expireAfterWrite
+) {
+}
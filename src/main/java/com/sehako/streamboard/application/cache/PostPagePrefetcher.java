@@ -0,0 +1,86 @@
+package com.sehako.streamboard.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class PostPagePrefetcher {
+    private final boolean enabled;
+    private final Cache<PostRetrieveRequest, List<PostRetrieveResponse>> pages;
+    private final Set<PostRetrieveRequest> loading = ConcurrentHashMap.newKeySet();
+    private final Counter hits;
+    private final Counter misses;
+
+    // 수정이나 삭제가 일어날 때마다 증가한다. 읽어오는 동안 값이 바뀌었다면 결과를 버린다.
+    private final AtomicLong generation = new AtomicLong();
+
+    public PostPagePrefetcher(PostPagePrefetchProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .build();
+        this.hits = Counter.builder("streamboard.page.prefetch.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("streamboard.page.prefetch.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public Optional<List<PostRetrieveResponse>> find(PostRetrieveRequest request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        List<PostRetrieveResponse> rows = pages.getIfPresent(request);
+        if (rows == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(rows);
+    }
+
+    // 응답을 기다리게 하지 않도록 따로 구독한다. 이미 읽어 두었거나 읽는 중인 페이지는 다시 읽지 않는다.
+    public void prefetch(PostRetrieveRequest request, Supplier<Mono<List<PostRetrieveResponse>>> loader) {
+        if (!enabled || pages.getIfPresent(request) != null || !loading.add(request)) {
+            return;
+        }
+
+        long observed = generation.get();
+        Mono.defer(loader)
+                .doFinally(signal -> loading.remove(request))
+                .subscribe(
+                        rows -> store(request, rows, observed),
+                        e -> log.debug("Failed to prefetch post page {}", request, e)
+                );
+    }
+
+    public synchronized void invalidateAll() {
+        if (enabled) {
+            generation.incrementAndGet();
+            pages.invalidateAll();
+        }
+    }
+
+    private synchronized void store(PostRetrieveRequest request, List<PostRetrieveResponse> rows, long observed) {
+        if (generation.get() == observed) {
+            pages.put(request, rows);
+        }
+    }
+}
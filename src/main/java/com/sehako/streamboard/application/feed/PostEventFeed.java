@@ -0,0 +1,126 @@
+package com.sehako.streamboard.application.feed;
+
+import com.sehako.streamboard.application.response.PostEvent;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+// 모든 구독자가 하나의 싱크를 나누어 구독한다. 싱크는 최근 이벤트를 정해진 개수만큼 보관하므로,
+// 다시 연결한 구독자는 데이터베이스를 읽지 않고 Last-Event-ID 이후의 이벤트부터 이어 받는다.
+@Slf4j
+@Component
+public class PostEventFeed {
+    private static final String SUBSCRIBERS_METRIC = "streamboard.event.feed.subscribers";
+    private static final String PUBLISHED_METRIC = "streamboard.event.feed.published";
+    private static final String DROPPED_METRIC = "streamboard.event.feed.dropped";
+    private static final String RESYNC_METRIC = "streamboard.event.feed.resync";
+
+    private final PostEventFeedProperties properties;
+    private final Sinks.Many<PostEvent> sink;
+    // 구독자 수와 상관없이 타이머는 하나만 둔다.
+    private final Flux<PostEvent> heartbeats;
+    // 구독자가 많으면 내보내는 데 시간이 걸리므로, 쓰기 요청의 스레드가 아닌 한 스레드에서 차례대로 내보낸다.
+    private final Scheduler publisher = Schedulers.newSingle("post-event-feed");
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter resyncs;
+
+    // 마지막으로 싱크에 넣은 이벤트 번호. publisher 스레드에서만 바꾼다.
+    private volatile long lastId;
+
+    public PostEventFeed(PostEventFeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sink = Sinks.many().replay().limit(properties.historySize());
+        this.heartbeats = Flux.interval(properties.heartbeatInterval())
+                .onBackpressureDrop()
+                .map(tick -> PostEvent.heartbeat())
+                .share();
+        this.published = Counter.builder(PUBLISHED_METRIC).register(meterRegistry);
+        this.dropped = Counter.builder(DROPPED_METRIC).register(meterRegistry);
+        this.resyncs = Counter.builder(RESYNC_METRIC).register(meterRegistry);
+        Gauge.builder(SUBSCRIBERS_METRIC, subscribers, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        publisher.schedule(() -> {
+            sink.tryEmitComplete();
+            publisher.dispose();
+        });
+    }
+
+    public void created(PostRetrieveResponse post) {
+        publish(id -> PostEvent.created(id, post));
+    }
+
+    public void patched(PostRetrieveResponse post) {
+        publish(id -> PostEvent.patched(id, post));
+    }
+
+    public void deleted(Integer no) {
+        publish(id -> PostEvent.deleted(id, no));
+    }
+
+    // lastEventId가 없으면 구독한 뒤의 이벤트만 받는다. 보관한 이벤트보다 오래되었거나 다른 인스턴스가 매긴 번호라
+    // 이어 받을 수 없으면 목록을 다시 읽도록 resync 이벤트를 먼저 보낸다.
+    // 느린 구독자는 자기 버퍼에서 가장 오래된 이벤트부터 버리므로 다른 구독자나 싱크의 메모리를 붙잡지 않는다.
+    public Flux<PostEvent> subscribe(Long lastEventId) {
+        return Flux.defer(() -> {
+            long latest = lastId;
+            Flux<PostEvent> events;
+            if (lastEventId == null) {
+                events = after(latest);
+            } else if (lastEventId < 0 || lastEventId > latest || lastEventId < latest - properties.historySize()) {
+                resyncs.increment();
+                events = after(latest).startWith(PostEvent.resync(latest));
+            } else {
+                events = after(lastEventId);
+            }
+
+            return events
+                    .onBackpressureBuffer(
+                            properties.subscriberBuffer(),
+                            event -> dropped.increment(),
+                            BufferOverflowStrategy.DROP_OLDEST
+                    )
+                    .mergeWith(heartbeats)
+                    .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                    .doFinally(signal -> subscribers.decrementAndGet());
+        });
+    }
+
+    private Flux<PostEvent> after(long id) {
+        return sink.asFlux()
+                .filter(event -> event.id() > id);
+    }
+
+    // 번호는 싱크에 넣은 뒤에 공개한다. 구독할 때 읽은 번호까지의 이벤트는 모두 싱크에 들어 있다.
+    private void publish(LongFunction<PostEvent> event) {
+        Mono.fromRunnable(() -> {
+                    long id = lastId + 1;
+                    Sinks.EmitResult result = sink.tryEmitNext(event.apply(id));
+                    if (result.isFailure()) {
+                        log.warn("Failed to publish post event {}: {}", id, result);
+                        return;
+                    }
+                    lastId = id;
+                    published.increment();
+                })
+                .subscribeOn(publisher)
+                .subscribe();
+    }
+}
@@ -0,0 +1,13 @@
+package com.sehako.streamboard.application.feed;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.event-feed")
+public record PostEventFeedProperties(
+        @DefaultValue("1024") int historySize,
+        @DefaultValue("256") int subscriberBuffer,
+        @DefaultValue("15s") Duration heartbeatInterval
+) {
+}
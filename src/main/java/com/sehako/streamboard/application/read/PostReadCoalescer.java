@@ -0,0 +1,102 @@
+package com.sehako.streamboard.application.read;
+
+import com.sehako.streamboard.common.routing.ReplicaRouting;
+import com.sehako.streamboard.presentation.request.PageDirection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// 같은 글이나 같은 페이지를 동시에 읽는 요청이 하나의 쿼리 결과를 나누어 받는다.
+// 쿼리가 끝나면 바로 지우므로 캐시와 달리 이미 끝난 결과를 돌려주지 않는다.
+@Component
+public class PostReadCoalescer {
+    private static final String METRIC = "streamboard.read.coalesce";
+
+    private final boolean enabled;
+    private final Map<Key, CompletableFuture<?>> flights = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter shared;
+
+    public PostReadCoalescer(PostReadCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.executed = Counter.builder(METRIC)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.shared = Counter.builder(METRIC)
+                .tag("result", "shared")
+                .register(meterRegistry);
+
+        if (enabled) {
+            Gauge.builder(METRIC + ".inflight", flights, Map::size)
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> Mono<T> detail(Integer no, Supplier<Mono<T>> query) {
+        return join(new Post(no), query);
+    }
+
+    public <T> Mono<T> page(Integer cursor, Integer size, PageDirection direction, Supplier<Mono<T>> query) {
+        return join(new Page(cursor, size, direction), query);
+    }
+
+    // 글이 바뀌면 진행 중인 조회에 더 이상 합류하지 않도록 떼어 낸다. 이미 합류한 요청은 쓰기와 동시에 읽은 것이므로 이전 결과를 받는다.
+    // 어떤 페이지에 그 글이 있는지 알 수 없으므로 페이지 조회는 모두 떼어 낸다.
+    public void fence(Integer no) {
+        if (!enabled) {
+            return;
+        }
+        flights.remove(new Key(new Post(no), false));
+        flights.remove(new Key(new Post(no), true));
+        flights.keySet().removeIf(key -> key.target() instanceof Page);
+    }
+
+    // 상세 캐시와 같이 첫 요청의 구독 컨텍스트로 쿼리를 실행하고, 각 요청은 취소해도 공유된 쿼리를 취소하지 않는다.
+    // 주 데이터베이스에서 읽어야 하는 요청은 복제본을 읽는 쿼리에 합류하지 않도록 키를 나눈다.
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> join(Object target, Supplier<Mono<T>> query) {
+        if (!enabled) {
+            return Mono.defer(query);
+        }
+
+        return Mono.deferContextual(context -> {
+            Key key = new Key(target, context.getOrDefault(ReplicaRouting.PRIMARY_CONTEXT_KEY, false));
+            CompletableFuture<T> created = new CompletableFuture<>();
+            CompletableFuture<?> existing = flights.putIfAbsent(key, created);
+            if (existing != null) {
+                shared.increment();
+                return Mono.fromFuture((CompletableFuture<T>) existing, true);
+            }
+
+            executed.increment();
+            // 끝난 쿼리에 새 요청이 합류하지 않도록 결과를 알리기 전에 지운다.
+            Mono.defer(query)
+                    .contextWrite(context)
+                    .toFuture()
+                    .whenComplete((value, e) -> {
+                        flights.remove(key, created);
+                        if (e != null) {
+                            created.completeExceptionally(e);
+                        } else {
+                            created.complete(value);
+                        }
+                    });
+            return Mono.fromFuture(created, true);
+        });
+    }
+
+    private record Key(Object target, boolean primary) {
+    }
+
+    private record Post(Integer no) {
+    }
+
+    private record Page(Integer cursor, Integer size, PageDirection direction) {
+    }
+}
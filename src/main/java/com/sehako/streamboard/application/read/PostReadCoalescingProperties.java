@@ -0,0 +1,10 @@
+package com.sehako.streamboard.application.read;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.read-coalescing")
+public record PostReadCoalescingProperties(
+        @DefaultValue("false") boolean enabled
+) {
+}
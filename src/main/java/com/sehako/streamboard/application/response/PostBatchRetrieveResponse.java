@@ -0,0 +1,25 @@
+package com.sehako.streamboard.application.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public record PostBatchRetrieveResponse(
+        List<PostProjectionResponse> posts,
+        List<Integer> missing
+) {
+    // 요청한 순서대로 글을 담고, 찾지 못한 번호는 따로 알려준다.
+    public static PostBatchRetrieveResponse of(List<Integer> ids, Map<Integer, PostProjectionResponse> found) {
+        List<PostProjectionResponse> posts = new ArrayList<>(found.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer no : ids) {
+            PostProjectionResponse post = found.get(no);
+            if (post == null) {
+                missing.add(no);
+            } else {
+                posts.add(post);
+            }
+        }
+        return new PostBatchRetrieveResponse(posts, missing);
+    }
+}
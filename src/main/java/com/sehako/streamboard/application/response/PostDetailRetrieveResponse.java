@@ -1,20 +1,40 @@
 package com.sehako.streamboard.application.response;
 
 import com.sehako.streamboard.infrastructure.domain.Post;
+import com.sehako.streamboard.presentation.request.PostPatchRequest;
 import java.time.LocalDateTime;
 
 public record PostDetailRetrieveResponse(
         Integer no,
         String title,
         String content,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        Integer version,
+        Long views
 ) {
     public static PostDetailRetrieveResponse from(Post post) {
         return new PostDetailRetrieveResponse(
                 post.getNo(),
                 post.getTitle(),
                 post.getContent(),
-                post.getCreatedAt()
+                post.getCreatedAt(),
+                post.getVersion(),
+                post.getViews()
         );
     }
+
+    public PostDetailRetrieveResponse patch(PostPatchRequest request) {
+        return new PostDetailRetrieveResponse(
+                no,
+                request.title() == null ? title : request.title(),
+                request.content() == null ? content : request.content(),
+                createdAt,
+                version + 1,
+                views
+        );
+    }
+
+    public PostDetailRetrieveResponse withViews(long views) {
+        return new PostDetailRetrieveResponse(no, title, content, createdAt, version, views);
+    }
 }
@@ -0,0 +1,33 @@
+package com.sehako.streamboard.application.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+// 삭제 이벤트는 번호만 담는다.
+@JsonInclude(Include.NON_NULL)
+public record PostEvent(
+        long id,
+        PostEventType type,
+        Integer no,
+        PostRetrieveResponse post
+) {
+    public static PostEvent created(long id, PostRetrieveResponse post) {
+        return new PostEvent(id, PostEventType.CREATED, post.no(), post);
+    }
+
+    public static PostEvent patched(long id, PostRetrieveResponse post) {
+        return new PostEvent(id, PostEventType.PATCHED, post.no(), post);
+    }
+
+    public static PostEvent deleted(long id, Integer no) {
+        return new PostEvent(id, PostEventType.DELETED, no, null);
+    }
+
+    public static PostEvent resync(long id) {
+        return new PostEvent(id, PostEventType.RESYNC, null, null);
+    }
+
+    public static PostEvent heartbeat() {
+        return new PostEvent(0, PostEventType.HEARTBEAT, null, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.sehako.streamboard.application.response;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum PostEventType {
+    CREATED("created"),
+    PATCHED("patched"),
+    DELETED("deleted"),
+    // 이어 받을 수 있는 이벤트가 남아 있지 않으니 목록을 다시 읽으라는 신호
+    RESYNC("resync"),
+    // 연결이 끊기지 않도록 보내는 신호. 이벤트 번호가 없다.
+    HEARTBEAT("heartbeat");
+
+    private final String value;
+
+    PostEventType(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String value() {
+        return value;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sehako.streamboard.application.response;
+
+import com.sehako.streamboard.presentation.request.PageDirection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public record PostPageResponse(
+        List<PostRetrieveResponse> posts,
+        boolean hasNext,
+        Integer nextCursor
+) {
+    // rows는 요청한 방향으로 정렬된 최대 size + 1개의 행이다. 마지막 한 개는 다음 페이지가 있는지만 확인한다.
+    public static PostPageResponse of(List<PostRetrieveResponse> rows, int size, PageDirection direction) {
+        List<PostRetrieveResponse> posts = page(rows, size, direction);
+        boolean hasNext = rows.size() > size;
+        if (!hasNext || posts.isEmpty()) {
+            return new PostPageResponse(posts, hasNext, null);
+        }
+
+        // 페이지는 항상 최신 글부터 담기므로, 이전 방향이면 맨 앞 글이 다음 커서가 된다.
+        PostRetrieveResponse edge = direction == PageDirection.PREV ? posts.get(0) : posts.get(posts.size() - 1);
+        return new PostPageResponse(posts, true, edge.no());
+    }
+
+    // 요청한 방향으로 정렬된 행에서 한 페이지를 잘라 최신 글부터 정렬해 반환한다.
+    public static <T> List<T> page(List<T> rows, int size, PageDirection direction) {
+        List<T> page = rows.size() > size ? rows.subList(0, size) : rows;
+        if (direction != PageDirection.PREV) {
+            return List.copyOf(page);
+        }
+        List<T> reversed = new ArrayList<>(page);
+        Collections.reverse(reversed);
+        return Collections.unmodifiableList(reversed);
+    }
+}
@@ -0,0 +1,48 @@
+package com.sehako.streamboard.application.response;
+
+import com.sehako.streamboard.presentation.request.PageDirection;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+// 페이지에 담긴 게시글 번호와 버전으로 만든 검증 값. 구간 안의 작성, 수정, 삭제가 모두 값을 바꾼다.
+public final class PostPageVersion {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final String HAS_NEXT_SUFFIX = "-n";
+
+    private PostPageVersion() {
+    }
+
+    public static String of(PostPageResponse page) {
+        return of(page.posts(), page.hasNext(), PostRetrieveResponse::no, PostRetrieveResponse::version);
+    }
+
+    // 응답을 만들지 않고 번호와 버전만 읽은 행으로, 같은 페이지의 응답과 같은 값을 만든다.
+    public static <T> String of(
+            List<T> rows,
+            int size,
+            PageDirection direction,
+            ToIntFunction<T> no,
+            ToIntFunction<T> version
+    ) {
+        return of(PostPageResponse.page(rows, size, direction), rows.size() > size, no, version);
+    }
+
+    private static <T> String of(List<T> posts, boolean hasNext, ToIntFunction<T> no, ToIntFunction<T> version) {
+        long hash = FNV_OFFSET_BASIS;
+        for (T post : posts) {
+            hash = mix(hash, no.applyAsInt(post));
+            hash = mix(hash, version.applyAsInt(post));
+        }
+        String value = posts.size() + "-" + Long.toHexString(hash);
+        return hasNext ? value + HAS_NEXT_SUFFIX : value;
+    }
+
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
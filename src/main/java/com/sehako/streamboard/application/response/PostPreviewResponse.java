@@ -0,0 +1,100 @@
+package com.sehako.streamboard.application.response;
+
+import java.time.LocalDateTime;
+
+// content는 앞부분만 담고, contentLength는 전체 본문의 UTF-8 바이트 수다.
+public record PostPreviewResponse(
+        Integer no,
+        String title,
+        String content,
+        Long contentLength,
+        boolean truncated,
+        LocalDateTime createdAt,
+        Integer version,
+        Long views
+) {
+    public static PostPreviewResponse of(PostDetailRetrieveResponse post, int length) {
+        String content = post.content();
+        if (content == null) {
+            return new PostPreviewResponse(
+                    post.no(), post.title(), null, 0L, false, post.createdAt(), post.version(), post.views()
+            );
+        }
+
+        String preview = truncate(content, length);
+        return new PostPreviewResponse(
+                post.no(),
+                post.title(),
+                preview,
+                utf8Length(content),
+                preview.length() < content.length(),
+                post.createdAt(),
+                post.version(),
+                post.views()
+        );
+    }
+
+    // 데이터베이스에서 잘라 온 앞부분과 전체 길이로 만든다.
+    public static PostPreviewResponse of(
+            Integer no,
+            String title,
+            String preview,
+            long contentLength,
+            LocalDateTime createdAt,
+            Integer version,
+            Long views
+    ) {
+        String content = preview == null ? null : dropDanglingSurrogate(preview);
+        return new PostPreviewResponse(
+                no,
+                title,
+                content,
+                contentLength,
+                content != null && utf8Length(content) < contentLength,
+                createdAt,
+                version,
+                views
+        );
+    }
+
+    // 서로게이트 쌍을 나누지 않도록 코드 포인트 단위로 자른다.
+    public static String truncate(String content, int length) {
+        if (content.codePointCount(0, content.length()) <= length) {
+            return content;
+        }
+        return content.substring(0, content.offsetByCodePoints(0, length));
+    }
+
+    // 문자 단위로 자르는 데이터베이스는 쌍의 앞쪽만 남길 수 있다.
+    private static String dropDanglingSurrogate(String content) {
+        int last = content.length() - 1;
+        if (last >= 0 && Character.isHighSurrogate(content.charAt(last))) {
+            return content.substring(0, last);
+        }
+        return content;
+    }
+
+    // 본문 전체를 바이트 배열로 인코딩하지 않고 길이만 센다.
+    private static long utf8Length(String content) {
+        long length = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < content.length()
+                    && Character.isLowSurrogate(content.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    public PostPreviewResponse withViews(long views) {
+        return new PostPreviewResponse(no, title, content, contentLength, truncated, createdAt, version, views);
+    }
+}
@@ -0,0 +1,40 @@
+package com.sehako.streamboard.application.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.sehako.streamboard.presentation.request.PostBatchRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostField;
+import java.time.LocalDateTime;
+
+// 요청하지 않은 필드는 응답에서 생략된다.
+@JsonInclude(Include.NON_NULL)
+public record PostProjectionResponse(
+        Integer no,
+        String title,
+        String content,
+        LocalDateTime createdAt,
+        Integer version,
+        Long views
+) {
+    public static PostProjectionResponse of(PostDetailRetrieveResponse post, PostBatchRetrieveRequest request) {
+        return new PostProjectionResponse(
+                post.no(),
+                request.includes(PostField.TITLE) ? post.title() : null,
+                request.includes(PostField.CONTENT) ? post.content() : null,
+                request.includes(PostField.CREATED_AT) ? post.createdAt() : null,
+                request.includes(PostField.VERSION) ? post.version() : null,
+                request.includes(PostField.VIEWS) ? post.views() : null
+        );
+    }
+
+    public static PostProjectionResponse of(PostRetrieveResponse post, PostBatchRetrieveRequest request) {
+        return new PostProjectionResponse(
+                post.no(),
+                request.includes(PostField.TITLE) ? post.title() : null,
+                null,
+                request.includes(PostField.CREATED_AT) ? post.createdAt() : null,
+                request.includes(PostField.VERSION) ? post.version() : null,
+                request.includes(PostField.VIEWS) ? post.views() : null
+        );
+    }
+}
@@ -6,9 +6,30 @@ import java.time.LocalDateTime;
 public record PostRetrieveResponse(
         Integer no,
         String title,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        Integer version,
+        Long views
 ) {
     public static PostRetrieveResponse from(Post post) {
-        return new PostRetrieveResponse(post.getNo(), post.getTitle(), post.getCreatedAt());
+        return new PostRetrieveResponse(
+                post.getNo(),
+                post.getTitle(),
+                post.getCreatedAt(),
+                post.getVersion(),
+                post.getViews()
+        );
+    }
+
+    public static PostRetrieveResponse from(PostDetailRetrieveResponse post) {
+        return new PostRetrieveResponse(post.no(), post.title(), post.createdAt(), post.version(), post.views());
+    }
+
+    // 방금 작성된 글은 버전과 조회수가 0이다.
+    public static PostRetrieveResponse created(Integer no, String title, LocalDateTime createdAt) {
+        return new PostRetrieveResponse(no, title, createdAt, 0, 0L);
+    }
+
+    public PostRetrieveResponse withViews(long views) {
+        return new PostRetrieveResponse(no, title, createdAt, version, views);
     }
 }
@@ -0,0 +1,28 @@
+package com.sehako.streamboard.application.response;
+
+import com.sehako.streamboard.application.search.PostSearchHit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public record PostSearchResponse(
+        List<PostRetrieveResponse> posts,
+        boolean hasNext,
+        String nextCursor
+) {
+    // hits는 점수 순으로 정렬된 최대 size + 1개의 결과다. 색인된 뒤 삭제되어 rows에 없는 글은 건너뛴다.
+    public static PostSearchResponse of(List<PostSearchHit> hits, int size, Map<Integer, PostRetrieveResponse> rows) {
+        List<PostSearchHit> page = hits.size() > size ? hits.subList(0, size) : hits;
+        List<PostRetrieveResponse> posts = new ArrayList<>(page.size());
+        for (PostSearchHit hit : page) {
+            PostRetrieveResponse post = rows.get(hit.no());
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+
+        boolean hasNext = hits.size() > size;
+        String nextCursor = hasNext ? page.get(page.size() - 1).cursor().toString() : null;
+        return new PostSearchResponse(posts, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sehako.streamboard.application.search;
+
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+
+// 점수 내림차순, 같은 점수면 번호 내림차순으로 정렬된 결과에서 마지막으로 받은 위치
+public record PostSearchCursor(
+        float score,
+        int no
+) {
+    private static final String SEPARATOR = "_";
+
+    public static PostSearchCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int separator = value.lastIndexOf(SEPARATOR);
+        try {
+            return new PostSearchCursor(
+                    Float.parseFloat(value.substring(0, separator)),
+                    Integer.parseInt(value.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new ApplicationException(ErrorCode.INVALID_PARAMETER);
+        }
+    }
+
+    // 이 커서보다 뒤에 오는 결과인지 확인한다.
+    public boolean precedes(float score, int no) {
+        return score < this.score || (score == this.score && no < this.no);
+    }
+
+    @Override
+    public String toString() {
+        return score + SEPARATOR + no;
+    }
+}
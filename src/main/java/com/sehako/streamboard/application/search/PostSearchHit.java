@@ -0,0 +1,10 @@
+package com.sehako.streamboard.application.search;
+
+public record PostSearchHit(
+        int no,
+        float score
+) {
+    public PostSearchCursor cursor() {
+        return new PostSearchCursor(score, no);
+    }
+}
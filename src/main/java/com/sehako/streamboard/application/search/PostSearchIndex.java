@@ -0,0 +1,341 @@
+package com.sehako.streamboard.application.search;
+
+import com.sehako.streamboard.infrastructure.PostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class PostSearchIndex {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int INITIAL_CAPACITY = 256;
+    // 글마다 version + 1을 저장한다. 0은 아직 색인되지 않은 글, -1은 삭제된 글이다.
+    private static final int DELETED = -1;
+    // 문자열 객체, 해시 테이블 항목과 배열 헤더가 차지하는 대략적인 크기
+    private static final int TERM_OVERHEAD = 96;
+    private static final int ARRAY_OVERHEAD = 16;
+
+    private static final Comparator<PostSearchHit> BEST_FIRST = Comparator
+            .comparingDouble(PostSearchHit::score)
+            .thenComparingInt(PostSearchHit::no)
+            .reversed();
+
+    private final PostRepository postRepository;
+    private final boolean enabled;
+    private final int titleWeight;
+    private final Timer queryTimer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 단어 사전. 게시글별 자료는 모두 글 번호를 위치로 쓰는 기본형 배열에 둔다.
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private String[] terms = new String[INITIAL_CAPACITY];
+    private PostingList[] postings = new PostingList[INITIAL_CAPACITY];
+    private int[] freeTermIds = new int[INITIAL_CAPACITY];
+    private int freeTermCount;
+    private int nextTermId;
+
+    private int[][] documentTerms = new int[INITIAL_CAPACITY][];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int[] versions = new int[INITIAL_CAPACITY];
+    private int documentCount;
+    private long totalLength;
+
+    private volatile boolean ready;
+
+    public PostSearchIndex(
+            PostRepository postRepository,
+            PostSearchProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.postRepository = postRepository;
+        this.enabled = properties.enabled();
+        this.titleWeight = properties.titleWeight();
+        this.queryTimer = Timer.builder("streamboard.search.query")
+                .register(meterRegistry);
+
+        if (enabled) {
+            gauge(meterRegistry, "documents", index -> index.documentCount, null);
+            gauge(meterRegistry, "terms", index -> index.termIds.size(), null);
+            gauge(meterRegistry, "postings", PostSearchIndex::postingCount, null);
+            gauge(meterRegistry, "bytes", PostSearchIndex::bytes, BaseUnits.BYTES);
+        }
+    }
+
+    // 테이블 전체를 스트리밍으로 읽어 색인한다. 그동안 들어온 쓰기는 버전을 비교해 더 새로운 쪽만 남긴다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        postRepository.findAllWithContent()
+                .doOnNext(post -> index(post.getNo(), post.getVersion(), post.getTitle(), post.getContent()))
+                .count()
+                .subscribe(
+                        count -> {
+                            ready = true;
+                            log.info("Indexed {} posts for search in {} ms", count,
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        },
+                        e -> log.error("Failed to build post search index", e)
+                );
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public void index(Integer no, Integer version, String title, String content) {
+        if (!enabled) {
+            return;
+        }
+
+        // 토큰화는 잠금 밖에서 끝낸다.
+        List<String> titleTokens = PostTokenizer.tokenize(title);
+        List<String> contentTokens = PostTokenizer.tokenize(content);
+        Map<String, Integer> frequencies = new HashMap<>();
+        titleTokens.forEach(token -> frequencies.merge(token, titleWeight, Integer::sum));
+        contentTokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        int length = titleTokens.size() + contentTokens.size();
+
+        lock.writeLock().lock();
+        try {
+            ensureDocumentCapacity(no);
+            int stored = versions[no];
+            if (stored == DELETED || stored > version + 1) {
+                return;
+            }
+
+            unindex(no);
+            int[] ids = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int termId = termId(entry.getKey());
+                postings[termId].put(no, entry.getValue());
+                ids[i++] = termId;
+            }
+            documentTerms[no] = ids;
+            lengths[no] = length;
+            versions[no] = version + 1;
+            documentCount++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer no) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            ensureDocumentCapacity(no);
+            unindex(no);
+            versions[no] = DELETED;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 모든 검색어가 들어 있는 글을 BM25 점수가 높은 순으로 최대 limit개 반환한다.
+    public List<PostSearchHit> search(String query, PostSearchCursor after, int limit) {
+        List<String> tokens = PostTokenizer.tokenize(query).stream()
+                .distinct()
+                .toList();
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        return queryTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return collect(tokens, after, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    private List<PostSearchHit> collect(List<String> tokens, PostSearchCursor after, int limit) {
+        PostingList[] lists = new PostingList[tokens.size()];
+        for (int i = 0; i < lists.length; i++) {
+            Integer termId = termIds.get(tokens.get(i));
+            if (termId == null) {
+                return List.of();
+            }
+            lists[i] = postings[termId];
+        }
+        // 가장 짧은 목록을 기준으로 나머지 목록에서 같은 번호를 건너뛰며 찾는다.
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+        float[] idf = new float[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            int frequency = lists[i].size();
+            idf[i] = (float) Math.log(1 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+        }
+        float averageLength = documentCount == 0 ? 1 : Math.max(1, (float) totalLength / documentCount);
+
+        PriorityQueue<PostSearchHit> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        int[] positions = new int[lists.length];
+        PostingList lead = lists[0];
+        candidates:
+        for (int i = 0; i < lead.size(); i++) {
+            int no = lead.document(i);
+            float normalization = K1 * (1 - B + B * lengths[no] / averageLength);
+            float score = score(lead.frequency(i), idf[0], normalization);
+            for (int t = 1; t < lists.length; t++) {
+                int position = lists[t].advance(positions[t], no);
+                positions[t] = position;
+                if (position == lists[t].size()) {
+                    break candidates;
+                }
+                if (lists[t].document(position) != no) {
+                    continue candidates;
+                }
+                score += score(lists[t].frequency(position), idf[t], normalization);
+            }
+
+            if (after != null && !after.precedes(score, no)) {
+                continue;
+            }
+            if (top.size() == limit && !outranks(score, no, top.peek())) {
+                continue;
+            }
+            top.offer(new PostSearchHit(no, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<PostSearchHit> hits = new ArrayList<>(top);
+        hits.sort(BEST_FIRST);
+        return hits;
+    }
+
+    private static float score(int frequency, float idf, float normalization) {
+        return idf * frequency * (K1 + 1) / (frequency + normalization);
+    }
+
+    private static boolean outranks(float score, int no, PostSearchHit hit) {
+        return score > hit.score() || (score == hit.score() && no > hit.no());
+    }
+
+    private void unindex(int no) {
+        int[] ids = documentTerms[no];
+        if (ids == null) {
+            return;
+        }
+        for (int termId : ids) {
+            PostingList list = postings[termId];
+            list.remove(no);
+            if (list.size() == 0) {
+                releaseTerm(termId);
+            }
+        }
+        documentTerms[no] = null;
+        documentCount--;
+        totalLength -= lengths[no];
+        lengths[no] = 0;
+    }
+
+    private int termId(String term) {
+        Integer existing = termIds.get(term);
+        if (existing != null) {
+            return existing;
+        }
+
+        int termId = freeTermCount > 0 ? freeTermIds[--freeTermCount] : nextTermId++;
+        if (termId == terms.length) {
+            int capacity = terms.length << 1;
+            terms = Arrays.copyOf(terms, capacity);
+            postings = Arrays.copyOf(postings, capacity);
+        }
+        terms[termId] = term;
+        postings[termId] = new PostingList();
+        termIds.put(term, termId);
+        return termId;
+    }
+
+    // 어느 글에도 남지 않은 단어는 사전에서 지우고 번호를 다시 쓴다.
+    private void releaseTerm(int termId) {
+        termIds.remove(terms[termId]);
+        terms[termId] = null;
+        postings[termId] = null;
+        if (freeTermCount == freeTermIds.length) {
+            freeTermIds = Arrays.copyOf(freeTermIds, freeTermIds.length << 1);
+        }
+        freeTermIds[freeTermCount++] = termId;
+    }
+
+    private void ensureDocumentCapacity(int no) {
+        if (no < versions.length) {
+            return;
+        }
+        int capacity = Math.max(no + 1, versions.length + (versions.length >> 1));
+        documentTerms = Arrays.copyOf(documentTerms, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    private double postingCount() {
+        long count = 0;
+        for (int termId = 0; termId < nextTermId; termId++) {
+            if (postings[termId] != null) {
+                count += postings[termId].size();
+            }
+        }
+        return count;
+    }
+
+    private double bytes() {
+        long bytes = (long) versions.length * (Integer.BYTES * 2 + 8)
+                + (long) terms.length * 16
+                + (long) freeTermIds.length * Integer.BYTES;
+        for (int[] ids : documentTerms) {
+            if (ids != null) {
+                bytes += ARRAY_OVERHEAD + (long) ids.length * Integer.BYTES;
+            }
+        }
+        for (int termId = 0; termId < nextTermId; termId++) {
+            if (postings[termId] != null) {
+                bytes += TERM_OVERHEAD + terms[termId].length() * 2L + postings[termId].bytes();
+            }
+        }
+        return bytes;
+    }
+
+    private void gauge(MeterRegistry registry, String name, ToDoubleFunction<PostSearchIndex> value, String unit) {
+        Gauge.builder("streamboard.search.index." + name, this, index -> index.readLocked(value))
+                .baseUnit(unit)
+                .register(registry);
+    }
+
+    private double readLocked(ToDoubleFunction<PostSearchIndex> value) {
+        lock.readLock().lock();
+        try {
+            return value.applyAsDouble(this);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
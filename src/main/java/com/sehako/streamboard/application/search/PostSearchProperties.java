@@ -0,0 +1,11 @@
+package com.sehako.streamboard.application.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.search")
+public record PostSearchProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("3") int titleWeight
+) {
+}
@@ -0,0 +1,71 @@
+package com.sehako.streamboard.application.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 영문과 숫자는 단어 단위로, 한글은 조사가 붙어도 찾을 수 있도록 두 글자씩 겹쳐 자른다.
+// 한 글자짜리 한글 단어만 한 글자 그대로 남긴다.
+final class PostTokenizer {
+    // URL이나 인코딩된 문자열처럼 검색어로 쓰이지 않을 긴 단어는 색인하지 않는다.
+    private static final int MAX_WORD_LENGTH = 40;
+
+    private PostTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int start = 0;
+        while (start < length) {
+            int codePoint = normalized.codePointAt(start);
+            if (!Character.isLetterOrDigit(codePoint)) {
+                start += Character.charCount(codePoint);
+                continue;
+            }
+
+            boolean hangul = isHangul(codePoint);
+            int end = start;
+            while (end < length) {
+                int next = normalized.codePointAt(end);
+                if (!Character.isLetterOrDigit(next) || isHangul(next) != hangul) {
+                    break;
+                }
+                end += Character.charCount(next);
+            }
+
+            if (hangul) {
+                addBigrams(normalized.substring(start, end), tokens);
+            } else if (end - start <= MAX_WORD_LENGTH) {
+                tokens.add(normalized.substring(start, end));
+            }
+            start = end;
+        }
+        return tokens;
+    }
+
+    private static void addBigrams(String run, List<String> tokens) {
+        int count = run.codePointCount(0, run.length());
+        if (count == 1) {
+            tokens.add(run);
+            return;
+        }
+        int first = 0;
+        for (int i = 0; i < count - 1; i++) {
+            int second = run.offsetByCodePoints(first, 1);
+            int third = run.offsetByCodePoints(second, 1);
+            tokens.add(run.substring(first, third));
+            first = second;
+        }
+    }
+
+    private static boolean isHangul(int codePoint) {
+        return Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,79 @@
+package com.sehako.streamboard.application.search;
+
+import java.util.Arrays;
+
+// 한 단어가 나온 글 번호와 가중 빈도를 번호 오름차순으로 담는다. 박싱 없이 int 배열 두 개만 쓴다.
+final class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] documents = new int[INITIAL_CAPACITY];
+    private int[] frequencies = new int[INITIAL_CAPACITY];
+    private int size;
+
+    void put(int document, int frequency) {
+        int index = Arrays.binarySearch(documents, 0, size, document);
+        if (index >= 0) {
+            frequencies[index] = frequency;
+            return;
+        }
+
+        int insertAt = -index - 1;
+        if (size == documents.length) {
+            int capacity = documents.length + (documents.length >> 1) + 1;
+            documents = Arrays.copyOf(documents, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+        // 새 글은 번호가 가장 크므로 대부분 배열 끝에 붙는다.
+        System.arraycopy(documents, insertAt, documents, insertAt + 1, size - insertAt);
+        System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+        documents[insertAt] = document;
+        frequencies[insertAt] = frequency;
+        size++;
+    }
+
+    void remove(int document) {
+        int index = Arrays.binarySearch(documents, 0, size, document);
+        if (index < 0) {
+            return;
+        }
+
+        System.arraycopy(documents, index + 1, documents, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+        size--;
+        if (size > INITIAL_CAPACITY && size < documents.length >> 2) {
+            documents = Arrays.copyOf(documents, documents.length >> 1);
+            frequencies = Arrays.copyOf(frequencies, frequencies.length >> 1);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int document(int index) {
+        return documents[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index];
+    }
+
+    // from 이후에서 document 이상인 첫 위치를 찾는다. 간격을 두 배씩 넓혀 가며 건너뛴 뒤 이진 탐색한다.
+    int advance(int from, int document) {
+        if (from >= size) {
+            return size;
+        }
+        int bound = 1;
+        while (from + bound < size && documents[from + bound] < document) {
+            bound <<= 1;
+        }
+        int low = from + (bound >> 1);
+        int high = Math.min(from + bound + 1, size);
+        int index = Arrays.binarySearch(documents, low, high, document);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    long bytes() {
+        return (long) (documents.length + frequencies.length) * Integer.BYTES;
+    }
+}
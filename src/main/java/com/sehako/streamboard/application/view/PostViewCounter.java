@@ -0,0 +1,229 @@
+package com.sehako.streamboard.application.view;
+
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.infrastructure.PostViewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// 조회수를 글마다 LongAdder에 모아 두고 주기적으로 한 번의 배치 UPDATE로 기록한다.
+// LongAdder는 스레드마다 다른 셀에 더하므로 한 글에 조회가 몰려도 코어 수만큼 나누어 더해진다.
+@Slf4j
+@Component
+public class PostViewCounter {
+    private final PostViewRepository postViewRepository;
+    private final PostViewCounterProperties properties;
+    private final long idleFlushes;
+    private final Map<Integer, Views> counters = new ConcurrentHashMap<>();
+    // 아직 데이터베이스에 기록하지 않은 증가분의 합. 비정상 종료 시 잃을 수 있는 조회수의 상한이다.
+    private final LongAdder pending = new LongAdder();
+    private final AtomicReference<Mono<Void>> flushing = new AtomicReference<>();
+    // max-pending을 넘어 조회가 시작한 기록. 기록이 끝날 때까지 조회마다 새로 구독하지 않는다.
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter flushed;
+    private final Counter dropped;
+    private Disposable flusher;
+
+    public PostViewCounter(
+            PostViewRepository postViewRepository,
+            PostViewCounterProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.postViewRepository = postViewRepository;
+        this.properties = properties;
+        this.idleFlushes = Math.max(1, properties.idleTimeout().toMillis() / properties.flushInterval().toMillis());
+        this.flushed = Counter.builder("streamboard.views.flushed")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("streamboard.views.dropped")
+                .register(meterRegistry);
+        Gauge.builder("streamboard.views.pending", pending, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("streamboard.views.tracked", counters, Map::size)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flusher = Flux.interval(properties.flushInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush())
+                .subscribe();
+    }
+
+    // 진행 중인 기록을 기다린 뒤 남은 증가분을 한 번 더 기록한다. 제한 시간을 넘기면 남은 증가분은 잃는다.
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.dispose();
+        }
+        try {
+            flush().then(flush()).block(properties.shutdownTimeout());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} pending post views on shutdown", pending.sum(), e);
+        }
+    }
+
+    // 조회 한 번을 더하고, stored에 아직 기록되지 않은 증가분을 더한 조회수를 반환한다.
+    // 데이터베이스가 멈춰 기록하지 못한 조회수가 hard-limit에 이르면 더 세지 않고 버린다.
+    public long increment(Integer no, long stored) {
+        if (pending.sum() >= properties.hardLimit()) {
+            dropped.increment();
+            return current(no, stored);
+        }
+
+        Views views = counters.get(no);
+        if (views == null) {
+            views = counters.computeIfAbsent(no, key -> new Views(stored));
+        }
+        views.observe(stored);
+        views.total.increment();
+        if (views.evicted) {
+            views = recount(no, views, stored);
+        }
+        pending.increment();
+
+        if (pending.sum() >= properties.maxPending() && flushRequested.compareAndSet(false, true)) {
+            flush().doFinally(signal -> flushRequested.set(false)).subscribe();
+        }
+        return views.current(stored);
+    }
+
+    // 캐시에서 읽은 오래된 값이어도 이 인스턴스가 기록한 증가분과 대기 중인 증가분이 반영된 조회수를 반환한다.
+    public long current(Integer no, long stored) {
+        Views views = counters.get(no);
+        return views == null ? stored : views.current(stored);
+    }
+
+    public PostRetrieveResponse current(PostRetrieveResponse post) {
+        Views views = counters.get(post.no());
+        return views == null ? post : post.withViews(views.current(post.views()));
+    }
+
+    // 동시에 한 번만 기록한다. 기록 중에 호출하면 진행 중인 기록을 기다린다.
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            Mono<Void> running = flushing.get();
+            if (running != null) {
+                return running;
+            }
+            Mono<Void> next = write()
+                    .doOnTerminate(() -> flushing.set(null))
+                    .cache();
+            return flushing.compareAndSet(null, next) ? next : Mono.empty();
+        });
+    }
+
+    private Mono<Void> write() {
+        return Mono.defer(() -> {
+            List<Integer> nos = new ArrayList<>();
+            List<Long> deltas = new ArrayList<>();
+            List<Views> written = new ArrayList<>();
+            counters.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> {
+                        Views views = entry.getValue();
+                        long delta = views.total.sum() - views.flushed.get().count();
+                        if (delta > 0) {
+                            views.idleFlushes = 0;
+                            nos.add(entry.getKey());
+                            deltas.add(delta);
+                            written.add(views);
+                        } else if (++views.idleFlushes >= idleFlushes) {
+                            evict(entry.getKey(), views);
+                        }
+                    });
+
+            long sum = deltas.stream().mapToLong(Long::longValue).sum();
+            return postViewRepository.addAll(nos, deltas)
+                    .then(Mono.fromRunnable(() -> {
+                        for (int i = 0; i < written.size(); i++) {
+                            written.get(i).flush(deltas.get(i));
+                        }
+                        pending.add(-sum);
+                        flushed.increment(sum);
+                    }))
+                    .onErrorResume(e -> {
+                        log.warn("Failed to flush {} post views, retrying on next flush", sum, e);
+                        return Mono.empty();
+                    })
+                    .then();
+        });
+    }
+
+    // 한동안 조회되지 않은 글의 카운터를 지운다. 표시를 남긴 뒤에 합을 읽으므로, 그 사이에 더해진 조회는
+    // 합에 들어가 지우지 않거나, 더한 쪽이 표시를 보고 recount로 새 카운터에 다시 더한다.
+    private void evict(Integer no, Views views) {
+        counters.computeIfPresent(no, (key, current) -> {
+            if (current != views) {
+                return current;
+            }
+            views.evicted = true;
+            if (views.total.sum() > views.flushed.get().count()) {
+                views.evicted = false;
+                views.idleFlushes = 0;
+                return current;
+            }
+            return null;
+        });
+    }
+
+    // 카운터가 맵에 남아 있으면 이미 더한 조회가 다음 기록에 들어간다. 지워졌다면 지울 때 읽은 합에 들어가지 않았다.
+    private Views recount(Integer no, Views views, long stored) {
+        return counters.compute(no, (key, current) -> {
+            if (current == views) {
+                return current;
+            }
+            Views next = current == null ? new Views(stored) : current;
+            next.total.increment();
+            return next;
+        });
+    }
+
+    private static final class Views {
+        private final LongAdder total = new LongAdder();
+        private final AtomicReference<Flushed> flushed;
+        // 기록하는 스레드만 읽고 쓴다.
+        private int idleFlushes;
+        private volatile boolean evicted;
+
+        private Views(long stored) {
+            this.flushed = new AtomicReference<>(new Flushed(stored, 0));
+        }
+
+        // 데이터베이스에서 더 큰 값을 읽었다면 다른 인스턴스의 증가분이므로 기준값을 올린다.
+        private void observe(long stored) {
+            Flushed current = flushed.get();
+            while (stored > current.stored() && !flushed.compareAndSet(current, new Flushed(stored, current.count()))) {
+                current = flushed.get();
+            }
+        }
+
+        private void flush(long delta) {
+            flushed.updateAndGet(current -> new Flushed(current.stored() + delta, current.count() + delta));
+        }
+
+        private long current(long stored) {
+            Flushed snapshot = flushed.get();
+            return Math.max(stored, snapshot.stored()) + total.sum() - snapshot.count();
+        }
+    }
+
+    // stored는 데이터베이스에 기록된 것으로 확인한 최소 조회수, count는 이 카운터가 기록한 증가분의 합이다.
+    private record Flushed(long stored, long count) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.sehako.streamboard.application.view;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.view-counter")
+public record PostViewCounterProperties(
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("10000") long maxPending,
+        @DefaultValue("1000000") long hardLimit,
+        @DefaultValue("1m") Duration idleTimeout,
+        @DefaultValue("5s") Duration shutdownTimeout
+) {
+}
@@ -0,0 +1,14 @@
+package com.sehako.streamboard.application.write;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.write-batch")
+public record PostWriteBatchProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64") int maxBatchSize,
+        @DefaultValue("5ms") Duration window,
+        @DefaultValue("2") int concurrency
+) {
+}
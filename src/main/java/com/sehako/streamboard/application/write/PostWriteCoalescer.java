@@ -0,0 +1,123 @@
+package com.sehako.streamboard.application.write;
+
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.infrastructure.PostBatchRepository;
+import com.sehako.streamboard.infrastructure.domain.Post;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.EmitFailureHandler;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostWriteCoalescer {
+    private static final Duration EMIT_TIMEOUT = Duration.ofSeconds(1);
+
+    private final PostBatchRepository postBatchRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final PostWriteBatchProperties properties;
+
+    private final Sinks.Many<PendingWrite> pending = Sinks.many().unicast().onBackpressureBuffer();
+    private Disposable worker;
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        worker = pending.asFlux()
+                .bufferTimeout(properties.maxBatchSize(), properties.window(), true)
+                .flatMap(this::flush, properties.concurrency())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker == null) {
+            return;
+        }
+        // 남은 요청은 마지막 배치로 기록된다.
+        pending.emitComplete(EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+    }
+
+    public Mono<PostRetrieveResponse> submit(PostWriteRequest request) {
+        return Mono.defer(() -> {
+            Sinks.One<PostRetrieveResponse> result = Sinks.one();
+            pending.emitNext(new PendingWrite(request.toEntity(), result), EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+            return result.asMono();
+        });
+    }
+
+    private Mono<Void> flush(List<PendingWrite> batch) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        return insert(batch, createdAt)
+                .doOnNext(nos -> complete(batch, nos, createdAt))
+                .then()
+                .onErrorResume(e -> {
+                    if (batch.size() == 1) {
+                        batch.get(0).result().tryEmitError(e);
+                        return Mono.empty();
+                    }
+
+                    // 한 건의 실패가 같은 배치의 다른 요청까지 실패시키지 않도록 한 건씩 다시 기록한다.
+                    log.warn("Batch insert of {} posts failed, retrying individually", batch.size(), e);
+                    return Flux.fromIterable(batch)
+                            .concatMap(write -> insert(List.of(write), createdAt)
+                                    .doOnNext(nos -> complete(List.of(write), nos, createdAt))
+                                    .then()
+                                    .onErrorResume(error -> {
+                                        write.result().tryEmitError(error);
+                                        return Mono.empty();
+                                    }))
+                            .then();
+                });
+    }
+
+    private Mono<List<Integer>> insert(List<PendingWrite> batch, LocalDateTime createdAt) {
+        List<Post> posts = batch.stream()
+                .map(PendingWrite::post)
+                .toList();
+
+        // collectList는 트랜잭션이 커밋된 뒤에 값을 내보내므로, 호출자는 커밋된 번호만 받는다.
+        return transactionalOperator.transactional(postBatchRepository.insertAll(posts, createdAt))
+                .collectList();
+    }
+
+    private void complete(List<PendingWrite> batch, List<Integer> nos, LocalDateTime createdAt) {
+        if (nos.size() != batch.size()) {
+            IllegalStateException e = new IllegalStateException(
+                    "Expected " + batch.size() + " generated keys but received " + nos.size());
+            batch.forEach(write -> write.result().tryEmitError(e));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingWrite write = batch.get(i);
+            write.result().tryEmitValue(
+                    PostRetrieveResponse.created(nos.get(i), write.post().getTitle(), createdAt)
+            );
+        }
+    }
+
+    private record PendingWrite(
+            Post post,
+            Sinks.One<PostRetrieveResponse> result
+    ) {
+    }
+}
@@ -0,0 +1,388 @@
+package com.sehako.streamboard.application.write;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+import com.sehako.streamboard.infrastructure.PostBatchRepository;
+import com.sehako.streamboard.infrastructure.PostIdBlockRepository;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.infrastructure.domain.Post;
+import com.sehako.streamboard.infrastructure.journal.JournalEntry;
+import com.sehako.streamboard.infrastructure.journal.PostJournal;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Schedulers;
+
+// 글 작성을 로컬 저널에 fsync한 뒤에 응답하고, 데이터베이스에는 백그라운드에서 저널 순서대로 나누어 기록한다.
+// 번호는 데이터베이스에서 미리 예약한 블록에서 매기므로 기록하기 전에도 정해진다.
+// 아직 기록되지 않은 글은 메모리에 남겨 두고 상세 조회에 사용한다.
+@Slf4j
+@Component
+public class PostWriteJournal {
+    // post.title은 VARCHAR(100), post.content와 post_content.content는 TEXT다. 나머지 NOT NULL 컬럼은 저널이나 기본값이 채운다.
+    // 데이터베이스에 기록하기 전에 응답하므로 기록이 실패할 글은 미리 거절한다.
+    private static final int MAX_TITLE_LENGTH = 100;
+    private static final int MAX_CONTENT_BYTES = 65_535;
+
+    private final PostWriteJournalProperties properties;
+    private final PostBatchRepository postBatchRepository;
+    private final PostIdBlockRepository postIdBlockRepository;
+    private final PostRepository postRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final PostJournal journal;
+    private final Counter drained;
+    private final Counter deadLettered;
+
+    // 시퀀스 순서. 데이터베이스에 기록되면 지운다.
+    private final ConcurrentSkipListMap<Long, Pending> pending = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Pending> pendingByNo = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicReference<Mono<Void>> refilling = new AtomicReference<>();
+    private volatile Consumer<JournalEntry> drainListener = entry -> {
+    };
+
+    // 현재 블록 [nextNo, endNo)과 미리 받아 둔 다음 블록. this로 보호한다.
+    private int nextNo;
+    private int endNo;
+    private int reservedNo;
+    private Disposable drainer;
+
+    public PostWriteJournal(
+            PostWriteJournalProperties properties,
+            PostBatchRepository postBatchRepository,
+            PostIdBlockRepository postIdBlockRepository,
+            PostRepository postRepository,
+            TransactionalOperator transactionalOperator,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.postBatchRepository = postBatchRepository;
+        this.postIdBlockRepository = postIdBlockRepository;
+        this.postRepository = postRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.drained = Counter.builder("streamboard.journal.drained").register(meterRegistry);
+        this.deadLettered = Counter.builder("streamboard.journal.dead.lettered").register(meterRegistry);
+
+        if (!properties.enabled()) {
+            this.journal = null;
+            return;
+        }
+        this.journal = new PostJournal(properties.directory(), properties.segmentSize().toBytes());
+        for (JournalEntry entry : journal.recovered()) {
+            track(entry);
+        }
+        if (properties.replayDeadLetters()) {
+            replayDeadLetters();
+        }
+        Gauge.builder("streamboard.journal.pending", pending, Map::size)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    // 데이터베이스에 기록된 글을 기록한 순서대로 받는다. 건너뛴 글은 받지 않는다.
+    public void onDrained(Consumer<JournalEntry> listener) {
+        this.drainListener = listener;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        drainer = Flux.interval(properties.drainInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain()
+                        .onErrorResume(e -> {
+                            log.warn("Failed to drain post journal, retrying", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    // 남은 글을 모두 기록하고 닫는다. 기록하지 못한 글은 다음에 시작할 때 저널에서 다시 읽는다.
+    @PreDestroy
+    public void stop() {
+        if (journal == null) {
+            return;
+        }
+        if (drainer != null) {
+            drainer.dispose();
+        }
+        try {
+            drain().block(properties.shutdownTimeout());
+        } catch (RuntimeException e) {
+            log.warn("Failed to drain post journal on shutdown, {} posts remain in the journal", pending.size(), e);
+        } finally {
+            journal.close();
+        }
+    }
+
+    public Mono<PostRetrieveResponse> append(PostWriteRequest request) {
+        return Mono.defer(() -> {
+            if (!fits(request)) {
+                return Mono.error(new ApplicationException(ErrorCode.INVALID_PARAMETER));
+            }
+            JournalEntry entry = tryAppend(request);
+            if (entry == null) {
+                return refill().then(append(request));
+            }
+            return journal.sync(entry.sequence())
+                    .thenReturn(PostRetrieveResponse.created(entry.no(), entry.title(), entry.createdAt()));
+        });
+    }
+
+    // fsync가 끝난 글만 보여 준다. 아직 응답하지 않은 글이 먼저 보이지 않게 한다.
+    public Optional<PostDetailRetrieveResponse> find(Integer no) {
+        if (journal == null) {
+            return Optional.empty();
+        }
+        Pending found = pendingByNo.get(no);
+        if (found == null || found.entry().sequence() > journal.syncedSequence()) {
+            return Optional.empty();
+        }
+        JournalEntry entry = found.entry();
+        return Optional.of(new PostDetailRetrieveResponse(
+                entry.no(), entry.title(), entry.content(), entry.createdAt(), 0, 0L
+        ));
+    }
+
+    // 수정이나 삭제가 아직 기록되지 않은 글을 놓치지 않도록, 그 글이 데이터베이스에 기록될 때까지 기다린다.
+    // 데이터베이스가 멈춰 기록이 밀리면 요청을 붙잡아 두지 않고 503으로 응답한다.
+    public Mono<Void> awaitDrained(Integer no) {
+        if (journal == null) {
+            return Mono.empty();
+        }
+        Pending found = pendingByNo.get(no);
+        if (found == null) {
+            return Mono.empty();
+        }
+        return found.drained().asMono()
+                .timeout(properties.awaitTimeout(),
+                        Mono.error(() -> new ApplicationException(ErrorCode.WRITE_PENDING)));
+    }
+
+    // 원인을 고친 뒤 replay-dead-letters를 켜고 다시 시작하면, 건너뛴 글을 같은 번호로 저널 끝에 다시 넣어 기록한다.
+    // 저널에 fsync한 뒤에 보관 파일을 옮기므로 그 사이에 멈춰도 글을 잃지 않고, 이미 기록된 글은 번호로 걸러진다.
+    private void replayDeadLetters() {
+        List<JournalEntry> deadLetters = journal.deadLetters();
+        if (deadLetters.isEmpty()) {
+            return;
+        }
+        JournalEntry last = null;
+        for (JournalEntry deadLetter : deadLetters) {
+            last = journal.append(deadLetter.no(), deadLetter.title(), deadLetter.content(), deadLetter.createdAt());
+            track(last);
+        }
+        journal.sync(last.sequence()).block(properties.shutdownTimeout());
+        journal.clearDeadLetters();
+        log.info("Replaying {} dead-lettered journal entries", deadLetters.size());
+    }
+
+    private static boolean fits(PostWriteRequest request) {
+        String title = request.title();
+        String content = request.content();
+        return (title == null || title.codePointCount(0, title.length()) <= MAX_TITLE_LENGTH)
+                && (content == null || content.getBytes(StandardCharsets.UTF_8).length <= MAX_CONTENT_BYTES);
+    }
+
+    // 번호를 매기는 것과 저널에 추가하는 것을 같은 잠금 안에서 하므로 번호 순서와 저널 순서가 같다.
+    private synchronized JournalEntry tryAppend(PostWriteRequest request) {
+        if (nextNo == endNo) {
+            if (reservedNo == 0) {
+                return null;
+            }
+            nextNo = reservedNo;
+            endNo = reservedNo + properties.idBlockSize();
+            reservedNo = 0;
+        }
+
+        JournalEntry entry = journal.append(nextNo++, request.title(), request.content(), LocalDateTime.now());
+        track(entry);
+        // 블록을 절반 쓰면 다음 블록을 미리 받아 둔다.
+        if (reservedNo == 0 && endNo - nextNo < properties.idBlockSize() / 2) {
+            refill().subscribe(null, e -> log.warn("Failed to reserve post id block", e));
+        }
+        return entry;
+    }
+
+    private Mono<Void> refill() {
+        return Mono.defer(() -> {
+            Mono<Void> current = refilling.get();
+            if (current != null) {
+                return current;
+            }
+            Mono<Void> started = postIdBlockRepository.reserve(properties.idBlockSize())
+                    .doOnNext(this::store)
+                    .then()
+                    .doOnTerminate(() -> refilling.set(null))
+                    .cache();
+            return refilling.compareAndSet(null, started) ? started : refill();
+        });
+    }
+
+    private synchronized void store(int start) {
+        if (nextNo == endNo) {
+            nextNo = start;
+            endNo = start + properties.idBlockSize();
+        } else {
+            reservedNo = start;
+        }
+    }
+
+    private void track(JournalEntry entry) {
+        Pending tracked = new Pending(entry, Sinks.empty(), new AtomicInteger());
+        pending.put(entry.sequence(), tracked);
+        pendingByNo.put(entry.no(), tracked);
+    }
+
+    // fsync가 끝난 글을 시퀀스 순서대로 한 묶음씩 기록한다. 체크포인트는 기록이 커밋된 뒤에 남기므로,
+    // 그 사이에 멈추면 다음 시작 때 같은 글을 다시 읽지만 이미 있는 번호를 걸러 한 번만 기록된다.
+    Mono<Void> drain() {
+        return Mono.defer(() -> {
+            if (!draining.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            return Mono.defer(this::drainOnce)
+                    .repeat()
+                    .takeWhile(more -> more)
+                    .then()
+                    .doFinally(signal -> draining.set(false));
+        });
+    }
+
+    private Mono<Boolean> drainOnce() {
+        List<Pending> batch = pending.headMap(journal.syncedSequence(), true).values().stream()
+                .limit(properties.maxBatchSize())
+                .toList();
+        if (batch.isEmpty()) {
+            return Mono.just(false);
+        }
+
+        boolean more = batch.size() == properties.maxBatchSize();
+        return write(batch.stream().map(Pending::entry).toList())
+                .publishOn(Schedulers.boundedElastic())
+                .then(Mono.fromRunnable(() -> finish(batch, true)))
+                .thenReturn(more)
+                .onErrorResume(PostWriteJournal::rejected, e -> {
+                    log.warn("Failed to drain post journal batch, writing posts one by one", e);
+                    return drainEach(batch).thenReturn(more);
+                });
+    }
+
+    // 묶음에 기록할 수 없는 글이 섞여 있으면 한 글씩 기록해 그 글을 찾는다. 앞의 글은 기록하고 그 글에서 멈추며,
+    // 같은 글이 max-attempts번 실패하면 건너뛰어 뒤의 글이 계속 기록되게 한다.
+    private Mono<Void> drainEach(List<Pending> batch) {
+        return Flux.fromIterable(batch)
+                .concatMap(item -> write(List.of(item.entry()))
+                        .thenReturn(true)
+                        .onErrorResume(PostWriteJournal::rejected, e -> {
+                            if (item.attempts().incrementAndGet() < properties.maxAttempts()) {
+                                return Mono.error(e);
+                            }
+                            JournalEntry entry = item.entry();
+                            log.error("Moving journaled post no={}, title={} to dead letters after {} failed attempts",
+                                    entry.no(), entry.title(), item.attempts().get(), e);
+                            return Mono.just(false);
+                        })
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(written -> finish(List.of(item), written)))
+                .then();
+    }
+
+    // 연결이 끊기는 것처럼 글과 상관없는 실패는 건너뛰지 않고 다음 주기에 다시 기록한다.
+    private static boolean rejected(Throwable e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof DataAccessResourceFailureException);
+    }
+
+    private Mono<Void> write(List<JournalEntry> entries) {
+        return transactionalOperator.transactional(withoutExisting(entries)
+                .flatMap(remaining -> remaining.isEmpty()
+                        ? Mono.<Void>empty()
+                        : postBatchRepository.insertJournaled(remaining)));
+    }
+
+    // 건너뛴 글은 이미 201로 응답했으므로, 체크포인트가 세그먼트를 지우기 전에 보관 파일에 먼저 남긴다.
+    private void finish(List<Pending> items, boolean written) {
+        if (!written) {
+            journal.deadLetter(items.stream().map(Pending::entry).toList());
+        }
+        journal.checkpoint(items.get(items.size() - 1).entry().sequence());
+        for (Pending done : items) {
+            pending.remove(done.entry().sequence());
+            pendingByNo.remove(done.entry().no(), done);
+            done.drained().tryEmitEmpty();
+        }
+        if (!written) {
+            deadLettered.increment(items.size());
+            return;
+        }
+        drained.increment(items.size());
+        for (Pending done : items) {
+            try {
+                drainListener.accept(done.entry());
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish drained post no={}", done.entry().no(), e);
+            }
+        }
+    }
+
+    // 체크포인트를 남기기 전에 멈췄다가 다시 기록하는 글이나, 묶음이 실패한 뒤 한 글씩 다시 기록하는 글이 있으므로
+    // 항상 이미 있는 번호를 거른다. 같은 번호의 행이 있어도 제목과 본문이 다르면 이 글이 아니므로, 건너뛰지 않고
+    // 기록할 수 없는 글로 실패시켜 한 글씩 다시 기록하는 경로에서 보관되게 한다.
+    private Mono<List<JournalEntry>> withoutExisting(List<JournalEntry> entries) {
+        Map<Integer, JournalEntry> byNo = entries.stream()
+                .collect(Collectors.toMap(JournalEntry::no, Function.identity()));
+        return postRepository.findAllByNos(byNo.keySet())
+                .handle((Post post, SynchronousSink<Integer> sink) -> {
+                    JournalEntry entry = byNo.get(post.getNo());
+                    if (!Objects.equals(entry.title(), post.getTitle())
+                            || !Objects.equals(entry.content(), post.getContent())) {
+                        sink.error(new DataIntegrityViolationException(
+                                "Post no=" + post.getNo() + " is taken by a post that is not in the journal"));
+                        return;
+                    }
+                    sink.next(post.getNo());
+                })
+                .collect(Collectors.toSet())
+                .map(existing -> entries.stream()
+                        .filter(entry -> !existing.contains(entry.no()))
+                        .toList());
+    }
+
+    private record Pending(JournalEntry entry, Sinks.Empty<Void> drained, AtomicInteger attempts) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.sehako.streamboard.application.write;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties("streamboard.write-journal")
+public record PostWriteJournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("journal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("1000") int idBlockSize,
+        @DefaultValue("256") int maxBatchSize,
+        @DefaultValue("10ms") Duration drainInterval,
+        @DefaultValue("10s") Duration shutdownTimeout,
+        @DefaultValue("5s") Duration awaitTimeout,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("false") boolean replayDeadLetters
+) {
+}
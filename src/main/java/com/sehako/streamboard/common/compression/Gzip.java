@@ -0,0 +1,136 @@
+package com.sehako.streamboard.common.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+// JDK에 포함된 gzip만 쓴다. brotli는 JDK에 구현이 없어 네이티브 라이브러리가 필요하다.
+public final class Gzip {
+    public static final String ENCODING = "gzip";
+    private static final int BUFFER_SIZE = 8192;
+
+    private Gzip() {
+    }
+
+    public static byte[] compress(byte[] data, int level) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new LeveledGzipOutputStream(out, level)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] decompress(ByteBuffer data) {
+        try (InputStream gzip = inputStream(data)) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 필요한 만큼만 풀어 읽을 수 있도록 스트림으로 연다.
+    public static InputStream inputStream(ByteBuffer data) {
+        InputStream source = data.hasArray()
+                ? new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining())
+                : new ByteArrayInputStream(copy(data));
+        try {
+            return new GZIPInputStream(source, BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // gzip 트레일러의 마지막 4바이트(ISIZE)에 원래 크기가 리틀 엔디언으로 들어 있어 풀지 않고도 크기를 알 수 있다.
+    // 4GB를 넘는 데이터는 나머지 값만 남지만 본문은 그보다 훨씬 작다.
+    public static long uncompressedSize(ByteBuffer data) {
+        int end = data.limit();
+        long size = 0;
+        for (int i = 1; i <= Integer.BYTES; i++) {
+            size = (size << Byte.SIZE) | (data.get(end - i) & 0xFF);
+        }
+        return size;
+    }
+
+    // 청크로 나뉘어 도착하는 gzip 데이터를 받는 대로 푼다.
+    public static StreamInflater streamInflater() {
+        return new StreamInflater();
+    }
+
+    private static byte[] copy(ByteBuffer data) {
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return bytes;
+    }
+
+    // 한 번 압축해 여러 번 읽는 데이터는 압축 수준을 높여도 비용이 한 번만 든다.
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        private LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+
+    // GZIPOutputStream이 쓰는 플래그 없는 10바이트 헤더만 읽는다. 트레일러는 확인하지 않는다.
+    public static final class StreamInflater implements AutoCloseable {
+        private static final int HEADER_SIZE = 10;
+        private static final byte[] EMPTY = new byte[0];
+
+        private final Inflater inflater = new Inflater(true);
+        private final byte[] header = new byte[HEADER_SIZE];
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int headerRead;
+
+        private StreamInflater() {
+        }
+
+        public byte[] inflate(ByteBuffer chunk) {
+            ByteBuffer input = chunk.duplicate();
+            if (headerRead < HEADER_SIZE) {
+                int read = Math.min(HEADER_SIZE - headerRead, input.remaining());
+                input.get(header, headerRead, read);
+                headerRead += read;
+                if (headerRead < HEADER_SIZE) {
+                    return EMPTY;
+                }
+                checkHeader();
+            }
+            if (inflater.finished() || !input.hasRemaining()) {
+                return EMPTY;
+            }
+
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+            try {
+                int inflated;
+                while ((inflated = inflater.inflate(buffer)) > 0) {
+                    out.write(buffer, 0, inflated);
+                }
+            } catch (DataFormatException e) {
+                throw new UncheckedIOException(new ZipException(e.getMessage()));
+            }
+            return out.toByteArray();
+        }
+
+        private void checkHeader() {
+            if ((header[0] & 0xFF) != 0x1F || (header[1] & 0xFF) != 0x8B || header[2] != 8 || header[3] != 0) {
+                throw new UncheckedIOException(new ZipException("Unsupported gzip header"));
+            }
+        }
+
+        @Override
+        public void close() {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.sehako.streamboard.common.configuration;
+
+import com.sehako.streamboard.infrastructure.domain.PostReadingConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+public class R2dbcConversionConfiguration {
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(DatabaseClient databaseClient) {
+        return R2dbcCustomConversions.of(
+                DialectResolver.getDialect(databaseClient.getConnectionFactory()),
+                new PostReadingConverter()
+        );
+    }
+}
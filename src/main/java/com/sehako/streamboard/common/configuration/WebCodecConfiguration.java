@@ -0,0 +1,50 @@
+package com.sehako.streamboard.common.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sehako.streamboard.common.response.JsonResponseEncoder;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+// JSON 외에 같은 응답을 CBOR와 Smile로도 보낸다. 바이너리 형식도 JSON과 같은 Jackson 설정으로 직렬화하므로
+// 필드 이름과 날짜 형식이 같고, 형식은 Accept 헤더로 고른다.
+@Configuration
+public class WebCodecConfiguration implements WebFluxConfigurer {
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final ResponseMessages responseMessages;
+    private final MeterRegistry meterRegistry;
+
+    public WebCodecConfiguration(
+            ObjectMapper objectMapper,
+            Jackson2ObjectMapperBuilder objectMapperBuilder,
+            ResponseMessages responseMessages,
+            MeterRegistry meterRegistry
+    ) {
+        this.objectMapper = objectMapper;
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        this.smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        this.responseMessages = responseMessages;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs()
+                .jackson2JsonEncoder(new JsonResponseEncoder(objectMapper, responseMessages, meterRegistry));
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+        configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+    }
+}
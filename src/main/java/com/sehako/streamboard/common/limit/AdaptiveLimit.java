@@ -0,0 +1,88 @@
+package com.sehako.streamboard.common.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 지연 시간의 기울기로 동시 처리 한도를 조정한다. Netflix concurrency-limits의 Gradient2와 같은 방식이다.
+// 최근 지연이 평소 지연보다 길어지면 그 비율만큼 한도를 줄이고, 그렇지 않으면 sqrt(한도)만큼 여유를 두고 늘린다.
+final class AdaptiveLimit {
+    private static final double MIN_GRADIENT = 0.5;
+    // 평소 지연이 최근 지연보다 이만큼 길면 과부하가 끝난 것으로 보고 평소 지연을 빠르게 낮춘다.
+    private static final double RECOVERY_RATIO = 2.0;
+    private static final double RECOVERY_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double longWeight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    // 평소 지연의 지수 이동 평균(나노초). update에서만 읽고 쓴다.
+    private double longRtt;
+
+    AdaptiveLimit(ConcurrencyLimitProperties.Budget budget, ConcurrencyLimitProperties properties) {
+        this.minLimit = budget.minLimit();
+        this.maxLimit = budget.maxLimit();
+        this.tolerance = properties.tolerance();
+        this.smoothing = properties.smoothing();
+        this.longWeight = 1.0 / properties.longWindow();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, budget.initialLimit()));
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        update(rttNanos, current);
+    }
+
+    // 취소된 요청은 끝까지 처리되지 않았으므로 지연 시간을 반영하지 않는다.
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtRelease) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+            return;
+        }
+
+        longRtt = longRtt * (1 - longWeight) + rttNanos * longWeight;
+        if (longRtt / rttNanos > RECOVERY_RATIO) {
+            longRtt *= RECOVERY_DECAY;
+        }
+
+        // 한도의 절반도 쓰지 않는 동안에는 지연이 한도 때문에 생긴 것이 아니므로 한도를 늘리지 않는다.
+        double current = limit;
+        if (inFlightAtRelease < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / rttNanos));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
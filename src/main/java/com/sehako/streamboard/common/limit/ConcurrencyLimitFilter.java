@@ -0,0 +1,116 @@
+package com.sehako.streamboard.common.limit;
+
+import com.sehako.streamboard.common.response.message.ResponseEnvelope;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Locale;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+// 데이터베이스가 느려지면 커넥션을 기다리는 요청이 쌓여 한꺼번에 시간 초과되므로,
+// 한도를 넘는 요청은 대기열에 넣지 않고 바로 OVERLOADED 코드의 503으로 돌려보낸다. 읽기와 쓰기는 서로의 한도를 잠식하지 않도록 따로 센다.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "streamboard.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitFilter implements WebFilter {
+    private static final String ACTUATOR_PATH = "/actuator";
+
+    private final AdaptiveLimit readLimit;
+    private final AdaptiveLimit writeLimit;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+    private final String retryAfter;
+    private final ResponseMessages responseMessages;
+
+    public ConcurrencyLimitFilter(
+            ConcurrencyLimitProperties properties,
+            ResponseMessages responseMessages,
+            MeterRegistry meterRegistry
+    ) {
+        this.responseMessages = responseMessages;
+        this.readLimit = new AdaptiveLimit(properties.read(), properties);
+        this.writeLimit = new AdaptiveLimit(properties.write(), properties);
+        this.readRejected = register(meterRegistry, "read", readLimit);
+        this.writeRejected = register(meterRegistry, "write", writeLimit);
+        this.retryAfter = String.valueOf(Math.max(1, (properties.retryAfter().toMillis() + 999) / 1000));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (exempt(request)) {
+            return chain.filter(exchange);
+        }
+
+        boolean read = HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod());
+        AdaptiveLimit limit = read ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            (read ? readRejected : writeRejected).increment();
+            return reject(exchange);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        limit.release();
+                    } else {
+                        limit.release(System.nanoTime() - start);
+                    }
+                });
+    }
+
+    // 이벤트 스트림은 연결이 오래 유지되어 한도를 붙잡고 지연 시간을 왜곡하므로 세지 않는다.
+    private boolean exempt(ServerHttpRequest request) {
+        if (HttpMethod.OPTIONS.equals(request.getMethod())
+                || request.getPath().pathWithinApplication().value().startsWith(ACTUATOR_PATH)) {
+            return true;
+        }
+        return request.getHeaders().getAccept().stream()
+                .anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+    }
+
+    // 컨트롤러를 거치지 않으므로 미리 직렬화된 봉투 앞부분에 '}'만 붙여 다른 오류와 같은 본문을 쓴다.
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        Locale locale = exchange.getLocaleContext().getLocale();
+        ResponseEnvelope envelope = responseMessages.get(ErrorCode.OVERLOADED, locale);
+        byte[] body = Arrays.copyOf(envelope.prefix(), envelope.prefix().length + 1);
+        body[body.length - 1] = '}';
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(ErrorCode.OVERLOADED.getStatus());
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private static Counter register(MeterRegistry meterRegistry, String budget, AdaptiveLimit limit) {
+        Gauge.builder("streamboard.concurrency.limit", limit, AdaptiveLimit::limit)
+                .tag("budget", budget)
+                .register(meterRegistry);
+        Gauge.builder("streamboard.concurrency.inflight", limit, AdaptiveLimit::inFlight)
+                .tag("budget", budget)
+                .register(meterRegistry);
+        return Counter.builder("streamboard.concurrency.rejected")
+                .tag("budget", budget)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.sehako.streamboard.common.limit;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue Budget read,
+        @DefaultValue Budget write,
+        @DefaultValue("2.0") double tolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("100") int longWindow,
+        @DefaultValue("1s") Duration retryAfter
+) {
+    public record Budget(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("200") int maxLimit
+    ) {
+    }
+}
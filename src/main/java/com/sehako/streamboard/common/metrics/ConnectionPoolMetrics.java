@@ -0,0 +1,52 @@
+package com.sehako.streamboard.common.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import java.util.function.ToDoubleFunction;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ConnectionPoolMetrics implements MeterBinder {
+    private static final String PREFIX = "streamboard.r2dbc.pool.";
+
+    private final ConnectionFactory connectionFactory;
+
+    public ConnectionPoolMetrics(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ConnectionPool pool = unwrap(connectionFactory);
+        if (pool == null) {
+            return;
+        }
+        pool.getMetrics().ifPresent(metrics -> {
+            gauge(registry, metrics, "acquired", PoolMetrics::acquiredSize);
+            gauge(registry, metrics, "allocated", PoolMetrics::allocatedSize);
+            gauge(registry, metrics, "idle", PoolMetrics::idleSize);
+            gauge(registry, metrics, "pending", PoolMetrics::pendingAcquireSize);
+            gauge(registry, metrics, "max.allocated", PoolMetrics::getMaxAllocatedSize);
+        });
+    }
+
+    private void gauge(MeterRegistry registry, PoolMetrics metrics, String name, ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder(PREFIX + name, metrics, value)
+                .register(registry);
+    }
+
+    public static ConnectionPool unwrap(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof ConnectionPool pool) {
+            return pool;
+        }
+        if (connectionFactory instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory inner) {
+            return unwrap(inner);
+        }
+        return null;
+    }
+}
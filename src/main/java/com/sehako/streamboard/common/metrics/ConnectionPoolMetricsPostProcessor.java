@@ -0,0 +1,31 @@
+package com.sehako.streamboard.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+// 복제본 라우팅처럼 커넥션 팩토리를 다시 감싸는 후처리기보다 먼저 풀을 감싼다.
+@Component
+public class ConnectionPoolMetricsPostProcessor implements BeanPostProcessor, Ordered {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConnectionPoolMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ConnectionPool pool) {
+            return new TimedConnectionFactory(pool, meterRegistry);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
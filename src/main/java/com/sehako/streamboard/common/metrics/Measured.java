@@ -0,0 +1,13 @@
+package com.sehako.streamboard.common.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 붙인 타입의 메서드가 반환하는 Mono/Flux를 streamboard.<value>.* 지표로 측정한다.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Measured {
+    String value();
+}
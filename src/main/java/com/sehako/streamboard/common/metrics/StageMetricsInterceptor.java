@@ -0,0 +1,119 @@
+package com.sehako.streamboard.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+// 반환된 Mono/Flux를 구독한 시점부터 끝날 때까지를 잰다.
+// 태그는 @Measured가 붙은 타입 이름, 메서드 이름, 결과로만 만들어 개수가 코드에 있는 메서드 수를 넘지 않는다.
+final class StageMetricsInterceptor implements MethodInterceptor {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, StageMeters> meters = new ConcurrentHashMap<>();
+
+    StageMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (result instanceof Mono<?> mono) {
+            return measure(mono, metersOf(invocation));
+        }
+        if (result instanceof Flux<?> flux) {
+            return measure(flux, metersOf(invocation));
+        }
+        return result;
+    }
+
+    private <T> Mono<T> measure(Mono<T> source, StageMeters stageMeters) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong rows = new AtomicLong();
+            return source.doOnNext(value -> rows.incrementAndGet())
+                    .doFinally(signal -> stageMeters.record(signal, System.nanoTime() - start, rows.get()));
+        });
+    }
+
+    private <T> Flux<T> measure(Flux<T> source, StageMeters stageMeters) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong rows = new AtomicLong();
+            return source.doOnNext(value -> rows.incrementAndGet())
+                    .doFinally(signal -> stageMeters.record(signal, System.nanoTime() - start, rows.get()));
+        });
+    }
+
+    private StageMeters metersOf(MethodInvocation invocation) {
+        return meters.computeIfAbsent(invocation.getMethod(), method -> {
+            // 리포지토리는 프록시 클래스가 넘어오므로 애너테이션이 선언된 인터페이스를 찾아 이름을 쓴다.
+            MergedAnnotation<Measured> measured = MergedAnnotations
+                    .from(invocation.getThis().getClass(), SearchStrategy.TYPE_HIERARCHY)
+                    .get(Measured.class);
+            String stage = measured.isPresent() ? measured.getString("value") : "unknown";
+            String type = measured.getSource() instanceof Class<?> source
+                    ? source.getSimpleName()
+                    : invocation.getThis().getClass().getSimpleName();
+            return StageMeters.register(meterRegistry.getObject(), stage, type, method.getName());
+        });
+    }
+
+    private record StageMeters(
+            Timer success,
+            Timer error,
+            Timer cancel,
+            DistributionSummary rows
+    ) {
+        static StageMeters register(MeterRegistry registry, String stage, String type, String operation) {
+            String duration = "streamboard." + stage + ".duration";
+            return new StageMeters(
+                    timer(registry, duration, type, operation, "success"),
+                    timer(registry, duration, type, operation, "error"),
+                    timer(registry, duration, type, operation, "cancel"),
+                    DistributionSummary.builder("streamboard." + stage + ".rows")
+                            .tag("type", type)
+                            .tag("operation", operation)
+                            .register(registry)
+            );
+        }
+
+        private static Timer timer(
+                MeterRegistry registry,
+                String name,
+                String type,
+                String operation,
+                String outcome
+        ) {
+            return Timer.builder(name)
+                    .tag("type", type)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        void record(SignalType signal, long nanos, long emitted) {
+            switch (signal) {
+                case ON_COMPLETE -> {
+                    success.record(nanos, TimeUnit.NANOSECONDS);
+                    rows.record(emitted);
+                }
+                case ON_ERROR -> error.record(nanos, TimeUnit.NANOSECONDS);
+                default -> cancel.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
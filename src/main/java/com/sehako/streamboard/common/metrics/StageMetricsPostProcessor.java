@@ -0,0 +1,21 @@
+package com.sehako.streamboard.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// @Measured 타입의 빈에 측정 어드바이스를 붙인다. 트랜잭션 프록시보다 바깥에 두어 커밋 시간까지 포함한다.
+@Component
+public class StageMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public StageMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Measured.class, true),
+                new StageMetricsInterceptor(meterRegistry)
+        );
+        this.beforeExistingAdvisors = true;
+    }
+}
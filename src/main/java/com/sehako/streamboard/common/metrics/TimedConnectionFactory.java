@@ -0,0 +1,73 @@
+package com.sehako.streamboard.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import java.util.concurrent.TimeUnit;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+// 풀에서 커넥션을 빌려 올 때까지 기다린 시간을 잰다. 풀 자체는 Wrapped로 그대로 꺼낼 수 있다.
+final class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable, DisposableBean {
+    static final String ACQUIRE_METRIC = "streamboard.r2dbc.pool.acquire";
+
+    private final ConnectionPool pool;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private volatile Timer acquireTimer;
+
+    TimedConnectionFactory(ConnectionPool pool, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.from(pool.create())
+                    .doOnNext(connection -> acquireTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pool.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return pool;
+    }
+
+    @Override
+    public void dispose() {
+        pool.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return pool.isDisposed();
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    // 미터 레지스트리가 커넥션 팩토리보다 늦게 만들어질 수 있으므로 처음 빌려 올 때 등록한다.
+    private Timer acquireTimer() {
+        Timer timer = acquireTimer;
+        if (timer == null) {
+            timer = Timer.builder(ACQUIRE_METRIC).register(meterRegistry.getObject());
+            acquireTimer = timer;
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sehako.streamboard.common.response;
+
+import java.util.List;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+public final class BinaryMediaTypes {
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final List<MediaType> ALL = List.of(CBOR, SMILE);
+
+    private BinaryMediaTypes() {
+    }
+
+    // Accept에 바이너리 형식이 있으면 콘텐츠 협상에서 JSON 대신 골라질 수 있다.
+    public static boolean requested(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> ALL.stream().anyMatch(binary -> binary.equalsTypeAndSubtype(type)));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.sehako.streamboard.common.response;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+public class JsonResponseEncoder extends Jackson2JsonEncoder {
+    private static final byte[] RESULT_FIELD = ",\"result\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte END_OBJECT = '}';
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    private static final String ENCODE_METRIC = "streamboard.response.encode";
+    private static final String NO_RESULT = "none";
+
+    private final ResponseMessages responseMessages;
+    private final MeterRegistry meterRegistry;
+    // 응답 결과 타입은 코드에 정해진 몇 가지뿐이므로 타입 이름을 태그로 써도 개수가 늘어나지 않는다.
+    private final Map<Class<?>, Timer> encodeTimers = new ConcurrentHashMap<>();
+
+    public JsonResponseEncoder(
+            ObjectMapper objectMapper,
+            ResponseMessages responseMessages,
+            MeterRegistry meterRegistry
+    ) {
+        super(objectMapper);
+        this.responseMessages = responseMessages;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public DataBuffer encodeValue(
+            Object value,
+            DataBufferFactory bufferFactory,
+            ResolvableType valueType,
+            @Nullable MimeType mimeType,
+            @Nullable Map<String, Object> hints
+    ) {
+        if (!(value instanceof JsonResponse<?> response)) {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+
+        byte[] prefix = responseMessages.prefixOf(response);
+        if (prefix == null) {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+
+        long start = System.nanoTime();
+        DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_BUFFER_SIZE);
+        try {
+            buffer.write(prefix);
+            if (response.result() != null) {
+                buffer.write(RESULT_FIELD);
+                writeResult(response.result(), buffer);
+            }
+            buffer.write(END_OBJECT);
+            encodeTimer(response.result()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("JSON encoding error: " + e.getMessage(), e);
+        }
+    }
+
+    private Timer encodeTimer(Object result) {
+        Class<?> type = result == null ? Void.class : result.getClass();
+        return encodeTimers.computeIfAbsent(type, key -> Timer.builder(ENCODE_METRIC)
+                .tag("type", result == null ? NO_RESULT : key.getSimpleName())
+                .register(meterRegistry));
+    }
+
+    // 생성기는 닫아 내부 버퍼를 돌려주되, 뒤에 '}'를 더 써야 하는 대상 버퍼는 닫지 않는다.
+    private void writeResult(Object result, DataBuffer buffer) throws IOException {
+        ObjectMapper objectMapper = getObjectMapper();
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(buffer.asOutputStream(), JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            objectMapper.writeValue(generator, result);
+        }
+    }
+}
@@ -1,34 +1,46 @@
 package com.sehako.streamboard.common.response.error;
 
 import com.sehako.streamboard.common.response.JsonResponse;
-import com.sehako.streamboard.common.response.message.code.Code;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
 import java.util.Locale;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.MessageSource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 
 @RestControllerAdvice
 @RequiredArgsConstructor
 public class ApplicationExceptionHandler {
-    private final MessageSource messageSource;
+    private final ResponseMessages responseMessages;
 
     @ExceptionHandler(ApplicationException.class)
     public Mono<ResponseEntity<JsonResponse<Void>>> handleApplicationException(
             ApplicationException e,
             ServerWebExchange exchange) {
 
-        Code error = e.getErrorCode();
+        ErrorCode error = e.getErrorCode();
         Locale locale = exchange.getLocaleContext().getLocale();
-        String message = messageSource.getMessage(error.getCode(), null, locale);
 
-        return Mono.just(ResponseEntity.internalServerError()
-                .body(JsonResponse.of(
-                        error,
-                        message)
-                ));
+        return Mono.just(ResponseEntity.status(error.getStatus())
+                .body(responseMessages.get(error, locale).wrap()));
+    }
+
+    // 요청 본문이나 파라미터를 읽지 못한 경우도 같은 응답 구조로 보낸다.
+    // 값을 변환하다 던진 ApplicationException이 원인이면 그 코드를 쓴다.
+    @ExceptionHandler(ServerWebInputException.class)
+    public Mono<ResponseEntity<JsonResponse<Void>>> handleServerWebInputException(
+            ServerWebInputException e,
+            ServerWebExchange exchange) {
+
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ApplicationException applicationException) {
+                return handleApplicationException(applicationException, exchange);
+            }
+        }
+        return handleApplicationException(new ApplicationException(ErrorCode.INVALID_PARAMETER), exchange);
     }
 }
@@ -0,0 +1,18 @@
+package com.sehako.streamboard.common.response.message;
+
+import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.message.code.Code;
+
+public record ResponseEnvelope(
+        Code code,
+        String message,
+        byte[] prefix
+) {
+    public <T> JsonResponse<T> wrap(T result) {
+        return JsonResponse.of(code, message, result);
+    }
+
+    public <T> JsonResponse<T> wrap() {
+        return JsonResponse.of(code, message);
+    }
+}
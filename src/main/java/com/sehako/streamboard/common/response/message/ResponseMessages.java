@@ -0,0 +1,81 @@
+package com.sehako.streamboard.common.response.message;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.message.code.Code;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+import com.sehako.streamboard.common.response.message.code.SuccessCode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ResponseMessages {
+    private static final List<Locale> SUPPORTED_LOCALES = List.of(Locale.KOREAN, Locale.ENGLISH);
+
+    private final Map<String, Map<Code, ResponseEnvelope>> envelopesByLanguage = new HashMap<>();
+    private final Map<Code, ResponseEnvelope> defaultEnvelopes;
+    private final Map<String, Map<String, byte[]>> prefixes = new HashMap<>();
+
+    public ResponseMessages(MessageSource messageSource, ObjectMapper objectMapper) {
+        List<Code> codes = new ArrayList<>();
+        codes.addAll(List.of(SuccessCode.values()));
+        codes.addAll(List.of(ErrorCode.values()));
+
+        for (Locale locale : SUPPORTED_LOCALES) {
+            envelopesByLanguage.put(locale.getLanguage(), resolve(codes, locale, messageSource, objectMapper));
+        }
+        defaultEnvelopes = resolve(codes, Locale.getDefault(), messageSource, objectMapper);
+    }
+
+    public ResponseEnvelope get(Code code, Locale locale) {
+        if (locale != null) {
+            Map<Code, ResponseEnvelope> envelopes = envelopesByLanguage.get(locale.getLanguage());
+            if (envelopes != null) {
+                return envelopes.get(code);
+            }
+        }
+        return defaultEnvelopes.get(code);
+    }
+
+    public byte[] prefixOf(JsonResponse<?> response) {
+        Map<String, byte[]> byMessage = prefixes.get(response.code());
+        if (byMessage == null) {
+            return null;
+        }
+        return byMessage.get(response.message());
+    }
+
+    private Map<Code, ResponseEnvelope> resolve(
+            List<Code> codes,
+            Locale locale,
+            MessageSource messageSource,
+            ObjectMapper objectMapper
+    ) {
+        Map<Code, ResponseEnvelope> envelopes = new HashMap<>();
+        for (Code code : codes) {
+            String message = messageSource.getMessage(code.getCode(), null, code.getCode(), locale);
+            byte[] prefix = serializePrefix(objectMapper, code, message);
+            envelopes.put(code, new ResponseEnvelope(code, message, prefix));
+            prefixes.computeIfAbsent(code.getCode(), key -> new HashMap<>())
+                    .putIfAbsent(message, prefix);
+        }
+        return envelopes;
+    }
+
+    private byte[] serializePrefix(ObjectMapper objectMapper, Code code, String message) {
+        try {
+            // result가 null이면 필드가 생략되므로, 마지막 '}'만 떼어내면 result 앞부분이 된다.
+            byte[] serialized = objectMapper.writeValueAsBytes(JsonResponse.of(code, message));
+            return Arrays.copyOf(serialized, serialized.length - 1);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response envelope for " + code.getCode(), e);
+        }
+    }
+}
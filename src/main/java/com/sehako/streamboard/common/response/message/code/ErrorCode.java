@@ -1,7 +1,20 @@
 package com.sehako.streamboard.common.response.message.code;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Getter
+@RequiredArgsConstructor
 public enum ErrorCode implements Code {
-    SERVER_ERROR;
+    SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR),
+    INVALID_PARAMETER(HttpStatus.BAD_REQUEST),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED),
+    SEARCH_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE),
+    WRITE_PENDING(HttpStatus.SERVICE_UNAVAILABLE),
+    OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE);
+
+    private final HttpStatus status;
 
     @Override
     public String getCode() {
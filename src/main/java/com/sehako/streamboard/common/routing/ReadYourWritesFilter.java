@@ -0,0 +1,78 @@
+package com.sehako.streamboard.common.routing;
+
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+// 글을 쓴 클라이언트에게 쿠키로 만료 시각을 내려 주고, 그때까지는 읽기 요청도 주 데이터베이스에서 처리한다.
+// 서버에 상태를 두지 않으므로 인스턴스가 여러 대여도 같은 클라이언트는 자신이 쓴 글을 바로 볼 수 있다.
+@Component
+@ConditionalOnProperty(prefix = "streamboard.replica-routing", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter implements WebFilter {
+    static final String COOKIE_NAME = "streamboard-primary-until";
+    private static final Set<HttpMethod> WRITE_METHODS =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(ReplicaRoutingProperties properties) {
+        this.window = properties.readYourWrites();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (window.isZero() || window.isNegative()) {
+            return chain.filter(exchange);
+        }
+
+        long now = System.currentTimeMillis();
+        ServerHttpResponse response = exchange.getResponse();
+        if (WRITE_METHODS.contains(exchange.getRequest().getMethod())) {
+            response.beforeCommit(() -> Mono.fromRunnable(() -> remember(response, now)));
+        }
+
+        if (!recentlyWrote(exchange.getRequest(), now)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(ReplicaRouting.PRIMARY_CONTEXT_KEY, true));
+    }
+
+    private void remember(ServerHttpResponse response, long now) {
+        HttpStatusCode status = response.getStatusCode();
+        if (status == null || !status.is2xxSuccessful()) {
+            return;
+        }
+        response.addCookie(ResponseCookie.from(COOKIE_NAME, String.valueOf(now + window.toMillis()))
+                .path("/")
+                .maxAge(window)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build());
+    }
+
+    // 쿠키의 만료 시각을 서버에서도 확인한다. Max-Age를 따르지 않는 클라이언트가 있어도 창은 늘어나지 않는다.
+    private boolean recentlyWrote(ServerHttpRequest request, long now) {
+        HttpCookie cookie = request.getCookies().getFirst(COOKIE_NAME);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            long until = Long.parseLong(cookie.getValue());
+            return until > now && until <= now + window.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.sehako.streamboard.common.routing;
+
+public final class ReplicaRouting {
+    // 요청 컨텍스트에 이 값이 true로 들어 있으면 읽기 전용이어도 주 데이터베이스에서 읽는다.
+    public static final String PRIMARY_CONTEXT_KEY = ReplicaRouting.class.getName() + ".PRIMARY";
+
+    private ReplicaRouting() {
+    }
+}
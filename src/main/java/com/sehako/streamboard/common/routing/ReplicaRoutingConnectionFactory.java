@@ -0,0 +1,176 @@
+package com.sehako.streamboard.common.routing;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// 읽기 전용 트랜잭션의 커넥션은 정상 상태인 복제본에서 돌아가며 빌리고, 나머지는 모두 주 데이터베이스로 보낸다.
+@Slf4j
+final class ReplicaRoutingConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable, DisposableBean {
+    private final ConnectionFactory primary;
+    private final List<Replica> replicas;
+    private final Duration healthCheckTimeout;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private Disposable healthChecker;
+
+    ReplicaRoutingConnectionFactory(ConnectionFactory primary, List<ConnectionPool> replicas, Duration healthCheckTimeout) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(index -> new Replica("replica-" + index, replicas.get(index)))
+                .toList();
+        this.healthCheckTimeout = healthCheckTimeout;
+    }
+
+    // 첫 검사가 끝나기 전까지 복제본은 비정상으로 보고 주 데이터베이스에서 읽는다.
+    void start(Duration interval) {
+        healthChecker = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> checkHealth())
+                .subscribe();
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.deferContextual(context -> {
+            if (context.getOrDefault(ReplicaRouting.PRIMARY_CONTEXT_KEY, false)) {
+                return primary();
+            }
+            // 트랜잭션을 시작할 때는 읽기 전용 여부가 아직 설정되지 않으므로 주 데이터베이스를 쓴다.
+            // 읽기 전용 SUPPORTS 메서드처럼 트랜잭션 없이 실행되는 쿼리만 복제본으로 보낸다.
+            return TransactionSynchronizationManager.forCurrentTransaction()
+                    .map(TransactionSynchronizationManager::isCurrentTransactionReadOnly)
+                    .onErrorResume(NoTransactionException.class, e -> Mono.just(false))
+                    .flatMap(readOnly -> readOnly ? replica() : primary());
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return primary;
+    }
+
+    @Override
+    public void dispose() {
+        if (healthChecker != null) {
+            healthChecker.dispose();
+        }
+        replicas.forEach(replica -> replica.pool.dispose());
+        if (primary instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return primary instanceof Disposable disposable && disposable.isDisposed();
+    }
+
+    @Override
+    public void destroy() {
+        dispose();
+    }
+
+    Mono<Void> checkHealth() {
+        return Flux.fromIterable(replicas)
+                .flatMap(replica -> validate(replica)
+                        .doOnNext(replica::markHealthy))
+                .then();
+    }
+
+    long routed(String target) {
+        return switch (target) {
+            case "primary" -> primaryRoutes.sum();
+            case "replica" -> replicaRoutes.sum();
+            default -> fallbacks.sum();
+        };
+    }
+
+    int healthyReplicas() {
+        return (int) replicas.stream()
+                .filter(replica -> replica.healthy)
+                .count();
+    }
+
+    private Mono<Connection> primary() {
+        primaryRoutes.increment();
+        return Mono.from(primary.create());
+    }
+
+    private Mono<Connection> replica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                // 커넥션을 빌리지 못하면 다음 검사까지 제외하고 이번 요청은 주 데이터베이스에서 읽는다.
+                // 복제본 경로는 실제로 빌렸을 때만 세므로 빌리지 못한 요청은 대체 경로로만 세어진다.
+                return Mono.from(replica.pool.create())
+                        .doOnNext(connection -> replicaRoutes.increment())
+                        .onErrorResume(e -> {
+                            replica.markHealthy(false);
+                            fallbacks.increment();
+                            return Mono.from(primary.create());
+                        });
+            }
+        }
+        fallbacks.increment();
+        return Mono.from(primary.create());
+    }
+
+    private Mono<Boolean> validate(Replica replica) {
+        return Mono.usingWhen(
+                        replica.pool.create(),
+                        connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)),
+                        Connection::close
+                )
+                .timeout(healthCheckTimeout)
+                .onErrorReturn(false)
+                .defaultIfEmpty(false);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final ConnectionPool pool;
+        private volatile boolean healthy;
+
+        private Replica(String name, ConnectionPool pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        private void markHealthy(boolean healthy) {
+            if (this.healthy != healthy) {
+                if (healthy) {
+                    log.info("Replica {} is healthy, routing read-only queries to it", name);
+                } else {
+                    log.warn("Replica {} is unhealthy, routing read-only queries elsewhere", name);
+                }
+            }
+            this.healthy = healthy;
+        }
+    }
+}
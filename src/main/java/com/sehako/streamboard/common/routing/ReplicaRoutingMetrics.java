@@ -0,0 +1,36 @@
+package com.sehako.streamboard.common.routing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.spi.ConnectionFactory;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "streamboard.replica-routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingMetrics implements MeterBinder {
+    private static final List<String> TARGETS = List.of("primary", "replica", "fallback");
+
+    private final ConnectionFactory connectionFactory;
+
+    public ReplicaRoutingMetrics(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(connectionFactory instanceof ReplicaRoutingConnectionFactory routing)) {
+            return;
+        }
+        for (String target : TARGETS) {
+            FunctionCounter.builder("streamboard.r2dbc.routing", routing, factory -> factory.routed(target))
+                    .tag("target", target)
+                    .register(registry);
+        }
+        Gauge.builder("streamboard.r2dbc.replica.healthy", routing, ReplicaRoutingConnectionFactory::healthyReplicas)
+                .register(registry);
+    }
+}
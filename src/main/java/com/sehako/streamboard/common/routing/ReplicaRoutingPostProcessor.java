@@ -0,0 +1,72 @@
+package com.sehako.streamboard.common.routing;
+
+import static io.r2dbc.spi.ConnectionFactoryOptions.PASSWORD;
+import static io.r2dbc.spi.ConnectionFactoryOptions.USER;
+
+import com.sehako.streamboard.common.routing.ReplicaRoutingProperties.Replica;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+// 자동 구성된 커넥션 팩토리를 주 데이터베이스로 두고 복제본 풀을 덧붙인다.
+// 커넥션 풀 지표가 주 데이터베이스 풀에 붙을 수 있도록 다른 후처리기보다 나중에 감싼다.
+@Component
+@ConditionalOnProperty(prefix = "streamboard.replica-routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered {
+    private final ObjectProvider<ReplicaRoutingProperties> properties;
+
+    public ReplicaRoutingPostProcessor(ObjectProvider<ReplicaRoutingProperties> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof ConnectionFactory primary) || bean instanceof ReplicaRoutingConnectionFactory) {
+            return bean;
+        }
+
+        ReplicaRoutingProperties routing = properties.getObject();
+        List<ConnectionPool> replicas = new ArrayList<>();
+        for (int i = 0; i < routing.replicas().size(); i++) {
+            replicas.add(pool("replica-" + i, routing.replicas().get(i), routing.poolSize()));
+        }
+
+        ReplicaRoutingConnectionFactory factory =
+                new ReplicaRoutingConnectionFactory(primary, replicas, routing.healthCheckTimeout());
+        factory.start(routing.healthCheckInterval());
+        return factory;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private ConnectionPool pool(String name, Replica replica, int maxSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(replica.url()).mutate();
+        if (StringUtils.hasText(replica.username())) {
+            options.option(USER, replica.username());
+        }
+        if (StringUtils.hasText(replica.password())) {
+            options.option(PASSWORD, replica.password());
+        }
+
+        ConnectionPoolConfiguration configuration =
+                ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                        .name(name)
+                        .initialSize(0)
+                        .maxSize(maxSize)
+                        .build();
+        return new ConnectionPool(configuration);
+    }
+}
@@ -0,0 +1,23 @@
+package com.sehako.streamboard.common.routing;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.replica-routing")
+public record ReplicaRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("10") int poolSize,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("1s") Duration healthCheckTimeout,
+        @DefaultValue("0s") Duration readYourWrites
+) {
+    public record Replica(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.sehako.streamboard.common.startup;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("streamboard.startup")
+public record StartupProperties(
+        @DefaultValue("false") boolean warmup,
+        @DefaultValue("10s") Duration warmupTimeout,
+        @DefaultValue("false") boolean trainingRun,
+        @DefaultValue("30s") Duration trainingTimeout
+) {
+}
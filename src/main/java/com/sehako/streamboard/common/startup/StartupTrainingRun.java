@@ -0,0 +1,151 @@
+package com.sehako.streamboard.common.startup;
+
+import com.sehako.streamboard.common.response.BinaryMediaTypes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+// 클래스 데이터 공유 아카이브를 만들 때 한 번 실행한다. 모든 /post 엔드포인트를 실제 요청 경로로 한 번씩 호출해
+// 요청 처리에 필요한 클래스를 읽어 들인 뒤 애플리케이션을 종료하고, JVM은 종료하면서 아카이브를 기록한다.
+@Slf4j
+@Component
+public class StartupTrainingRun {
+    private static final String POST_URI_PREFIX = "/post/";
+    private static final int POSTS = 3;
+
+    private final StartupProperties properties;
+    private final Environment environment;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public StartupTrainingRun(StartupProperties properties, Environment environment) {
+        this.properties = properties;
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run(ApplicationReadyEvent event) {
+        if (!properties.trainingRun()) {
+            return;
+        }
+
+        int exitCode;
+        try {
+            WebClient client = WebClient.create("http://localhost:" + environment.getProperty("local.server.port"));
+            train(client);
+            exitCode = failures.get() == 0 ? 0 : 1;
+            log.info("Training run finished with {} failed requests", failures.get());
+        } catch (RuntimeException e) {
+            log.error("Training run failed", e);
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(event.getApplicationContext(), () -> code));
+    }
+
+    private void train(WebClient client) {
+        Duration timeout = properties.trainingTimeout();
+        List<Integer> nos = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            nos.add(create(client, "training " + i, "training content ".repeat(100)));
+        }
+        Integer no = nos.get(0);
+        String ids = nos.stream().map(String::valueOf).reduce((a, b) -> a + "," + b).orElseThrow();
+
+        // 목록: JSON, 바이너리 형식, 이전 방향, 조건부 요청, 스트리밍
+        String pageETag = client.get().uri("/post?size=10")
+                .exchangeToMono(response -> response.releaseBody()
+                        .then(Mono.justOrEmpty(response.headers().asHttpHeaders().getETag())))
+                .block(timeout);
+        if (pageETag != null) {
+            call(client.get().uri("/post?size=10").header(HttpHeaders.IF_NONE_MATCH, pageETag), timeout);
+        }
+        call(client.get().uri("/post?size=10").accept(BinaryMediaTypes.CBOR), timeout);
+        call(client.get().uri("/post?size=10").accept(BinaryMediaTypes.SMILE), timeout);
+        call(client.get().uri("/post?cursor={no}&direction=prev", no), timeout);
+        call(client.get().uri("/post?size=10").accept(MediaType.APPLICATION_NDJSON), timeout);
+        call(client.get().uri("/post?size=10").accept(MediaType.TEXT_EVENT_STREAM), timeout);
+
+        // 실시간 이벤트는 처음부터 다시 받아 작성 이벤트 하나를 읽고 끊는다.
+        client.get().uri("/post/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", "0")
+                .retrieve()
+                .bodyToFlux(String.class)
+                .next()
+                .timeout(timeout)
+                .doOnError(e -> fail("/post/stream", e))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        // 여러 글 조회와 검색
+        call(client.get().uri("/post?ids={ids}&fields=title,createdAt", ids), timeout);
+        call(client.post().uri("/post/_batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("ids", nos, "fields", List.of("title", "content"))), timeout);
+        call(client.get().uri("/post/search?q=training"), timeout);
+
+        // 상세: 기본, gzip, 바이너리, 조건부 요청, 미리보기, 본문 구간
+        call(client.get().uri("/post/{no}", no), timeout);
+        call(client.get().uri("/post/{no}", no).header(HttpHeaders.ACCEPT_ENCODING, "gzip"), timeout);
+        call(client.get().uri("/post/{no}", no).accept(BinaryMediaTypes.CBOR), timeout);
+        call(client.get().uri("/post/{no}", no).header(HttpHeaders.IF_NONE_MATCH, "\"" + no + "-0\""), timeout);
+        call(client.get().uri("/post/{no}?preview=20", no), timeout);
+        call(client.get().uri("/post/{no}/content", no), timeout);
+        call(client.get().uri("/post/{no}/content", no).header(HttpHeaders.RANGE, "bytes=0-99"), timeout);
+
+        // 수정과 삭제
+        call(client.patch().uri("/post/{no}", no)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("title", "patched")), timeout);
+        call(client.patch().uri("/post/{no}", no)
+                .header(HttpHeaders.IF_MATCH, "\"" + no + "-1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("content", "patched content")), timeout);
+        for (Integer created : nos) {
+            call(client.delete().uri("/post/{no}", created), timeout);
+        }
+    }
+
+    private Integer create(WebClient client, String title, String content) {
+        String location = client.post().uri("/post")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("title", title, "content", content))
+                .exchangeToMono(response -> response.releaseBody()
+                        .then(Mono.justOrEmpty(response.headers().asHttpHeaders().getFirst(HttpHeaders.LOCATION))))
+                .block(properties.trainingTimeout());
+        if (location == null) {
+            throw new IllegalStateException("Training run could not create a post");
+        }
+        return Integer.valueOf(location.substring(location.lastIndexOf(POST_URI_PREFIX) + POST_URI_PREFIX.length()));
+    }
+
+    // 설정에 따라 꺼져 있는 기능은 4xx로 응답할 수 있으므로 서버 오류만 실패로 센다.
+    private void call(WebClient.RequestHeadersSpec<?> request, Duration timeout) {
+        request.exchangeToMono(response -> {
+                    if (response.statusCode().is5xxServerError()) {
+                        failures.incrementAndGet();
+                        log.warn("Training request failed with {}", response.statusCode());
+                    }
+                    return response.releaseBody();
+                })
+                .block(timeout);
+    }
+
+    private void fail(String uri, Throwable e) {
+        failures.incrementAndGet();
+        log.warn("Training request to {} failed", uri, e);
+    }
+}
@@ -0,0 +1,81 @@
+package com.sehako.streamboard.common.startup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.common.metrics.ConnectionPoolMetrics;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import com.sehako.streamboard.common.response.message.code.SuccessCode;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+// 웹 서버가 요청을 받기 전에 커넥션 풀을 채우고 응답 직렬화 경로를 한 번 거쳐 둔다.
+// 응답 메시지는 ResponseMessages가 생성될 때 지원하는 모든 언어로 미리 읽어 두므로, 여기서는 그 결과를 직렬화만 한다.
+@Slf4j
+@Component
+public class StartupWarmup implements SmartInitializingSingleton {
+    private final StartupProperties properties;
+    private final ConnectionFactory connectionFactory;
+    private final ResponseMessages responseMessages;
+    private final ObjectMapper objectMapper;
+
+    public StartupWarmup(
+            StartupProperties properties,
+            ConnectionFactory connectionFactory,
+            ResponseMessages responseMessages,
+            ObjectMapper objectMapper
+    ) {
+        this.properties = properties;
+        this.connectionFactory = connectionFactory;
+        this.responseMessages = responseMessages;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.warmup()) {
+            return;
+        }
+        long start = System.nanoTime();
+        warmUpPool();
+        warmUpSerializers();
+        log.info("Warmed up in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // 풀이 만들어질 때는 커넥션을 열지 않으므로 initial-size만큼 미리 연다.
+    private void warmUpPool() {
+        ConnectionPool pool = ConnectionPoolMetrics.unwrap(connectionFactory);
+        if (pool == null) {
+            return;
+        }
+        try {
+            Integer opened = pool.warmup().block(properties.warmupTimeout());
+            log.info("Opened {} R2DBC connections before serving requests", opened);
+        } catch (RuntimeException e) {
+            log.warn("Failed to warm up R2DBC connection pool, connections will be opened on demand", e);
+        }
+    }
+
+    private void warmUpSerializers() {
+        LocalDateTime now = LocalDateTime.now();
+        PostRetrieveResponse post = PostRetrieveResponse.created(1, "", now);
+        for (Locale locale : List.of(Locale.KOREAN, Locale.ENGLISH)) {
+            try {
+                objectMapper.writeValueAsBytes(responseMessages.get(SuccessCode.SUCCESS, locale)
+                        .wrap(new PostPageResponse(List.of(post), false, null)));
+                objectMapper.writeValueAsBytes(responseMessages.get(SuccessCode.SUCCESS, locale)
+                        .wrap(new PostDetailRetrieveResponse(1, "", "", now, 0, 0L)));
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to warm up response serializers", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.sehako.streamboard.infrastructure;
+
+import com.sehako.streamboard.common.metrics.Measured;
+import com.sehako.streamboard.infrastructure.domain.Post;
+import com.sehako.streamboard.infrastructure.journal.JournalEntry;
+import io.r2dbc.spi.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Measured("repository")
+public class PostBatchRepository {
+    private static final String INSERT_POST = "INSERT INTO post (title, content, created_at) VALUES (%s, %s, %s)";
+    private static final String INSERT_JOURNALED_POST =
+            "INSERT INTO post (no, title, content, created_at) VALUES (%s, %s, %s, %s)";
+    private static final String GENERATED_KEY = "no";
+
+    private final DatabaseClient databaseClient;
+    private final PostContentRepository postContentRepository;
+    private final String insertPost;
+    private final String insertJournaledPost;
+
+    public PostBatchRepository(DatabaseClient databaseClient, PostContentRepository postContentRepository) {
+        this.databaseClient = databaseClient;
+        this.postContentRepository = postContentRepository;
+
+        // 바인딩은 인덱스로 하므로 드라이버별 플레이스홀더 문법만 맞춰 준다.
+        BindMarkers markers = BindMarkersFactoryResolver.resolve(databaseClient.getConnectionFactory()).create();
+        this.insertPost = String.format(
+                INSERT_POST,
+                markers.next("title").getPlaceholder(),
+                markers.next("content").getPlaceholder(),
+                markers.next("createdAt").getPlaceholder()
+        );
+        BindMarkers journaledMarkers = BindMarkersFactoryResolver.resolve(databaseClient.getConnectionFactory()).create();
+        this.insertJournaledPost = String.format(
+                INSERT_JOURNALED_POST,
+                journaledMarkers.next("no").getPlaceholder(),
+                journaledMarkers.next("title").getPlaceholder(),
+                journaledMarkers.next("content").getPlaceholder(),
+                journaledMarkers.next("createdAt").getPlaceholder()
+        );
+    }
+
+    // 하나의 INSERT 문에 게시글마다 바인딩을 추가해 실행하고, 생성된 번호를 입력 순서대로 반환한다.
+    // 본문을 별도 테이블에 두는 경우 두 테이블에 나누어 기록하므로 호출하는 쪽에서 트랜잭션을 열어야 한다.
+    public Flux<Integer> insertAll(List<Post> posts, LocalDateTime createdAt) {
+        if (!postContentRepository.isSeparated()) {
+            return insertPosts(posts, createdAt, true);
+        }
+
+        List<String> contents = posts.stream()
+                .map(Post::getContent)
+                .toList();
+        return insertPosts(posts, createdAt, false)
+                .collectList()
+                .flatMapMany(nos -> postContentRepository.insertAll(nos, contents)
+                        .thenMany(Flux.fromIterable(nos)));
+    }
+
+    // 저널에서 번호를 이미 매긴 글을 그대로 기록한다. 본문을 별도 테이블에 두면 호출하는 쪽에서 트랜잭션을 열어야 한다.
+    public Mono<Void> insertJournaled(List<JournalEntry> entries) {
+        boolean separated = postContentRepository.isSeparated();
+        Mono<Void> posts = databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(insertJournaledPost);
+                    for (int i = 0; i < entries.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        JournalEntry entry = entries.get(i);
+                        statement.bind(0, entry.no());
+                        bind(statement, 1, entry.title());
+                        bind(statement, 2, separated ? null : entry.content());
+                        statement.bind(3, entry.createdAt());
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(result -> result.getRowsUpdated());
+                })
+                .then();
+
+        if (!separated) {
+            return posts;
+        }
+        return posts.then(postContentRepository.insertAll(
+                entries.stream().map(JournalEntry::no).toList(),
+                entries.stream().map(JournalEntry::content).toList()
+        ));
+    }
+
+    private Flux<Integer> insertPosts(List<Post> posts, LocalDateTime createdAt, boolean withContent) {
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(insertPost)
+                    .returnGeneratedValues(GENERATED_KEY);
+
+            for (int i = 0; i < posts.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                Post post = posts.get(i);
+                bind(statement, 0, post.getTitle());
+                bind(statement, 1, withContent ? post.getContent() : null);
+                statement.bind(2, createdAt);
+            }
+
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map((row, metadata) -> ((Number) row.get(0)).intValue()));
+        });
+    }
+
+    private void bind(Statement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index, String.class);
+            return;
+        }
+        statement.bind(index, value);
+    }
+}
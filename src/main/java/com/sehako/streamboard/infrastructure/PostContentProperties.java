@@ -0,0 +1,13 @@
+package com.sehako.streamboard.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties("streamboard.post-content")
+public record PostContentProperties(
+        @DefaultValue("false") boolean separateTable,
+        @DefaultValue("false") boolean compress,
+        @DefaultValue("1KB") DataSize compressThreshold
+) {
+}
@@ -0,0 +1,345 @@
+package com.sehako.streamboard.infrastructure;
+
+import com.sehako.streamboard.application.response.PostPreviewResponse;
+import com.sehako.streamboard.common.compression.Gzip;
+import com.sehako.streamboard.common.metrics.Measured;
+import com.sehako.streamboard.infrastructure.domain.PostContent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Blob;
+import io.r2dbc.spi.Clob;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Repository
+@Measured("repository")
+public class PostContentRepository {
+    private static final String INSERT_CONTENT =
+            "INSERT INTO post_content (no, content, content_gzip, content_length) VALUES (%s, %s, %s, %s)";
+    private static final String SELECT_CONTENT_STREAM = "SELECT COALESCE(c.content, p.content) AS content "
+            + "FROM post p "
+            + "LEFT JOIN post_content c ON c.no = p.no "
+            + "WHERE p.no = %s AND p.version = %s";
+    private static final String SELECT_COMPRESSED_STREAM = "SELECT c.content_gzip "
+            + "FROM post p "
+            + "JOIN post_content c ON c.no = p.no "
+            + "WHERE p.no = %s AND p.version = %s";
+
+    private final DatabaseClient databaseClient;
+    private final PostContentProperties properties;
+    private final String insertContent;
+    private final String selectContentStream;
+    private final String selectCompressedStream;
+    private final Timer compressTimer;
+    private final DistributionSummary compressionRatio;
+
+    public PostContentRepository(
+            DatabaseClient databaseClient,
+            PostContentProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        if (properties.compress() && !properties.separateTable()) {
+            throw new IllegalStateException(
+                    "streamboard.post-content.compress requires streamboard.post-content.separate-table");
+        }
+        this.databaseClient = databaseClient;
+        this.properties = properties;
+        this.compressTimer = Timer.builder("streamboard.content.compress")
+                .register(meterRegistry);
+        this.compressionRatio = DistributionSummary.builder("streamboard.content.compression.ratio")
+                .register(meterRegistry);
+
+        BindMarkers markers = BindMarkersFactoryResolver.resolve(databaseClient.getConnectionFactory()).create();
+        this.insertContent = String.format(
+                INSERT_CONTENT,
+                markers.next("no").getPlaceholder(),
+                markers.next("content").getPlaceholder(),
+                markers.next("contentGzip").getPlaceholder(),
+                markers.next("contentLength").getPlaceholder()
+        );
+        BindMarkers streamMarkers = BindMarkersFactoryResolver.resolve(databaseClient.getConnectionFactory()).create();
+        this.selectContentStream = String.format(
+                SELECT_CONTENT_STREAM,
+                streamMarkers.next("no").getPlaceholder(),
+                streamMarkers.next("version").getPlaceholder()
+        );
+        BindMarkers compressedMarkers = BindMarkersFactoryResolver.resolve(databaseClient.getConnectionFactory()).create();
+        this.selectCompressedStream = String.format(
+                SELECT_COMPRESSED_STREAM,
+                compressedMarkers.next("no").getPlaceholder(),
+                compressedMarkers.next("version").getPlaceholder()
+        );
+    }
+
+    public boolean isSeparated() {
+        return properties.separateTable();
+    }
+
+    // post 행과 같은 트랜잭션 안에서 호출해야 한다. 본문이 없는 글은 행을 만들지 않는다.
+    // 압축은 이벤트 루프를 오래 잡으므로 압축할 때는 boundedElastic에서 행을 준비한 뒤 커넥션을 쓴다.
+    public Mono<Void> insertAll(List<Integer> nos, List<String> contents) {
+        Mono<List<ContentRow>> rows = Mono.fromCallable(() -> rows(nos, contents));
+        if (properties.compress()) {
+            rows = rows.subscribeOn(Schedulers.boundedElastic());
+        }
+        return rows.flatMap(this::insert);
+    }
+
+    private List<ContentRow> rows(List<Integer> nos, List<String> contents) {
+        List<ContentRow> rows = new ArrayList<>(nos.size());
+        for (int i = 0; i < nos.size(); i++) {
+            String content = contents.get(i);
+            if (content == null) {
+                continue;
+            }
+            byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+            rows.add(new ContentRow(nos.get(i), content, compress(raw), raw.length));
+        }
+        return rows;
+    }
+
+    private Mono<Void> insert(List<ContentRow> rows) {
+        if (rows.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(insertContent);
+                    for (int i = 0; i < rows.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        ContentRow row = rows.get(i);
+                        statement.bind(0, row.no());
+                        if (row.compressed() == null) {
+                            statement.bind(1, row.content());
+                            statement.bindNull(2, ByteBuffer.class);
+                        } else {
+                            statement.bindNull(1, String.class);
+                            statement.bind(2, ByteBuffer.wrap(row.compressed()));
+                        }
+                        statement.bind(3, row.length());
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(result -> result.getRowsUpdated());
+                })
+                .then();
+    }
+
+    // 본문은 읽지 않고 길이와 버전만 읽는다. 길이는 저장할 때 기록한 content_length를 쓰고,
+    // 이 컬럼이 생기기 전에 압축된 본문만 트레일러에서 길이를 읽기 위해 압축된 바이트를 가져온다.
+    public Mono<PostContent> findContent(Integer no) {
+        return databaseClient.sql("SELECT p.version, "
+                        + "COALESCE(c.content_length, OCTET_LENGTH(COALESCE(c.content, p.content))) AS content_length, "
+                        + "CASE WHEN c.content_gzip IS NULL THEN 0 ELSE 1 END AS compressed, "
+                        + "CASE WHEN c.content_length IS NULL THEN c.content_gzip END AS legacy_gzip "
+                        + "FROM post p "
+                        + "LEFT JOIN post_content c ON c.no = p.no "
+                        + "WHERE p.no = :no")
+                .bind("no", no)
+                .map((row, metadata) -> {
+                    ByteBuffer legacy = row.get("legacy_gzip", ByteBuffer.class);
+                    long length = legacy == null
+                            ? lengthOf(row)
+                            : Gzip.uncompressedSize(legacy);
+                    boolean compressed = row.get("compressed", Number.class).intValue() == 1;
+                    return new PostContent(no, row.get("version", Integer.class), length, compressed);
+                })
+                .one();
+    }
+
+    // [start, end) 구간의 UTF-8 바이트를 청크 단위로 흘려보낸다. 본문 전체를 하나의 문자열로 만들지 않는다.
+    // 길이를 읽은 뒤 글이 수정되었다면 이미 보낸 헤더와 맞지 않으므로 오류로 끝낸다.
+    public Flux<ByteBuffer> streamContent(PostContent content, long start, long end) {
+        if (start >= end) {
+            return Flux.empty();
+        }
+        Flux<byte[]> chunks = content.isCompressed() ? readBlob(content) : readClob(content);
+        return slice(chunks, start, end);
+    }
+
+    // 앞부분은 데이터베이스에서 잘라 오고, 압축된 본문은 필요한 만큼만 풀어 읽는다.
+    // SUBSTRING은 H2에서 UTF-16 글자, MySQL에서 코드 포인트 단위로 자르므로 두 배를 잘라 온 뒤 코드 포인트 단위로 다시 자른다.
+    public Mono<PostPreviewResponse> findPreview(Integer no, int length) {
+        return databaseClient.sql("SELECT p.no, p.title, "
+                        + "SUBSTRING(COALESCE(c.content, p.content), 1, :length) AS content, "
+                        + "COALESCE(c.content_length, OCTET_LENGTH(COALESCE(c.content, p.content))) AS content_length, "
+                        + "c.content_gzip, "
+                        + "p.created_at, p.version, p.views "
+                        + "FROM post p "
+                        + "LEFT JOIN post_content c ON c.no = p.no "
+                        + "WHERE p.no = :no")
+                .bind("length", length * 2)
+                .bind("no", no)
+                .map((row, metadata) -> {
+                    ByteBuffer compressed = row.get("content_gzip", ByteBuffer.class);
+                    String preview = compressed == null
+                            ? truncate(row.get("content", String.class), length)
+                            : inflatePrefix(compressed, length);
+                    long contentLength = compressed == null || row.get("content_length") != null
+                            ? lengthOf(row)
+                            : Gzip.uncompressedSize(compressed);
+                    return PostPreviewResponse.of(
+                            row.get("no", Integer.class),
+                            row.get("title", String.class),
+                            preview,
+                            contentLength,
+                            row.get("created_at", LocalDateTime.class),
+                            row.get("version", Integer.class),
+                            row.get("views", Long.class)
+                    );
+                })
+                .one();
+    }
+
+    private Flux<byte[]> readClob(PostContent content) {
+        return select(selectContentStream, content, "content", Clob.class)
+                .concatMap(clob -> clob.map(this::encode).orElseGet(Flux::empty));
+    }
+
+    // 압축된 바이트도 청크로 받아 받는 대로 푼다. 구간이 끝나면 나머지는 받지 않는다.
+    private Flux<byte[]> readBlob(PostContent content) {
+        return select(selectCompressedStream, content, "content_gzip", Blob.class)
+                .concatMap(blob -> blob.map(this::inflate).orElseGet(Flux::empty));
+    }
+
+    private <T> Flux<Optional<T>> select(String sql, PostContent content, String column, Class<T> type) {
+        return databaseClient.inConnectionMany(connection -> Flux.from(connection.createStatement(sql)
+                        .bind(0, content.no())
+                        .bind(1, content.version())
+                        .execute())
+                .concatMap(result -> result.map((row, metadata) -> Optional.ofNullable(row.get(column, type))))
+                .switchIfEmpty(Flux.error(() -> changed(content))));
+    }
+
+    private static IllegalStateException changed(PostContent content) {
+        return new IllegalStateException("Post " + content.no() + " changed while streaming its content");
+    }
+
+    // 청크 경계에서 서로게이트 쌍이 나뉘면 앞쪽 문자를 다음 청크로 넘겨 함께 인코딩한다.
+    private Flux<byte[]> encode(Clob clob) {
+        return Flux.defer(() -> {
+            StringBuilder pending = new StringBuilder();
+            return Flux.from(clob.stream())
+                    .map(chunk -> {
+                        pending.append(chunk);
+                        int end = pending.length();
+                        if (end > 0 && Character.isHighSurrogate(pending.charAt(end - 1))) {
+                            end--;
+                        }
+                        byte[] bytes = pending.substring(0, end).getBytes(StandardCharsets.UTF_8);
+                        pending.delete(0, end);
+                        return bytes;
+                    })
+                    .concatWith(Mono.fromSupplier(() -> pending.toString().getBytes(StandardCharsets.UTF_8)))
+                    .doOnCancel(() -> Mono.from(clob.discard()).subscribe());
+        });
+    }
+
+    private Flux<byte[]> inflate(Blob blob) {
+        return Flux.using(
+                Gzip::streamInflater,
+                inflater -> Flux.from(blob.stream())
+                        .map(inflater::inflate)
+                        .doOnCancel(() -> Mono.from(blob.discard()).subscribe()),
+                Gzip.StreamInflater::close
+        );
+    }
+
+    // 구간이 끝나면 남은 청크는 읽지 않고 취소한다.
+    private static Flux<ByteBuffer> slice(Flux<byte[]> chunks, long start, long end) {
+        return Flux.defer(() -> {
+            long[] position = {0};
+            return chunks.handle((chunk, sink) -> {
+                long from = position[0];
+                long to = from + chunk.length;
+                position[0] = to;
+                if (from >= end) {
+                    sink.complete();
+                    return;
+                }
+                if (to <= start || chunk.length == 0) {
+                    return;
+                }
+                int offset = (int) Math.max(0, start - from);
+                int limit = (int) Math.min(chunk.length, end - from);
+                sink.next(ByteBuffer.wrap(chunk, offset, limit - offset));
+                if (to >= end) {
+                    sink.complete();
+                }
+            });
+        });
+    }
+
+    private static String inflatePrefix(ByteBuffer compressed, int length) {
+        // 코드 포인트 하나는 UTF-16으로 최대 두 글자이므로 그만큼만 읽으면 된다.
+        char[] buffer = new char[length * 2];
+        int filled = 0;
+        try (Reader reader = new InputStreamReader(Gzip.inputStream(compressed.duplicate()), StandardCharsets.UTF_8)) {
+            int read;
+            while (filled < buffer.length && (read = reader.read(buffer, filled, buffer.length - filled)) != -1) {
+                filled += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return PostPreviewResponse.truncate(new String(buffer, 0, filled), length);
+    }
+
+    private static String truncate(String preview, int length) {
+        return preview == null ? null : PostPreviewResponse.truncate(preview, length);
+    }
+
+    private static long lengthOf(Row row) {
+        Number length = row.get("content_length", Number.class);
+        return length == null ? 0 : length.longValue();
+    }
+
+    // 기준보다 짧거나 압축해도 줄지 않는 본문은 null을 반환해 그대로 저장한다.
+    private byte[] compress(byte[] raw) {
+        if (!properties.compress()) {
+            return null;
+        }
+        if (raw.length < properties.compressThreshold().toBytes()) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        byte[] compressed = Gzip.compress(raw, Deflater.BEST_COMPRESSION);
+        compressTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        compressionRatio.record((double) compressed.length / raw.length);
+        return compressed.length < raw.length ? compressed : null;
+    }
+
+    // 수정할 post 행의 잠금을 먼저 잡은 뒤에 호출하므로 같은 글에 대한 교체가 서로 겹치지 않는다.
+    public Mono<Void> replace(Integer no, String content) {
+        return databaseClient.sql("DELETE FROM post_content WHERE no = :no")
+                .bind("no", no)
+                .fetch()
+                .rowsUpdated()
+                .then(insertAll(List.of(no), List.of(content)));
+    }
+
+    // compressed가 null이면 본문을 그대로 저장한다.
+    private record ContentRow(Integer no, String content, byte[] compressed, long length) {
+    }
+}
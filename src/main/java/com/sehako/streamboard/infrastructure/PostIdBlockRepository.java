@@ -0,0 +1,89 @@
+package com.sehako.streamboard.infrastructure;
+
+import com.sehako.streamboard.common.metrics.Measured;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Measured("repository")
+public class PostIdBlockRepository {
+    private static final String POST = "post";
+    private static final String H2 = "H2";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final boolean h2;
+
+    public PostIdBlockRepository(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.h2 = H2.equalsIgnoreCase(databaseClient.getConnectionFactory().getMetadata().getName());
+    }
+
+    // 행을 잠근 채 [start, start + size) 구간을 가져가므로 여러 인스턴스가 같은 번호를 받지 않는다.
+    // 예약한 뒤 자동 증가 값을 구간 끝으로 옮겨, 저널 없이 기록하는 인스턴스가 이후에 구간 안의 번호를 받지 못하게 한다.
+    // 옮기기 전에 자동 증가로 구간 안의 번호를 받은 글이 있으면 그 구간은 버리고 다음 구간을 예약한다.
+    public Mono<Integer> reserve(int size) {
+        return transactionalOperator.transactional(lockAndAdvance(size))
+                .switchIfEmpty(Mono.defer(() -> insertInitial()
+                        .then(transactionalOperator.transactional(lockAndAdvance(size)))))
+                .flatMap(start -> skipAutoIncrement(start + size)
+                        .then(isEmpty(start, start + size))
+                        .flatMap(empty -> empty ? Mono.just(start) : reserve(size)));
+    }
+
+    private Mono<Integer> lockAndAdvance(int size) {
+        return lockNext()
+                .zipWith(maxNo(), (next, max) -> Math.max(next, max + 1))
+                .flatMap(start -> databaseClient.sql("UPDATE post_id_block SET next_no = :next WHERE name = :name")
+                        .bind("next", start + size)
+                        .bind("name", POST)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(start));
+    }
+
+    private Mono<Integer> lockNext() {
+        return databaseClient.sql("SELECT next_no FROM post_id_block WHERE name = :name FOR UPDATE")
+                .bind("name", POST)
+                .map(row -> row.get("next_no", Integer.class))
+                .one();
+    }
+
+    // 처음 예약할 때만 트랜잭션 밖에서 행을 만든다. 다른 인스턴스가 먼저 만들었다면 그 행을 잠근다.
+    private Mono<Void> insertInitial() {
+        return databaseClient.sql("INSERT INTO post_id_block (name, next_no) VALUES (:name, 1)")
+                .bind("name", POST)
+                .then()
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty());
+    }
+
+    // DDL은 바인딩을 받지 않고 MySQL에서는 암묵적으로 커밋하므로 예약 트랜잭션이 끝난 뒤에 값을 넣어 실행한다.
+    // MySQL은 테이블 메타데이터 잠금을 잡느라 진행 중인 INSERT가 끝나기를 기다리고, 이미 더 큰 값이면 그대로 둔다.
+    // H2는 값을 그대로 덮어쓰므로 가장 큰 번호보다 작아지지 않게 한다.
+    private Mono<Void> skipAutoIncrement(int end) {
+        return maxNo()
+                .map(max -> Math.max(end, max + 1))
+                .flatMap(next -> databaseClient.sql(h2
+                                ? "ALTER TABLE post ALTER COLUMN no RESTART WITH " + next
+                                : "ALTER TABLE post AUTO_INCREMENT = " + next)
+                        .then());
+    }
+
+    private Mono<Boolean> isEmpty(int start, int end) {
+        return databaseClient.sql("SELECT COUNT(*) AS taken FROM post WHERE no >= :start AND no < :end")
+                .bind("start", start)
+                .bind("end", end)
+                .map(row -> row.get("taken", Number.class).longValue() == 0)
+                .one();
+    }
+
+    private Mono<Integer> maxNo() {
+        return databaseClient.sql("SELECT COALESCE(MAX(no), 0) AS max_no FROM post")
+                .map(row -> row.get("max_no", Number.class).intValue())
+                .one();
+    }
+}
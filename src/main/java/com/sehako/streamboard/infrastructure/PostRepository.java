@@ -1,6 +1,10 @@
 package com.sehako.streamboard.infrastructure;
 
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.common.metrics.Measured;
 import com.sehako.streamboard.infrastructure.domain.Post;
+import com.sehako.streamboard.infrastructure.domain.PostVersion;
+import java.util.Collection;
 import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
@@ -9,23 +13,114 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
+@Measured("repository")
 public interface PostRepository extends ReactiveCrudRepository<Post, Integer> {
-    @Query("SELECT * "
+    // 목록에 필요한 컬럼만 읽어 본문(TEXT)은 페이지 조회에서 건드리지 않는다.
+    @Query("SELECT no, title, created_at, version, views "
             + "FROM post "
             + "WHERE no < :cursor "
             + "ORDER BY no DESC "
             + "LIMIT :size")
-    Flux<Post> findByCursor(Integer cursor, Integer size);
+    Flux<PostRetrieveResponse> findByCursor(Integer cursor, Integer size);
 
+    // 커서보다 새로운 글을 커서에 가까운 것부터 읽는다.
+    @Query("SELECT no, title, created_at, version, views "
+            + "FROM post "
+            + "WHERE no > :cursor "
+            + "ORDER BY no ASC "
+            + "LIMIT :size")
+    Flux<PostRetrieveResponse> findAfterCursor(Integer cursor, Integer size);
+
+    // 커서보다 새로운 글 size개를 최신 글부터 읽는다. 스트리밍 응답이 행을 뒤집으려고 모아 두지 않게 한다.
+    @Query("SELECT no, title, created_at, version, views "
+            + "FROM ("
+            + "SELECT no, title, created_at, version, views "
+            + "FROM post "
+            + "WHERE no > :cursor "
+            + "ORDER BY no ASC "
+            + "LIMIT :size"
+            + ") newer "
+            + "ORDER BY no DESC")
+    Flux<PostRetrieveResponse> findAfterCursorNewestFirst(Integer cursor, Integer size);
+
+    @Query("SELECT no, version "
+            + "FROM post "
+            + "WHERE no < :cursor "
+            + "ORDER BY no DESC "
+            + "LIMIT :size")
+    Flux<PostVersion> findVersionsByCursor(Integer cursor, Integer size);
+
+    @Query("SELECT no, version "
+            + "FROM post "
+            + "WHERE no > :cursor "
+            + "ORDER BY no ASC "
+            + "LIMIT :size")
+    Flux<PostVersion> findVersionsAfterCursor(Integer cursor, Integer size);
+
+    // 본문이 post_content로 분리된 글은 그쪽 값을, 아니면 post에 남아 있는 값을 읽는다.
+    @Query("SELECT p.no, p.title, COALESCE(c.content, p.content) AS content, c.content_gzip, "
+            + "p.created_at, p.version, p.views "
+            + "FROM post p "
+            + "LEFT JOIN post_content c ON c.no = p.no "
+            + "WHERE p.no = :no")
     Mono<Post> findByNo(Integer no);
 
+    @Query("SELECT p.no, p.title, COALESCE(c.content, p.content) AS content, c.content_gzip, "
+            + "p.created_at, p.version, p.views "
+            + "FROM post p "
+            + "LEFT JOIN post_content c ON c.no = p.no "
+            + "WHERE p.no IN (:nos)")
+    Flux<Post> findAllByNos(Collection<Integer> nos);
+
+    // 본문을 요청하지 않은 여러 글 조회는 본문 컬럼과 조인 없이 읽는다.
+    @Query("SELECT no, title, created_at, version, views "
+            + "FROM post "
+            + "WHERE no IN (:nos)")
+    Flux<PostRetrieveResponse> findSummariesByNos(Collection<Integer> nos);
+
+    // 검색 색인을 만들 때 테이블 전체를 스트리밍으로 읽는다.
+    @Query("SELECT p.no, p.title, COALESCE(c.content, p.content) AS content, c.content_gzip, "
+            + "p.created_at, p.version, p.views "
+            + "FROM post p "
+            + "LEFT JOIN post_content c ON c.no = p.no")
+    Flux<Post> findAllWithContent();
+
+    @Query("SELECT version FROM post WHERE no = :no")
+    Mono<Integer> findVersionByNo(Integer no);
+
     @Modifying
     @Query("UPDATE post SET "
             + "content = IFNULL(:content, content), "
-            + "title = IFNULL(:title, title) "
+            + "title = IFNULL(:title, title), "
+            + "version = version + 1 "
             + "WHERE no = :no")
     Mono<Integer> updatePost(Integer no, String title, String content);
 
+    @Modifying
+    @Query("UPDATE post SET "
+            + "content = IFNULL(:content, content), "
+            + "title = IFNULL(:title, title), "
+            + "version = version + 1 "
+            + "WHERE no = :no AND version = :version")
+    Mono<Integer> updatePostIfVersion(Integer no, String title, String content, Integer version);
+
+    // 본문을 post_content에 따로 둘 때는 post.content를 비워 분리하기 전에 쓴 본문도 옮겨지게 한다.
+    @Modifying
+    @Query("UPDATE post SET "
+            + "content = NULL, "
+            + "title = IFNULL(:title, title), "
+            + "version = version + 1 "
+            + "WHERE no = :no")
+    Mono<Integer> updatePostClearingContent(Integer no, String title);
+
+    @Modifying
+    @Query("UPDATE post SET "
+            + "content = NULL, "
+            + "title = IFNULL(:title, title), "
+            + "version = version + 1 "
+            + "WHERE no = :no AND version = :version")
+    Mono<Integer> updatePostClearingContentIfVersion(Integer no, String title, Integer version);
+
     @Modifying
     Mono<Integer> deleteByNo(Integer no);
 }
@@ -0,0 +1,52 @@
+package com.sehako.streamboard.infrastructure;
+
+import com.sehako.streamboard.common.metrics.Measured;
+import io.r2dbc.spi.Statement;
+import java.util.List;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Measured("repository")
+public class PostViewRepository {
+    private static final String ADD_VIEWS = "UPDATE post SET views = views + %s WHERE no = %s";
+
+    private final DatabaseClient databaseClient;
+    private final String addViews;
+
+    public PostViewRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+
+        BindMarkers markers = BindMarkersFactoryResolver.resolve(databaseClient.getConnectionFactory()).create();
+        this.addViews = String.format(
+                ADD_VIEWS,
+                markers.next("views").getPlaceholder(),
+                markers.next("no").getPlaceholder()
+        );
+    }
+
+    // 하나의 UPDATE 문에 글마다 바인딩을 추가해 한 번에 실행한다.
+    // 여러 인스턴스가 동시에 기록해도 같은 순서로 행을 잠그도록 호출하는 쪽에서 번호 순으로 넘긴다.
+    public Mono<Void> addAll(List<Integer> nos, List<Long> deltas) {
+        if (nos.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(addViews);
+                    for (int i = 0; i < nos.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        statement.bind(0, deltas.get(i));
+                        statement.bind(1, nos.get(i));
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(result -> result.getRowsUpdated());
+                })
+                .then();
+    }
+}
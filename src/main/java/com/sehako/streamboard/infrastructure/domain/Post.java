@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -20,9 +21,21 @@ public class Post {
     @Column("created_at")
     @CreatedDate
     private LocalDateTime createdAt = null;
+    @Version
+    private Integer version = null;
+    private Long views = 0L;
 
     public Post(String title, String content) {
         this.title = title;
         this.content = content;
     }
+
+    Post(Integer no, String title, String content, LocalDateTime createdAt, Integer version, Long views) {
+        this.no = no;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.version = version;
+        this.views = views;
+    }
 }
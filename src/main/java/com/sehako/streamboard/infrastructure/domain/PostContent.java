@@ -0,0 +1,13 @@
+package com.sehako.streamboard.infrastructure.domain;
+
+// length는 본문을 UTF-8로 인코딩한 바이트 수다. 본문은 구간을 확인한 뒤에 따로 읽는다.
+public record PostContent(
+        Integer no,
+        Integer version,
+        long length,
+        boolean compressed
+) {
+    public boolean isCompressed() {
+        return compressed;
+    }
+}
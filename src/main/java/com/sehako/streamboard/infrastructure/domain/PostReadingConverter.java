@@ -0,0 +1,44 @@
+package com.sehako.streamboard.infrastructure.domain;
+
+import com.sehako.streamboard.common.compression.Gzip;
+import io.r2dbc.spi.Row;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+// 압축해 저장한 본문은 엔티티로 읽을 때 풀어 두므로 위 계층은 저장 방식을 알 필요가 없다.
+// 조회마다 선택한 컬럼이 다르므로 결과에 없는 컬럼은 null로 둔다.
+@ReadingConverter
+public class PostReadingConverter implements Converter<Row, Post> {
+    private static final String CONTENT_GZIP = "content_gzip";
+
+    @Override
+    public Post convert(Row row) {
+        return new Post(
+                get(row, "no", Integer.class),
+                get(row, "title", String.class),
+                content(row),
+                get(row, "created_at", LocalDateTime.class),
+                get(row, "version", Integer.class),
+                get(row, "views", Long.class)
+        );
+    }
+
+    // 압축된 본문이 있으면 그쪽이 최신이다. post에 남은 옛 본문보다 먼저 본다.
+    private String content(Row row) {
+        ByteBuffer compressed = get(row, CONTENT_GZIP, ByteBuffer.class);
+        if (compressed != null) {
+            return new String(Gzip.decompress(compressed), StandardCharsets.UTF_8);
+        }
+        return get(row, "content", String.class);
+    }
+
+    private <T> T get(Row row, String column, Class<T> type) {
+        if (!row.getMetadata().contains(column)) {
+            return null;
+        }
+        return row.get(column, type);
+    }
+}
@@ -0,0 +1,7 @@
+package com.sehako.streamboard.infrastructure.domain;
+
+public record PostVersion(
+        Integer no,
+        Integer version
+) {
+}
@@ -0,0 +1,13 @@
+package com.sehako.streamboard.infrastructure.journal;
+
+import java.time.LocalDateTime;
+
+// 저널에 기록된 글 하나. sequence는 저널에 추가된 순서이고, 번호는 미리 받아 둔 블록에서 매긴다.
+public record JournalEntry(
+        long sequence,
+        Integer no,
+        String title,
+        String content,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,449 @@
+package com.sehako.streamboard.infrastructure.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+// 메모리에 매핑한 세그먼트 파일에 글을 이어 붙이는 로그. 세그먼트가 가득 차면 새 파일로 넘어간다.
+// 레코드는 [길이][CRC32C][내용] 형식이며, 파일은 0으로 채워진 채 만들어지므로 길이가 0인 곳이 끝이다.
+// fsync는 한 스레드에서 모아서 한다. 기다리는 동안 추가된 레코드는 다음 한 번의 fsync로 함께 기록된다.
+@Slf4j
+public final class PostJournal implements Closeable {
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+    private static final String REPLAYED_SUFFIX = ".replayed";
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int NULL_LENGTH = -1;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final Scheduler syncer = Schedulers.newSingle("post-journal-sync");
+    private final FileChannel checkpointChannel;
+    // 세그먼트의 첫 시퀀스 -> 파일
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final List<JournalEntry> recovered = new ArrayList<>();
+    private final ConcurrentSkipListMap<Long, MonoSink<Void>> waiters = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean syncing = new AtomicBoolean();
+
+    private Segment active;
+    private long lastSequence;
+    private volatile long syncedSequence;
+    private volatile long checkpoint;
+    private volatile IOException failure;
+
+    public PostJournal(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.checkpoint = readCheckpoint();
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open post journal in " + directory, e);
+        }
+        this.syncedSequence = lastSequence;
+    }
+
+    // 체크포인트 이후에 기록되어 아직 데이터베이스에 반영되었는지 알 수 없는 레코드. 시퀀스 순서다.
+    public List<JournalEntry> recovered() {
+        return List.copyOf(recovered);
+    }
+
+    public long syncedSequence() {
+        return syncedSequence;
+    }
+
+    public synchronized JournalEntry append(Integer no, String title, String content, LocalDateTime createdAt) {
+        if (failure != null) {
+            throw new UncheckedIOException("Post journal is unavailable", failure);
+        }
+
+        JournalEntry entry = new JournalEntry(lastSequence + 1, no, title, content, createdAt);
+        byte[] payload = encode(entry);
+        int size = HEADER_SIZE + payload.length;
+        try {
+            if (active == null || active.buffer.remaining() < size) {
+                rotate(entry.sequence(), size);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rotate post journal segment", e);
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        active.buffer.putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload);
+        lastSequence = entry.sequence();
+        return entry;
+    }
+
+    // sequence까지의 레코드가 디스크에 기록되면 완료된다.
+    public Mono<Void> sync(long sequence) {
+        return Mono.create(sink -> {
+            if (sequence <= syncedSequence) {
+                sink.success();
+                return;
+            }
+            if (failure != null) {
+                sink.error(failure);
+                return;
+            }
+            waiters.put(sequence, sink);
+            requestSync();
+        });
+    }
+
+    // sequence까지의 레코드가 데이터베이스에 반영되었음을 기록하고, 모두 반영된 세그먼트를 지운다.
+    public void checkpoint(long sequence) {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+            buffer.putLong(sequence).putInt(checksum(sequence)).flip();
+            checkpointChannel.write(buffer, 0);
+            checkpointChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write post journal checkpoint", e);
+        }
+        checkpoint = sequence;
+        release(sequence);
+    }
+
+    // 데이터베이스가 끝내 거절한 글을 체크포인트가 지나가기 전에 별도 파일에 fsync해 둔다.
+    // 세그먼트와 같은 레코드 형식이며, 쓰다가 끊긴 레코드가 있으면 그 앞에서부터 이어 쓴다.
+    public synchronized void deadLetter(List<JournalEntry> entries) {
+        Path path = directory.resolve(DEAD_LETTER_FILE);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = scan(channel, path, new ArrayList<>());
+            channel.truncate(end);
+            channel.position(end);
+            for (JournalEntry entry : entries) {
+                byte[] payload = encode(entry);
+                CRC32C crc = new CRC32C();
+                crc.update(payload);
+                ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                        .putInt(payload.length)
+                        .putInt((int) crc.getValue())
+                        .put(payload)
+                        .flip();
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write post journal dead letters to " + path, e);
+        }
+    }
+
+    public synchronized List<JournalEntry> deadLetters() {
+        Path path = directory.resolve(DEAD_LETTER_FILE);
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try {
+            return read(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read post journal dead letters from " + path, e);
+        }
+    }
+
+    // 다시 기록하려고 저널에 옮긴 뒤에 호출한다. 지우지 않고 이름을 바꿔 남겨 둔다.
+    public synchronized void clearDeadLetters() {
+        Path path = directory.resolve(DEAD_LETTER_FILE);
+        try {
+            Files.move(path, directory.resolve(DEAD_LETTER_FILE + "." + System.currentTimeMillis() + REPLAYED_SUFFIX));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to move replayed post journal dead letters " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        syncer.dispose();
+        synchronized (this) {
+            try {
+                if (active != null) {
+                    active.buffer.force();
+                    active.channel.close();
+                }
+                checkpointChannel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close post journal", e);
+            }
+        }
+    }
+
+    private void requestSync() {
+        if (syncing.compareAndSet(false, true)) {
+            syncer.schedule(this::syncLoop);
+        }
+    }
+
+    // 기다리는 동안 등록된 요청이 남아 있으면 한 번 더 기록한다.
+    private void syncLoop() {
+        do {
+            syncOnce();
+            syncing.set(false);
+        } while (!waiters.isEmpty() && syncing.compareAndSet(false, true));
+    }
+
+    private void syncOnce() {
+        long target;
+        Segment segment;
+        int from;
+        int to;
+        synchronized (this) {
+            target = lastSequence;
+            segment = active;
+            from = segment == null ? 0 : segment.forced;
+            to = segment == null ? 0 : segment.buffer.position();
+            if (segment != null) {
+                segment.forced = to;
+            }
+        }
+
+        if (target > syncedSequence && failure == null) {
+            try {
+                if (to > from) {
+                    segment.buffer.force(from, to - from);
+                }
+                syncedSequence = target;
+            } catch (UncheckedIOException e) {
+                failure = e.getCause();
+                log.error("Failed to sync post journal, rejecting further writes", e);
+            }
+        }
+
+        Map<Long, MonoSink<Void>> done = waiters.headMap(syncedSequence, true);
+        for (Map.Entry<Long, MonoSink<Void>> waiter : done.entrySet()) {
+            waiters.remove(waiter.getKey()).success();
+        }
+        if (failure != null) {
+            for (Long sequence : waiters.keySet()) {
+                MonoSink<Void> sink = waiters.remove(sequence);
+                if (sink != null) {
+                    sink.error(failure);
+                }
+            }
+        }
+    }
+
+    // 이전 세그먼트는 넘어가기 전에 모두 기록해 두므로, 이후의 fsync는 활성 세그먼트만 신경 쓰면 된다.
+    private void rotate(long firstSequence, int recordSize) throws IOException {
+        if (active != null) {
+            active.buffer.force();
+            active.channel.close();
+        }
+        // 레코드 하나가 세그먼트보다 크면 그 레코드가 들어갈 만큼 키운다. 끝을 표시할 0 네 바이트를 남긴다.
+        long size = Math.max(segmentSize, (long) recordSize + Integer.BYTES);
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        // 파일이 만들어졌다는 사실도 디렉터리에 기록되어야 재시작할 때 찾을 수 있다.
+        channel.force(true);
+        active = new Segment(channel, buffer);
+        segments.put(firstSequence, path);
+    }
+
+    private synchronized void release(long sequence) {
+        List<Long> firsts = new ArrayList<>(segments.keySet());
+        for (int i = 0; i < firsts.size() - 1; i++) {
+            // 다음 세그먼트의 첫 시퀀스보다 작은 레코드만 들어 있다.
+            if (firsts.get(i + 1) - 1 > sequence) {
+                break;
+            }
+            Path path = segments.remove(firsts.get(i));
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete post journal segment {}", path, e);
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+
+        lastSequence = checkpoint;
+        for (Path path : files) {
+            String name = path.getFileName().toString();
+            long first = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            List<JournalEntry> entries = read(path);
+            // 첫 레코드부터 끊긴 세그먼트는 남길 것이 없고, 같은 이름으로 새 세그먼트를 만들어야 하므로 지운다.
+            if (entries.isEmpty()) {
+                Files.delete(path);
+                continue;
+            }
+            segments.put(first, path);
+            for (JournalEntry entry : entries) {
+                lastSequence = Math.max(lastSequence, entry.sequence());
+                if (entry.sequence() > checkpoint) {
+                    recovered.add(entry);
+                }
+            }
+        }
+        release(checkpoint);
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} post journal entries after checkpoint {}", recovered.size(), checkpoint);
+        }
+    }
+
+    // 마지막 레코드가 쓰다가 끊겼다면 검사합이 맞지 않으므로 그 앞까지만 읽는다.
+    private List<JournalEntry> read(Path path) throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            scan(channel, path, entries);
+        }
+        return entries;
+    }
+
+    // 온전한 레코드를 entries에 담고, 마지막 온전한 레코드가 끝나는 위치를 반환한다.
+    private long scan(FileChannel channel, Path path, List<JournalEntry> entries) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        int end = 0;
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Ignoring torn post journal record at {} in {}", buffer.position() - length, path);
+                break;
+            }
+            entries.add(decode(payload));
+            end = buffer.position();
+        }
+        return end;
+    }
+
+    private long readCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        if (checkpointChannel.read(buffer, 0) < buffer.capacity()) {
+            return 0;
+        }
+        buffer.flip();
+        long sequence = buffer.getLong();
+        if (buffer.getInt() != checksum(sequence)) {
+            // 체크포인트를 믿을 수 없으면 모든 레코드를 다시 확인한다. 이미 반영된 글은 번호로 걸러진다.
+            log.warn("Ignoring corrupt post journal checkpoint");
+            return 0;
+        }
+        return sequence;
+    }
+
+    private static int checksum(long sequence) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(sequence).flip());
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(JournalEntry entry) {
+        byte[] title = bytes(entry.title());
+        byte[] content = bytes(entry.content());
+        int size = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES
+                + Integer.BYTES + length(title) + Integer.BYTES + length(content);
+        ByteBuffer buffer = ByteBuffer.allocate(size)
+                .putLong(entry.sequence())
+                .putInt(entry.no())
+                .putLong(entry.createdAt().toEpochSecond(ZoneOffset.UTC))
+                .putInt(entry.createdAt().getNano());
+        put(buffer, title);
+        put(buffer, content);
+        return buffer.array();
+    }
+
+    private static JournalEntry decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        try {
+            long sequence = buffer.getLong();
+            int no = buffer.getInt();
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new JournalEntry(sequence, no, string(buffer), string(buffer), createdAt);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Malformed post journal record", e);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        buffer.putInt(value.length).put(value);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static final class Segment {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        // fsync를 마친 위치. syncer 스레드가 저널 잠금 안에서 갱신한다.
+        private int forced;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -3,42 +3,90 @@ package com.sehako.streamboard.presentation;
 import static com.sehako.streamboard.common.response.message.code.SuccessCode.SUCCESS;
 
 import com.sehako.streamboard.application.PostService;
+import com.sehako.streamboard.application.response.PostBatchRetrieveResponse;
 import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostEvent;
+import com.sehako.streamboard.application.response.PostEventType;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostPageVersion;
+import com.sehako.streamboard.application.response.PostPreviewResponse;
 import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.application.response.PostSearchResponse;
+import com.sehako.streamboard.common.compression.Gzip;
+import com.sehako.streamboard.common.response.BinaryMediaTypes;
 import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.message.ResponseEnvelope;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
 import com.sehako.streamboard.common.response.message.code.Code;
+import com.sehako.streamboard.infrastructure.domain.PostContent;
+import com.sehako.streamboard.presentation.request.PageDirection;
+import com.sehako.streamboard.presentation.request.PostBatchRetrieveRequest;
 import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostField;
 import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostPreviewRequest;
 import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostSearchRequest;
 import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.URI;
 import java.util.List;
 import java.util.Locale;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.MessageSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @RestController
 @RequestMapping("/post")
-@RequiredArgsConstructor
 public class PostController {
     private static final String POST_RETRIEVE_URI = "/post/%s";
+    private static final String NOT_MODIFIED_METRIC = "streamboard.http.not.modified";
+    private static final String BYTES = "bytes";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final MediaType TEXT_PLAIN_UTF8 = MediaType.parseMediaType("text/plain;charset=UTF-8");
 
     private final PostService postService;
-    private final MessageSource messageSource;
+    private final ResponseMessages responseMessages;
+    private final PostDetailBodyCache postDetailBodyCache;
+    private final Counter listNotModified;
+    private final Counter detailNotModified;
+
+    public PostController(
+            PostService postService,
+            ResponseMessages responseMessages,
+            PostDetailBodyCache postDetailBodyCache,
+            MeterRegistry meterRegistry
+    ) {
+        this.postService = postService;
+        this.responseMessages = responseMessages;
+        this.postDetailBodyCache = postDetailBodyCache;
+        this.listNotModified = Counter.builder(NOT_MODIFIED_METRIC)
+                .tag("endpoint", "list")
+                .register(meterRegistry);
+        this.detailNotModified = Counter.builder(NOT_MODIFIED_METRIC)
+                .tag("endpoint", "detail")
+                .register(meterRegistry);
+    }
 
     @PostMapping
     public Mono<ResponseEntity<JsonResponse<Void>>> createPost(
@@ -53,42 +101,180 @@ public class PostController {
     }
 
     @GetMapping
-    public Mono<ResponseEntity<JsonResponse<List<PostRetrieveResponse>>>> retrievePosts(
+    public Mono<ResponseEntity<JsonResponse<PostPageResponse>>> retrievePosts(
             @RequestParam(value = "cursor", defaultValue = "0") Integer cursor,
             @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "direction", defaultValue = "next") String direction,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Locale locale
+    ) {
+        log.info("retrievePosts cursor={}, size={}, direction={}", cursor, size, direction);
+        PostRetrieveRequest request = PostRetrieveRequest.from(cursor, size, PageDirection.from(direction));
+        Mono<ResponseEntity<JsonResponse<PostPageResponse>>> response = Mono.defer(() ->
+                buildPageResponseEntity(
+                        SUCCESS,
+                        locale,
+                        postService.retrievePostPage(request)
+                ));
+
+        if (ifNoneMatch == null) {
+            return response;
+        }
+        return postService.retrievePostsVersion(request)
+                .map(PostETag::ofPage)
+                .filter(eTag -> PostETag.matches(ifNoneMatch, eTag))
+                .map(eTag -> {
+                    listNotModified.increment();
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                            .eTag(eTag)
+                            .<JsonResponse<PostPageResponse>>build();
+                })
+                .switchIfEmpty(response);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<PostRetrieveResponse> streamPosts(
+            @RequestParam(value = "cursor", defaultValue = "0") Integer cursor,
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "direction", defaultValue = "next") String direction
+    ) {
+        log.info("streamPosts cursor={}, size={}, direction={}", cursor, size, direction);
+        return postService.retrievePosts(PostRetrieveRequest.from(cursor, size, PageDirection.from(direction)));
+    }
+
+    // 새 글 작성, 수정, 삭제를 SSE로 보낸다. 다시 연결할 때 Last-Event-ID를 보내면 놓친 이벤트부터 이어 받는다.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<PostEvent>> streamPostEvents(
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId
+    ) {
+        return postService.streamPostEvents(parseEventId(lastEventId))
+                .map(event -> event.type() == PostEventType.HEARTBEAT
+                        ? ServerSentEvent.<PostEvent>builder().comment(event.type().value()).build()
+                        : ServerSentEvent.builder(event)
+                                .id(String.valueOf(event.id()))
+                                .event(event.type().value())
+                                .build());
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<JsonResponse<PostBatchRetrieveResponse>>> retrievePostBatch(
+            @RequestParam("ids") List<Integer> ids,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            Locale locale
+    ) {
+        List<PostField> projection = fields == null
+                ? List.of()
+                : fields.stream().map(PostField::from).toList();
+        return buildResponseEntity(
+                SUCCESS,
+                locale,
+                postService.retrievePostBatch(PostBatchRetrieveRequest.of(ids, projection))
+        );
+    }
+
+    // 번호가 많아 URL이 길어지는 경우를 위해 본문으로도 받는다.
+    @PostMapping("/_batch")
+    public Mono<ResponseEntity<JsonResponse<PostBatchRetrieveResponse>>> retrievePostBatch(
+            @RequestBody PostBatchRetrieveRequest request,
+            Locale locale
+    ) {
+        return buildResponseEntity(
+                SUCCESS,
+                locale,
+                postService.retrievePostBatch(PostBatchRetrieveRequest.of(request.ids(), request.fields()))
+        );
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<JsonResponse<PostSearchResponse>>> searchPosts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
             Locale locale
     ) {
-        log.info("retrievePosts cursor={}, size={}", cursor, size);
         return buildResponseEntity(
                 SUCCESS,
-                getResponseMessage(SUCCESS, locale),
-                postService.retrievePosts(PostRetrieveRequest.from(cursor, size))
-                        .collectList()
+                locale,
+                postService.searchPosts(PostSearchRequest.from(query, cursor, size))
         );
     }
 
     @GetMapping("/{no}")
-    public Mono<ResponseEntity<JsonResponse<PostDetailRetrieveResponse>>> retrievePostDetail(
+    public Mono<ResponseEntity<?>> retrievePostDetail(
             @PathVariable Integer no,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
             Locale locale
     ) {
-        return buildResponseEntity(
+        // 캐시에는 압축한 JSON만 있으므로 바이너리 형식을 요청하면 인코더를 거친다.
+        boolean cacheable = postDetailBodyCache.accepts(acceptEncoding) && !BinaryMediaTypes.requested(accept);
+        Mono<ResponseEntity<?>> response = Mono.defer(() -> cacheable
+                ? buildCachedDetailResponseEntity(SUCCESS, locale, no)
+                : buildDetailResponseEntity(
+                        SUCCESS,
+                        locale,
+                        postService.retrievePostDetail(PostDetailRetrieveRequest.from(no))
+                ).<ResponseEntity<?>>map(entity -> entity));
+
+        if (ifNoneMatch == null) {
+            return response;
+        }
+        // 버전만 확인하므로 본문을 읽거나 직렬화하지 않고 304를 응답한다.
+        return postService.retrievePostVersion(no)
+                .flatMap(version -> Mono.justOrEmpty(PostETag.matchDetail(ifNoneMatch, no, version)))
+                .<ResponseEntity<?>>flatMap(eTag -> {
+                    detailNotModified.increment();
+                    // 조회수는 ETag에 포함되지 않으므로 304로 응답한 조회도 세어 둔다.
+                    return postService.countView(no)
+                            .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                    .eTag(eTag)
+                                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                                    .build());
+                })
+                .switchIfEmpty(response);
+    }
+
+    @GetMapping(value = "/{no}", params = "preview")
+    public Mono<ResponseEntity<JsonResponse<PostPreviewResponse>>> retrievePostPreview(
+            @PathVariable Integer no,
+            @RequestParam("preview") Integer length,
+            Locale locale
+    ) {
+        return buildPreviewResponseEntity(
                 SUCCESS,
-                getResponseMessage(SUCCESS, locale),
-                postService.retrievePostDetail(PostDetailRetrieveRequest.from(no))
+                locale,
+                postService.retrievePostPreview(PostPreviewRequest.from(no, length))
         );
     }
 
+    // 본문만 text/plain으로 나누어 보낸다. 범위가 하나뿐인 Range 요청에는 206으로, 나머지는 전체 본문으로 응답한다.
+    @GetMapping("/{no}/content")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> retrievePostContent(
+            @PathVariable Integer no,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange
+    ) {
+        return postService.retrievePostContent(no)
+                .map(content -> buildContentResponseEntity(content, range, ifRange))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     @PatchMapping("/{no}")
     public Mono<ResponseEntity<JsonResponse<PostDetailRetrieveResponse>>> patchPostDetail(
             @PathVariable Integer no,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody PostPatchRequest request,
             Locale locale
     ) {
-        return buildResponseEntity(
+        Mono<PostDetailRetrieveResponse> patched = ifMatch == null
+                ? postService.patchPostDetail(no, request)
+                : postService.patchPostDetail(no, PostETag.parseVersion(no, ifMatch), request);
+
+        return buildDetailResponseEntity(
                 SUCCESS,
-                getResponseMessage(SUCCESS, locale),
-                postService.patchPostDetail(no, request)
+                locale,
+                patched
         );
     }
 
@@ -100,19 +286,142 @@ public class PostController {
                 .then(Mono.just(ResponseEntity.noContent().build()));
     }
 
-    private Mono<String> getResponseMessage(Code code, Locale locale) {
-        return Mono.just(messageSource.getMessage(code.getCode(), null, locale))
-                .subscribeOn(Schedulers.boundedElastic());
+    private Mono<ResponseEntity<JsonResponse<PostPageResponse>>> buildPageResponseEntity(
+            Code code,
+            Locale locale,
+            Mono<PostPageResponse> dataMono
+    ) {
+        ResponseEnvelope envelope = responseMessages.get(code, locale);
+        return dataMono.map(data -> ResponseEntity.ok()
+                .eTag(PostETag.ofPage(PostPageVersion.of(data)))
+                .body(envelope.wrap(data)));
     }
 
+    // 검증 값이나 인코딩 헤더가 없는 응답은 봉투만 씌운다.
     private <T> Mono<ResponseEntity<JsonResponse<T>>> buildResponseEntity(
             Code code,
-            Mono<String> messageMono,
+            Locale locale,
             Mono<T> dataMono
     ) {
-        return Mono.zip(messageMono, dataMono)
-                .map(tuple -> ResponseEntity
-                        .ok(JsonResponse.of(code, tuple.getT1(), tuple.getT2()))
-                );
+        ResponseEnvelope envelope = responseMessages.get(code, locale);
+        return dataMono.map(data -> ResponseEntity.ok()
+                .body(envelope.wrap(data)));
+    }
+
+    // 버전만 확인해 캐시에 같은 버전의 응답이 있으면 본문을 읽거나 압축하지 않고 그대로 보낸다.
+    // 게시글이 없으면 캐시를 거치지 않는 경로와 같은 응답을 내도록 그쪽으로 넘긴다.
+    private Mono<ResponseEntity<?>> buildCachedDetailResponseEntity(Code code, Locale locale, Integer no) {
+        ResponseEnvelope envelope = responseMessages.get(code, locale);
+        Mono<PostDetailBodyCache.Body> loaded = Mono.defer(() -> postService
+                .retrievePostDetail(PostDetailRetrieveRequest.from(no))
+                .flatMap(data -> postDetailBodyCache.put(envelope.wrap(data))));
+
+        // 캐시에서 찾았을 때만 조회수를 따로 세고, 아니면 본문을 한 번만 읽으며 그 조회에서 센다.
+        return postService.retrievePostVersion(no)
+                .flatMap(version -> Mono.justOrEmpty(postDetailBodyCache.getIfPresent(no, version, envelope.message())))
+                .flatMap(body -> postService.countView(no).thenReturn(body))
+                .switchIfEmpty(loaded)
+                .<ResponseEntity<?>>map(body -> {
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    if (!body.compressed()) {
+                        return builder.eTag(PostETag.ofDetail(no, body.version())).body(body.bytes());
+                    }
+                    return builder.eTag(PostETag.ofGzipDetail(no, body.version()))
+                            .header(HttpHeaders.CONTENT_ENCODING, Gzip.ENCODING)
+                            .body(body.bytes());
+                });
+    }
+
+    private Mono<ResponseEntity<JsonResponse<PostPreviewResponse>>> buildPreviewResponseEntity(
+            Code code,
+            Locale locale,
+            Mono<PostPreviewResponse> dataMono
+    ) {
+        ResponseEnvelope envelope = responseMessages.get(code, locale);
+        return dataMono.map(data -> ResponseEntity.ok()
+                .eTag(PostETag.ofDetail(data.no(), data.version()))
+                .body(envelope.wrap(data)));
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> buildContentResponseEntity(
+            PostContent content,
+            String range,
+            String ifRange
+    ) {
+        long length = content.length();
+        String eTag = PostETag.of(content.no(), content.version());
+        HttpRange requested = parseRange(range, ifRange, eTag);
+        if (requested == null) {
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .contentLength(length)
+                    .header(HttpHeaders.ACCEPT_RANGES, BYTES)
+                    .body(stream(content, 0, length));
+        }
+
+        long start;
+        long end;
+        try {
+            start = requested.getRangeStart(length);
+            end = requested.getRangeEnd(length);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .eTag(eTag)
+                    .header(HttpHeaders.CONTENT_RANGE, BYTES + " */" + length)
+                    .build();
+        }
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .eTag(eTag)
+                .contentType(TEXT_PLAIN_UTF8)
+                .contentLength(end - start + 1)
+                .header(HttpHeaders.ACCEPT_RANGES, BYTES)
+                .header(HttpHeaders.CONTENT_RANGE, BYTES + " " + start + "-" + end + "/" + length)
+                .body(stream(content, start, end + 1));
+    }
+
+    // 형식이 잘못되었거나 여러 범위를 요청하면 무시하고 전체를 보낸다.
+    // If-Range는 강한 비교를 하므로 버전이 바뀌었으면 범위 대신 새 본문 전체를 보낸다.
+    private HttpRange parseRange(String range, String ifRange, String eTag) {
+        if (range == null || (ifRange != null && !ifRange.trim().equals(eTag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // 형식이 맞지 않는 번호는 이어 받을 수 없는 번호와 같이 처리되도록 음수로 바꾼다.
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private Flux<DataBuffer> stream(PostContent content, long start, long end) {
+        return postService.streamPostContent(content, start, end)
+                .map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private Mono<ResponseEntity<JsonResponse<PostDetailRetrieveResponse>>> buildDetailResponseEntity(
+            Code code,
+            Locale locale,
+            Mono<PostDetailRetrieveResponse> dataMono
+    ) {
+        ResponseEnvelope envelope = responseMessages.get(code, locale);
+        return dataMono.map(data -> ResponseEntity.ok()
+                .eTag(PostETag.ofDetail(data.no(), data.version()))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(envelope.wrap(data)));
     }
 }
@@ -0,0 +1,136 @@
+package com.sehako.streamboard.presentation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.common.compression.Gzip;
+import com.sehako.streamboard.common.response.JsonResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// 게시글 상세 응답을 직렬화하고 gzip으로 압축한 바이트를 버전별로 보관한다.
+// 조회수는 저장할 때의 값이 그대로 나가므로 expire-after-write 동안 늦게 보일 수 있다.
+@Component
+public class PostDetailBodyCache {
+    private static final String CACHE_NAME = "post-detail-body";
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final boolean enabled;
+    private final long minSize;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, Body> cache;
+    private final Timer compressTimer;
+    private final DistributionSummary compressionRatio;
+
+    public PostDetailBodyCache(
+            PostDetailBodyCacheProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = properties.enabled();
+        this.minSize = properties.minSize().toBytes();
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumWeight().toBytes())
+                .weigher((Key key, Body body) -> ENTRY_OVERHEAD + body.bytes().length)
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        this.compressTimer = Timer.builder("streamboard.response.compress")
+                .register(meterRegistry);
+        this.compressionRatio = DistributionSummary.builder("streamboard.response.compression.ratio")
+                .register(meterRegistry);
+
+        if (enabled) {
+            new CaffeineCacheMetrics<>(cache, CACHE_NAME, Tags.empty())
+                    .bindTo(meterRegistry);
+        }
+    }
+
+    // Accept-Encoding에 gzip이 있고 q=0으로 거부하지 않은 경우에만 캐시를 쓴다.
+    public boolean accepts(String acceptEncoding) {
+        if (!enabled || acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(Gzip.ENCODING) && !rejects(parts)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Optional<Body> getIfPresent(Integer no, Integer version, String message) {
+        Body body = cache.getIfPresent(new Key(no, message));
+        if (body == null || !body.version().equals(version)) {
+            return Optional.empty();
+        }
+        return Optional.of(body);
+    }
+
+    // 작은 응답은 압축해도 헤더 비용만큼 이득이 없으므로 압축하지 않은 바이트를 보관한다.
+    // 압축은 이벤트 루프를 오래 잡으므로 boundedElastic에서 한다.
+    public Mono<Body> put(JsonResponse<PostDetailRetrieveResponse> response) {
+        PostDetailRetrieveResponse post = response.result();
+        byte[] raw = serialize(response);
+        if (raw.length < minSize) {
+            return Mono.just(store(response, new Body(post.version(), raw, false)));
+        }
+        return Mono.fromCallable(() -> store(response, new Body(post.version(), compress(raw), true)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Body store(JsonResponse<PostDetailRetrieveResponse> response, Body body) {
+        cache.put(new Key(response.result().no(), response.message()), body);
+        return body;
+    }
+
+    private byte[] serialize(JsonResponse<PostDetailRetrieveResponse> response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize post detail " + response.result().no(), e);
+        }
+    }
+
+    private byte[] compress(byte[] raw) {
+        long start = System.nanoTime();
+        byte[] compressed = Gzip.compress(raw, Deflater.BEST_COMPRESSION);
+        compressTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        compressionRatio.record((double) compressed.length / raw.length);
+        return compressed;
+    }
+
+    private static boolean rejects(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 메시지가 언어마다 다르므로 응답 메시지까지 키에 넣는다.
+    private record Key(Integer no, String message) {
+    }
+
+    public record Body(Integer version, byte[] bytes, boolean compressed) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.sehako.streamboard.presentation;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties("streamboard.detail-body-cache")
+public record PostDetailBodyCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("32MB") DataSize maximumWeight,
+        @DefaultValue("10s") Duration expireAfterWrite,
+        @DefaultValue("1KB") DataSize minSize
+) {
+}
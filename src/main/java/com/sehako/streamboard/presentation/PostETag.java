@@ -0,0 +1,86 @@
+package com.sehako.streamboard.presentation;
+
+import com.sehako.streamboard.common.compression.Gzip;
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public final class PostETag {
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String FORMAT = "\"%d-%d\"";
+    private static final String ENCODED_FORMAT = "\"%d-%d-%s\"";
+    private static final String GZIP_SUFFIX = "-" + Gzip.ENCODING + "\"";
+    private static final String PAGE_FORMAT = "\"p%s\"";
+
+    private PostETag() {
+    }
+
+    // 본문만 보내는 응답은 버전이 같으면 바이트도 같으므로 강한 검증 값을 쓴다.
+    public static String of(Integer no, Integer version) {
+        return String.format(FORMAT, no, version);
+    }
+
+    // 상세와 미리보기 응답에는 버전에 포함되지 않는 조회수가 담기므로 약한 검증 값을 쓴다.
+    public static String ofDetail(Integer no, Integer version) {
+        return WEAK_PREFIX + of(no, version);
+    }
+
+    // 압축한 본문은 다른 표현이므로 압축 방식을 덧붙인다.
+    public static String ofGzipDetail(Integer no, Integer version) {
+        return WEAK_PREFIX + String.format(ENCODED_FORMAT, no, version, Gzip.ENCODING);
+    }
+
+    // 상세 응답은 압축 여부에 따라 ETag가 다르므로 어느 쪽과 일치해도 304로 응답한다. 일치한 태그를 반환한다.
+    public static Optional<String> matchDetail(String ifNoneMatch, Integer no, Integer version) {
+        return Stream.of(ofDetail(no, version), ofGzipDetail(no, version))
+                .filter(eTag -> matches(ifNoneMatch, eTag))
+                .findFirst();
+    }
+
+    // 페이지에도 조회수가 담기므로 약한 검증 값을 쓴다.
+    public static String ofPage(String pageVersion) {
+        return WEAK_PREFIX + String.format(PAGE_FORMAT, pageVersion);
+    }
+
+    // If-None-Match는 약한 비교를 하므로 양쪽의 W/ 접두어를 무시한다.
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        String opaque = stripWeak(eTag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = stripWeak(tag.trim());
+            if (candidate.equals(ANY) || candidate.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match 헤더에서 이 게시글에 해당하는 버전을 꺼낸다. '*'이면 버전을 따지지 않으므로 null을 반환한다.
+    // 수정 조건은 바이트가 아닌 버전만 비교하므로 조회 때 받은 약한 ETag도 그대로 받는다.
+    public static Integer parseVersion(Integer no, String ifMatch) {
+        String prefix = "\"" + no + "-";
+        for (String tag : ifMatch.split(",")) {
+            String candidate = stripWeak(tag.trim());
+            if (candidate.equals(ANY)) {
+                return null;
+            }
+            // 압축한 본문의 ETag도 같은 버전을 가리킨다.
+            if (candidate.endsWith(GZIP_SUFFIX)) {
+                candidate = candidate.substring(0, candidate.length() - GZIP_SUFFIX.length()) + "\"";
+            }
+            if (candidate.startsWith(prefix) && candidate.endsWith("\"") && candidate.length() > prefix.length() + 1) {
+                try {
+                    return Integer.valueOf(candidate.substring(prefix.length(), candidate.length() - 1));
+                } catch (NumberFormatException ignored) {
+                    // 다른 형식의 태그는 일치하지 않는 것으로 본다.
+                }
+            }
+        }
+        throw new ApplicationException(ErrorCode.PRECONDITION_FAILED);
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+    }
+}
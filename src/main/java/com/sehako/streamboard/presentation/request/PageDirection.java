@@ -0,0 +1,20 @@
+package com.sehako.streamboard.presentation.request;
+
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+
+public enum PageDirection {
+    // 커서보다 오래된 글 (no < cursor)
+    NEXT,
+    // 커서보다 새로운 글 (no > cursor)
+    PREV;
+
+    public static PageDirection from(String value) {
+        for (PageDirection direction : values()) {
+            if (direction.name().equalsIgnoreCase(value)) {
+                return direction;
+            }
+        }
+        throw new ApplicationException(ErrorCode.INVALID_PARAMETER);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sehako.streamboard.presentation.request;
+
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+public record PostBatchRetrieveRequest(
+        List<Integer> ids,
+        Set<PostField> fields
+) {
+    public static final int MAX_SIZE = 200;
+
+    // 중복된 번호는 처음 나온 위치만 남기고, 개수 제한은 중복을 뺀 뒤에 확인한다. 필드를 지정하지 않으면 모든 필드를 돌려준다.
+    public static PostBatchRetrieveRequest of(List<Integer> ids, Collection<PostField> fields) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw new ApplicationException(ErrorCode.INVALID_PARAMETER);
+        }
+        Set<Integer> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > MAX_SIZE) {
+            throw new ApplicationException(ErrorCode.INVALID_PARAMETER);
+        }
+
+        Set<PostField> projection = fields == null || fields.isEmpty()
+                ? EnumSet.allOf(PostField.class)
+                : EnumSet.copyOf(fields);
+        return new PostBatchRetrieveRequest(List.copyOf(distinct), projection);
+    }
+
+    public boolean includes(PostField field) {
+        return fields.contains(field);
+    }
+}
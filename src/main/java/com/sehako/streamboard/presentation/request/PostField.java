@@ -0,0 +1,36 @@
+package com.sehako.streamboard.presentation.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+
+// 여러 글을 한 번에 조회할 때 골라 받을 수 있는 필드. 번호는 항상 포함된다.
+public enum PostField {
+    TITLE("title"),
+    CONTENT("content"),
+    CREATED_AT("createdAt"),
+    VERSION("version"),
+    VIEWS("views");
+
+    private final String value;
+
+    PostField(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String value() {
+        return value;
+    }
+
+    @JsonCreator
+    public static PostField from(String value) {
+        for (PostField field : values()) {
+            if (field.value.equalsIgnoreCase(value)) {
+                return field;
+            }
+        }
+        throw new ApplicationException(ErrorCode.INVALID_PARAMETER);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sehako.streamboard.presentation.request;
+
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+
+public record PostPreviewRequest(
+        Integer no,
+        Integer length
+) {
+    public static final int MAX_LENGTH = 10000;
+
+    public static PostPreviewRequest from(Integer no, Integer length) {
+        if (length == null || length < 1 || length > MAX_LENGTH) {
+            throw new ApplicationException(ErrorCode.INVALID_PARAMETER);
+        }
+        return new PostPreviewRequest(no, length);
+    }
+}
@@ -2,9 +2,22 @@ package com.sehako.streamboard.presentation.request;
 
 public record PostRetrieveRequest(
         Integer cursor,
-        Integer size
+        Integer size,
+        PageDirection direction
 ) {
+    public PostRetrieveRequest(Integer cursor, Integer size) {
+        this(cursor, size, PageDirection.NEXT);
+    }
+
     public static PostRetrieveRequest from(Integer cursor, Integer size) {
         return new PostRetrieveRequest(cursor, size);
     }
+
+    public static PostRetrieveRequest from(Integer cursor, Integer size, PageDirection direction) {
+        return new PostRetrieveRequest(cursor, size, direction);
+    }
+
+    public PostRetrieveRequest withCursor(Integer cursor) {
+        return new PostRetrieveRequest(cursor, size, direction);
+    }
 }
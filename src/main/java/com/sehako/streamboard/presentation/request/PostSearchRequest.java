@@ -0,0 +1,22 @@
+package com.sehako.streamboard.presentation.request;
+
+import com.sehako.streamboard.application.search.PostSearchCursor;
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.common.response.message.code.ErrorCode;
+
+public record PostSearchRequest(
+        String query,
+        PostSearchCursor cursor,
+        Integer size
+) {
+    public static final int MAX_SIZE = 100;
+    public static final int MAX_QUERY_LENGTH = 100;
+
+    public static PostSearchRequest from(String query, String cursor, Integer size) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH
+                || size == null || size < 1 || size > MAX_SIZE) {
+            throw new ApplicationException(ErrorCode.INVALID_PARAMETER);
+        }
+        return new PostSearchRequest(query, PostSearchCursor.parse(cursor), size);
+    }
+}
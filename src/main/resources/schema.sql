@@ -3,5 +3,22 @@ CREATE TABLE IF NOT EXISTS post
     `no`         INTEGER      NOT NULL AUTO_INCREMENT PRIMARY KEY,
     `title`      VARCHAR(100) NULL,
     `content`    TEXT         NULL,
-    `created_at` TIMESTAMP    NULL DEFAULT CURRENT_TIMESTAMP
+    `created_at` TIMESTAMP    NULL DEFAULT CURRENT_TIMESTAMP,
+    `version`    INTEGER      NOT NULL DEFAULT 0,
+    `views`      BIGINT       NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS post_content
+(
+    `no`             INTEGER NOT NULL PRIMARY KEY,
+    `content`        TEXT    NULL,
+    `content_gzip`   BLOB    NULL,
+    `content_length` BIGINT  NULL,
+    FOREIGN KEY (`no`) REFERENCES post (`no`) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS post_id_block
+(
+    `name`    VARCHAR(32) NOT NULL PRIMARY KEY,
+    `next_no` INTEGER     NOT NULL
 );
\ No newline at end of file
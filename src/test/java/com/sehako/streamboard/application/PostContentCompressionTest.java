@@ -0,0 +1,152 @@
+package com.sehako.streamboard.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPreviewResponse;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.infrastructure.domain.PostContent;
+import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostPreviewRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(properties = {
+        "streamboard.post-content.separate-table=true",
+        "streamboard.post-content.compress=true",
+        "streamboard.post-content.compress-threshold=64B"
+})
+@ActiveProfiles("test")
+class PostContentCompressionTest {
+    private static final String LONG_CONTENT = "압축해서 저장할 긴 본문입니다. ".repeat(50);
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("기준보다 긴 본문은 압축해서 저장되고 상세 조회에서는 원래 본문으로 반환된다.")
+    void compressedContentTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", LONG_CONTENT)).block();
+
+        // when
+        Mono<PostDetailRetrieveResponse> detail = postService.retrievePostDetail(new PostDetailRetrieveRequest(no));
+
+        // then
+        StepVerifier.create(detail)
+                .expectNextMatches(response -> response.content().equals(LONG_CONTENT))
+                .verifyComplete();
+        StepVerifier.create(compressedCount())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("기준보다 짧은 본문은 압축하지 않고 그대로 저장된다.")
+    void shortContentTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", "short")).block();
+
+        // when
+        Mono<PostDetailRetrieveResponse> detail = postService.retrievePostDetail(new PostDetailRetrieveRequest(no));
+
+        // then
+        StepVerifier.create(detail)
+                .expectNextMatches(response -> response.content().equals("short"))
+                .verifyComplete();
+        StepVerifier.create(compressedCount())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("압축된 본문을 짧은 본문으로 수정하면 압축되지 않은 본문으로 교체된다.")
+    void patchCompressedContentTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", LONG_CONTENT)).block();
+
+        // when
+        postService.patchPostDetail(no, new PostPatchRequest(null, "short")).block();
+
+        // then
+        StepVerifier.create(postRepository.findByNo(no))
+                .expectNextMatches(post -> post.getContent().equals("short"))
+                .verifyComplete();
+        StepVerifier.create(compressedCount())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("압축된 본문도 필요한 구간만 풀어서 바이트 구간과 미리보기로 반환된다.")
+    void compressedContentRangeTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", LONG_CONTENT)).block();
+        byte[] bytes = LONG_CONTENT.getBytes(StandardCharsets.UTF_8);
+        PostContent content = postService.retrievePostContent(no).block();
+
+        // when
+        Flux<ByteBuffer> range = postService.streamPostContent(content, 100, 200);
+        Mono<PostPreviewResponse> preview = postService.retrievePostPreview(PostPreviewRequest.from(no, 5));
+
+        // then
+        assertThat(content.isCompressed()).isTrue();
+        assertThat(content.length()).isEqualTo(bytes.length);
+        StepVerifier.create(range.reduce(0, (read, chunk) -> read + chunk.remaining()))
+                .expectNext(100)
+                .verifyComplete();
+        StepVerifier.create(preview)
+                .expectNextMatches(response -> response.content().equals(LONG_CONTENT.substring(0, 5))
+                        && response.contentLength() == bytes.length
+                        && response.truncated())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("길이를 기록하기 전에 압축된 본문은 압축된 바이트에서 길이를 읽는다.")
+    void legacyCompressedContentLengthTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", LONG_CONTENT)).block();
+        databaseClient.sql("UPDATE post_content SET content_length = NULL WHERE no = :no")
+                .bind("no", no)
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        // when
+        PostContent content = postService.retrievePostContent(no).block();
+
+        // then
+        assertThat(content.isCompressed()).isTrue();
+        assertThat(content.length()).isEqualTo(LONG_CONTENT.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private Mono<Long> compressedCount() {
+        return databaseClient.sql("SELECT COUNT(*) AS cnt FROM post_content WHERE content_gzip IS NOT NULL")
+                .map(row -> row.get("cnt", Long.class))
+                .one();
+    }
+}
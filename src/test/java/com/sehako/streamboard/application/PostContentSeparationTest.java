@@ -0,0 +1,117 @@
+package com.sehako.streamboard.application;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(properties = "streamboard.post-content.separate-table=true")
+@ActiveProfiles("test")
+class PostContentSeparationTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("본문을 분리해 저장하면 post 행에는 본문이 남지 않고 상세 조회에서는 본문이 합쳐진다.")
+    void separatedContentTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", "content")).block();
+
+        // when
+        Mono<PostDetailRetrieveResponse> detail = postService.retrievePostDetail(new PostDetailRetrieveRequest(no));
+
+        // then
+        StepVerifier.create(detail)
+                .expectNextMatches(response -> response.content().equals("content"))
+                .verifyComplete();
+        StepVerifier.create(inlineContentCount())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("본문을 분리해 저장한 게시글을 수정하면 분리된 본문이 교체된다.")
+    void patchSeparatedContentTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", "content")).block();
+
+        // when
+        postService.patchPostDetail(no, new PostPatchRequest(null, "newContent")).block();
+
+        // then
+        StepVerifier.create(postRepository.findByNo(no))
+                .expectNextMatches(post -> post.getTitle().equals("title")
+                        && post.getContent().equals("newContent"))
+                .verifyComplete();
+        StepVerifier.create(inlineContentCount())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("분리하기 전에 post 행에 저장한 본문을 수정하면 본문이 post_content로 옮겨진다.")
+    void moveInlineContentOnPatchTest() {
+        // given
+        databaseClient.sql("INSERT INTO post (title, content) VALUES ('title', 'content')").then().block();
+        Integer no = databaseClient.sql("SELECT MAX(no) AS no FROM post")
+                .map(row -> row.get("no", Integer.class))
+                .one()
+                .block();
+
+        // when
+        postService.patchPostDetail(no, new PostPatchRequest(null, "newContent")).block();
+
+        // then
+        StepVerifier.create(postRepository.findByNo(no))
+                .expectNextMatches(post -> post.getContent().equals("newContent"))
+                .verifyComplete();
+        StepVerifier.create(inlineContentCount())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("본문을 분리해 저장한 게시글을 삭제하면 분리된 본문도 함께 삭제된다.")
+    void deleteSeparatedContentTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", "content")).block();
+
+        // when
+        postService.deletePost(no).block();
+
+        // then
+        StepVerifier.create(databaseClient.sql("SELECT COUNT(*) AS cnt FROM post_content")
+                        .map(row -> row.get("cnt", Long.class))
+                        .one())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    private Mono<Long> inlineContentCount() {
+        return databaseClient.sql("SELECT COUNT(*) AS cnt FROM post WHERE content IS NOT NULL")
+                .map(row -> row.get("cnt", Long.class))
+                .one();
+    }
+}
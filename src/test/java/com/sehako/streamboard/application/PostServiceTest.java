@@ -1,13 +1,28 @@
 package com.sehako.streamboard.application;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.response.PostBatchRetrieveResponse;
 import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostPreviewResponse;
+import com.sehako.streamboard.application.response.PostProjectionResponse;
 import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.common.response.error.ApplicationException;
 import com.sehako.streamboard.infrastructure.PostRepository;
 import com.sehako.streamboard.infrastructure.domain.Post;
+import com.sehako.streamboard.infrastructure.domain.PostContent;
+import com.sehako.streamboard.presentation.request.PageDirection;
+import com.sehako.streamboard.presentation.request.PostBatchRetrieveRequest;
 import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostField;
 import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostPreviewRequest;
 import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
 import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import org.junit.jupiter.api.BeforeEach;
@@ -73,6 +88,86 @@ class PostServiceTest {
 
     }
 
+    @Test
+    @DisplayName("사용자가 게시글 목록을 조회하면 다음 페이지 여부와 다음 커서가 함께 반환된다.")
+    void postPageRetrieveTest() {
+        // given
+        List<Post> posts = postRepository.saveAll(List.of(
+                new Post("title1", "content1"),
+                new Post("title2", "content2"),
+                new Post("title3", "content3")
+        )).collectList().block();
+        Integer oldest = posts.get(0).getNo();
+        Integer middle = posts.get(1).getNo();
+
+        // when
+        Mono<PostPageResponse> first = postService.retrievePostPage(new PostRetrieveRequest(0, 2));
+        Mono<PostPageResponse> last = postService.retrievePostPage(new PostRetrieveRequest(middle, 2));
+
+        // then
+        StepVerifier.create(first)
+                .expectNextMatches(page -> page.posts().size() == 2
+                        && page.hasNext()
+                        && page.nextCursor().equals(middle))
+                .verifyComplete();
+        StepVerifier.create(last)
+                .expectNextMatches(page -> page.posts().size() == 1
+                        && page.posts().get(0).no().equals(oldest)
+                        && !page.hasNext()
+                        && page.nextCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("사용자가 이전 방향으로 게시글 목록을 조회하면 커서보다 새로운 글이 최신 글부터 반환된다.")
+    void previousPostPageRetrieveTest() {
+        // given
+        List<Post> posts = postRepository.saveAll(List.of(
+                new Post("title1", "content1"),
+                new Post("title2", "content2"),
+                new Post("title3", "content3"),
+                new Post("title4", "content4")
+        )).collectList().block();
+        Integer oldest = posts.get(0).getNo();
+
+        // when
+        Mono<PostPageResponse> page = postService.retrievePostPage(
+                new PostRetrieveRequest(oldest, 2, PageDirection.PREV)
+        );
+
+        // then
+        StepVerifier.create(page)
+                .expectNextMatches(response -> response.posts().get(0).no().equals(posts.get(2).getNo())
+                        && response.posts().get(1).no().equals(posts.get(1).getNo())
+                        && response.hasNext()
+                        && response.nextCursor().equals(posts.get(2).getNo()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("사용자가 이전 방향으로 게시글을 스트리밍하면 커서보다 새로운 글이 최신 글부터 반환된다.")
+    void previousPostStreamRetrieveTest() {
+        // given
+        List<Post> posts = postRepository.saveAll(List.of(
+                new Post("title1", "content1"),
+                new Post("title2", "content2"),
+                new Post("title3", "content3"),
+                new Post("title4", "content4")
+        )).collectList().block();
+        Integer oldest = posts.get(0).getNo();
+
+        // when
+        Flux<PostRetrieveResponse> response = postService.retrievePosts(
+                new PostRetrieveRequest(oldest, 2, PageDirection.PREV)
+        );
+
+        // then
+        StepVerifier.create(response)
+                .expectNextMatches(post -> post.no().equals(posts.get(2).getNo()))
+                .expectNextMatches(post -> post.no().equals(posts.get(1).getNo()))
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("사용자가 게시글을 조회하면 포스팅 조회 응답으로 반환된다.")
     void retrievePostingTest() {
@@ -93,6 +188,128 @@ class PostServiceTest {
 
     }
 
+    @Test
+    @DisplayName("사용자가 게시글을 조회할 때마다 조회수가 하나씩 증가하고 목록에도 반영된다.")
+    void retrievePostingViewsTest() {
+        // given
+        Post savedPost = postRepository.save(new Post("title1", "content1")).block();
+        PostDetailRetrieveRequest request = new PostDetailRetrieveRequest(savedPost.getNo());
+
+        // when
+        postService.retrievePostDetail(request).block();
+        Mono<PostDetailRetrieveResponse> response = postService.retrievePostDetail(request);
+
+        // then
+        StepVerifier.create(response)
+                .expectNextMatches(post -> post.views() == 2L)
+                .verifyComplete();
+        StepVerifier.create(postService.retrievePosts(new PostRetrieveRequest(0, 10)))
+                .expectNextMatches(post -> post.views() == 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("사용자가 게시글 미리보기를 조회하면 본문 앞부분과 전체 본문의 바이트 수가 반환된다.")
+    void retrievePostPreviewTest() {
+        // given
+        Post savedPost = postRepository.save(new Post("title1", "가나다라마바사")).block();
+
+        // when
+        Mono<PostPreviewResponse> preview = postService.retrievePostPreview(
+                PostPreviewRequest.from(savedPost.getNo(), 3)
+        );
+
+        // then
+        StepVerifier.create(preview)
+                .expectNextMatches(response -> response.content().equals("가나다")
+                        && response.contentLength() == 21L
+                        && response.truncated()
+                        && response.views() == 1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("사용자가 본문의 일부 구간을 요청하면 해당 바이트 구간만 반환된다.")
+    void streamPostContentRangeTest() {
+        // given
+        Post savedPost = postRepository.save(new Post("title1", "가나다라마바사")).block();
+        PostContent content = postService.retrievePostContent(savedPost.getNo()).block();
+
+        // when
+        Mono<String> range = join(postService.streamPostContent(content, 3, 9));
+
+        // then
+        assertThat(content.length()).isEqualTo(21L);
+        StepVerifier.create(range)
+                .expectNext("나다")
+                .verifyComplete();
+    }
+
+    // H2의 SUBSTRING은 UTF-16 글자 단위로, MySQL은 코드 포인트 단위로 자른다. 어느 쪽이든 결과가 같아야 한다.
+    @Test
+    @DisplayName("사용자가 여러 바이트 문자가 섞인 본문의 구간과 미리보기를 요청하면 문자가 잘리지 않고 반환된다.")
+    void multibyteContentRangeTest() {
+        // given
+        String text = "abc😀가나😀😀";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        Post savedPost = postRepository.save(new Post("title1", text)).block();
+        PostContent content = postService.retrievePostContent(savedPost.getNo()).block();
+
+        // when
+        Mono<String> emoji = join(postService.streamPostContent(content, 3, 7));
+        Mono<String> hangul = join(postService.streamPostContent(content, 7, 13));
+        Mono<ByteBuffer> firstByte = postService.streamPostContent(content, 3, 4).single();
+        Mono<PostPreviewResponse> preview = postService.retrievePostPreview(
+                PostPreviewRequest.from(savedPost.getNo(), 6)
+        );
+
+        // then
+        assertThat(content.length()).isEqualTo(bytes.length);
+        StepVerifier.create(emoji)
+                .expectNext("😀")
+                .verifyComplete();
+        StepVerifier.create(hangul)
+                .expectNext("가나")
+                .verifyComplete();
+        StepVerifier.create(firstByte)
+                .expectNextMatches(chunk -> chunk.remaining() == 1 && chunk.get() == bytes[3])
+                .verifyComplete();
+        StepVerifier.create(preview)
+                .expectNextMatches(response -> response.content().equals("abc😀가나")
+                        && response.contentLength() == bytes.length
+                        && response.truncated())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("사용자가 여러 게시글을 한 번에 조회하면 요청한 순서대로 반환되고 없는 번호는 따로 반환된다.")
+    void retrievePostBatchTest() {
+        // given
+        Integer first = postService.createPost(new PostWriteRequest("title1", "content1")).block();
+        Integer second = postService.createPost(new PostWriteRequest("title2", "content2")).block();
+        Integer missing = second + 100;
+        PostBatchRetrieveRequest request = PostBatchRetrieveRequest.of(
+                List.of(second, missing, first, second),
+                List.of(PostField.TITLE)
+        );
+
+        // when
+        Mono<PostBatchRetrieveResponse> response = postService.retrievePostBatch(request);
+
+        // then
+        StepVerifier.create(response)
+                .assertNext(batch -> {
+                    assertThat(batch.posts()).extracting(PostProjectionResponse::no)
+                            .containsExactly(second, first);
+                    assertThat(batch.posts()).extracting(PostProjectionResponse::title)
+                            .containsExactly("title2", "title1");
+                    assertThat(batch.posts()).extracting(PostProjectionResponse::content)
+                            .containsOnlyNulls();
+                    assertThat(batch.missing()).containsExactly(missing);
+                })
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("사용자가 게시글을 수정하면 수정된 포스팅 상세 정보가 반환된다.")
     void patchPostTest() {
@@ -113,4 +330,56 @@ class PostServiceTest {
                 )
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("사용자가 최신 버전을 기준으로 게시글을 수정하면 버전이 증가한다.")
+    void conditionalPatchPostTest() {
+        // given
+        Post post = postRepository.save(new Post("title1", "content1")).block();
+
+        // when
+        Mono<PostDetailRetrieveResponse> updated = postService.patchPostDetail(
+                post.getNo(), post.getVersion(), new PostPatchRequest("newTitle", null)
+        );
+
+        // then
+        StepVerifier.create(updated)
+                .expectNextMatches(response ->
+                        response.title().equals("newTitle")
+                                && response.content().equals("content1")
+                                && response.version() == post.getVersion() + 1
+                )
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("사용자가 오래된 버전을 기준으로 게시글을 수정하면 수정되지 않고 실패한다.")
+    void stalePatchPostTest() {
+        // given
+        Post post = postRepository.save(new Post("title1", "content1")).block();
+        postService.patchPostDetail(post.getNo(), new PostPatchRequest("newTitle", null)).block();
+
+        // when
+        Mono<PostDetailRetrieveResponse> updated = postService.patchPostDetail(
+                post.getNo(), post.getVersion(), new PostPatchRequest("staleTitle", null)
+        );
+
+        // then
+        StepVerifier.create(updated)
+                .expectError(ApplicationException.class)
+                .verify();
+        StepVerifier.create(postRepository.findByNo(post.getNo()))
+                .expectNextMatches(entity -> entity.getTitle().equals("newTitle"))
+                .verifyComplete();
+    }
+
+    private Mono<String> join(Flux<ByteBuffer> chunks) {
+        return chunks.reduce(new ByteArrayOutputStream(), (out, chunk) -> {
+                    byte[] bytes = new byte[chunk.remaining()];
+                    chunk.get(bytes);
+                    out.writeBytes(bytes);
+                    return out;
+                })
+                .map(out -> out.toString(StandardCharsets.UTF_8));
+    }
+}
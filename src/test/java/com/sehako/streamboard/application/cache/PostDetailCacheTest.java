@@ -0,0 +1,91 @@
+package com.sehako.streamboard.application.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class PostDetailCacheTest {
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Integer, Mono<PostDetailRetrieveResponse>> loader = no -> Mono.fromSupplier(() -> {
+        loads.incrementAndGet();
+        return new PostDetailRetrieveResponse(no, "title", "content", LocalDateTime.now(), 0, 0L);
+    });
+
+    private PostDetailCache postDetailCache;
+
+    @BeforeEach
+    void setUp() {
+        postDetailCache = new PostDetailCache(
+                new PostDetailCacheProperties(true, DataSize.ofMegabytes(1), Duration.ofMinutes(10)),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    @DisplayName("같은 게시글을 다시 조회하면 데이터베이스를 거치지 않고 캐시에서 반환한다.")
+    void cacheHitTest() {
+        // given
+        postDetailCache.get(1, loader).block();
+
+        // when
+        Mono<PostDetailRetrieveResponse> cached = postDetailCache.get(1, loader);
+
+        // then
+        StepVerifier.create(cached)
+                .expectNextMatches(post -> post.no() == 1)
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("게시글이 수정되면 캐시된 상세 정보가 새 값으로 교체된다.")
+    void putTest() {
+        // given
+        postDetailCache.get(1, loader).block();
+
+        // when
+        postDetailCache.put(new PostDetailRetrieveResponse(1, "newTitle", "newContent", LocalDateTime.now(), 1, 0L));
+
+        // then
+        StepVerifier.create(postDetailCache.get(1, loader))
+                .expectNextMatches(post -> post.title().equals("newTitle"))
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("게시글이 삭제되면 캐시에서 제거되어 다시 데이터베이스에서 조회한다.")
+    void invalidateTest() {
+        // given
+        postDetailCache.get(1, loader).block();
+
+        // when
+        postDetailCache.invalidate(1);
+        postDetailCache.get(1, loader).block();
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 게시글은 캐시하지 않는다.")
+    void emptyResultTest() {
+        // when
+        Mono<PostDetailRetrieveResponse> missing = postDetailCache.get(1, no -> Mono.empty());
+
+        // then
+        StepVerifier.create(missing)
+                .verifyComplete();
+    }
+}
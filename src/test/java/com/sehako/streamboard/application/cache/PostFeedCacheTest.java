@@ -0,0 +1,111 @@
+package com.sehako.streamboard.application.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+
+class PostFeedCacheTest {
+    private static final Integer MAX_CURSOR = Integer.MAX_VALUE;
+
+    private PostFeedCache postFeedCache;
+
+    @BeforeEach
+    void setUp() {
+        PostRepository postRepository = Mockito.mock(PostRepository.class);
+        Mockito.when(postRepository.findByCursor(MAX_CURSOR, 3)).thenReturn(Flux.empty());
+
+        postFeedCache = new PostFeedCache(
+                postRepository,
+                new PostFeedCacheProperties(true, 3, Duration.ofSeconds(30)),
+                new SimpleMeterRegistry()
+        );
+        postFeedCache.reload().block();
+    }
+
+    @Test
+    @DisplayName("새로 작성된 게시글은 첫 페이지 캐시의 맨 앞에 추가된다.")
+    void putPostTest() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        postFeedCache.put(new PostRetrieveResponse(1, "title1", now, 0, 0L));
+        postFeedCache.put(new PostRetrieveResponse(2, "title2", now, 0, 0L));
+
+        // when
+        Optional<List<PostRetrieveResponse>> page = postFeedCache.find(MAX_CURSOR, 10);
+
+        // then
+        assertThat(page).isEmpty();
+        assertThat(postFeedCache.find(MAX_CURSOR, 3))
+                .hasValueSatisfying(posts -> assertThat(posts)
+                        .extracting(PostRetrieveResponse::no)
+                        .containsExactly(2, 1));
+    }
+
+    @Test
+    @DisplayName("캐시 용량을 넘어 밀려난 구간의 커서 요청은 캐시에서 응답하지 않는다.")
+    void evictedWindowMissTest() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        for (int no = 1; no <= 4; no++) {
+            postFeedCache.put(new PostRetrieveResponse(no, "title" + no, now, 0, 0L));
+        }
+
+        // when
+        Optional<List<PostRetrieveResponse>> head = postFeedCache.find(MAX_CURSOR, 2);
+        Optional<List<PostRetrieveResponse>> tail = postFeedCache.find(3, 2);
+
+        // then
+        assertThat(head).hasValueSatisfying(posts -> assertThat(posts)
+                .extracting(PostRetrieveResponse::no)
+                .containsExactly(4, 3));
+        assertThat(tail).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수정되거나 삭제된 게시글은 캐시에 바로 반영된다.")
+    void updateAndRemoveTest() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        postFeedCache.put(new PostRetrieveResponse(1, "title1", now, 0, 0L));
+        postFeedCache.put(new PostRetrieveResponse(2, "title2", now, 0, 0L));
+
+        // when
+        postFeedCache.update(new PostRetrieveResponse(1, "newTitle", now, 1, 0L));
+        postFeedCache.remove(2);
+
+        // then
+        assertThat(postFeedCache.find(MAX_CURSOR, 3))
+                .hasValueSatisfying(posts -> assertThat(posts)
+                        .extracting(PostRetrieveResponse::title)
+                        .containsExactly("newTitle"));
+    }
+
+    @Test
+    @DisplayName("캐시 구간 안의 커서보다 새로운 글은 커서에 가까운 것부터 캐시에서 응답한다.")
+    void findNewerTest() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        for (int no = 1; no <= 3; no++) {
+            postFeedCache.put(new PostRetrieveResponse(no, "title" + no, now, 0, 0L));
+        }
+
+        // when
+        Optional<List<PostRetrieveResponse>> newer = postFeedCache.findNewer(1, 5);
+
+        // then
+        assertThat(newer).hasValueSatisfying(posts -> assertThat(posts)
+                .extracting(PostRetrieveResponse::no)
+                .containsExactly(2, 3));
+    }
+}
@@ -0,0 +1,60 @@
+package com.sehako.streamboard.application.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class PostPagePrefetcherTest {
+    private final PostRetrieveRequest request = new PostRetrieveRequest(10, 2);
+    private final List<PostRetrieveResponse> rows = List.of(
+            new PostRetrieveResponse(9, "title9", LocalDateTime.now(), 0, 0L),
+            new PostRetrieveResponse(8, "title8", LocalDateTime.now(), 0, 0L)
+    );
+
+    private PostPagePrefetcher postPagePrefetcher;
+
+    @BeforeEach
+    void setUp() {
+        postPagePrefetcher = new PostPagePrefetcher(
+                new PostPagePrefetchProperties(true, 100, Duration.ofSeconds(10)),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    @DisplayName("미리 읽어 둔 다음 페이지는 데이터베이스를 거치지 않고 반환된다.")
+    void prefetchHitTest() {
+        // given
+        postPagePrefetcher.prefetch(request, () -> Mono.just(rows));
+
+        // when
+
+        // then
+        assertThat(postPagePrefetcher.find(request)).hasValue(rows);
+    }
+
+    @Test
+    @DisplayName("미리 읽는 동안 게시글이 수정되면 읽어온 페이지를 버린다.")
+    void invalidatedWhileLoadingTest() {
+        // given
+        Sinks.One<List<PostRetrieveResponse>> loading = Sinks.one();
+        postPagePrefetcher.prefetch(request, loading::asMono);
+
+        // when
+        postPagePrefetcher.invalidateAll();
+        loading.tryEmitValue(rows);
+
+        // then
+        assertThat(postPagePrefetcher.find(request)).isEmpty();
+    }
+}
@@ -0,0 +1,90 @@
+package com.sehako.streamboard.application.feed;
+
+import com.sehako.streamboard.application.response.PostEvent;
+import com.sehako.streamboard.application.response.PostEventType;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class PostEventFeedTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final PostEventFeed feed = new PostEventFeed(
+            new PostEventFeedProperties(3, 16, Duration.ofHours(1)),
+            new SimpleMeterRegistry()
+    );
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    @DisplayName("구독한 뒤에 작성, 수정, 삭제된 글이 순서대로 이벤트로 전달된다.")
+    void liveEventTest() {
+        // when & then
+        StepVerifier.create(feed.subscribe(null))
+                .then(() -> {
+                    feed.created(post(1));
+                    feed.patched(post(1));
+                    feed.deleted(1);
+                })
+                .expectNextMatches(event -> event.type() == PostEventType.CREATED && event.id() == 1)
+                .expectNextMatches(event -> event.type() == PostEventType.PATCHED && event.id() == 2)
+                .expectNextMatches(event -> event.type() == PostEventType.DELETED && event.no() == 1)
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID와 함께 다시 구독하면 보관된 이벤트 중 그 이후의 이벤트부터 이어 받는다.")
+    void resumeTest() {
+        // given
+        publishAndAwait(3);
+
+        // when & then
+        StepVerifier.create(feed.subscribe(1L))
+                .expectNextMatches(event -> event.id() == 2)
+                .expectNextMatches(event -> event.id() == 3)
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("보관된 이벤트보다 오래된 번호로 다시 구독하면 목록을 다시 읽으라는 이벤트를 먼저 받는다.")
+    void resyncTest() {
+        // given
+        publishAndAwait(5);
+
+        // when & then
+        StepVerifier.create(feed.subscribe(1L))
+                .expectNextMatches(event -> event.type() == PostEventType.RESYNC && event.id() == 5)
+                .then(() -> feed.deleted(1))
+                .expectNextMatches(event -> event.type() == PostEventType.DELETED && event.id() == 6)
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    // 이벤트는 다른 스레드에서 내보내므로 마지막 이벤트가 전달될 때까지 기다린다.
+    private void publishAndAwait(int count) {
+        CompletableFuture<PostEvent> last = feed.subscribe(null)
+                .filter(event -> event.id() == count)
+                .next()
+                .toFuture();
+        for (int no = 1; no <= count; no++) {
+            feed.created(post(no));
+        }
+        Mono.fromFuture(last).block(TIMEOUT);
+    }
+
+    private static PostRetrieveResponse post(int no) {
+        return PostRetrieveResponse.created(no, "title" + no, LocalDateTime.now());
+    }
+}
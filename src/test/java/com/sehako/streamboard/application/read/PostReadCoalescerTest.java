@@ -0,0 +1,94 @@
+package com.sehako.streamboard.application.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.presentation.request.PageDirection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class PostReadCoalescerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PostReadCoalescer coalescer = new PostReadCoalescer(
+            new PostReadCoalescingProperties(true),
+            meterRegistry
+    );
+    private final AtomicInteger queries = new AtomicInteger();
+    private final Sinks.One<String> result = Sinks.one();
+
+    @Test
+    @DisplayName("같은 글을 동시에 조회하면 쿼리는 한 번만 실행되고 결과를 함께 받는다.")
+    void sharedQueryTest() {
+        // given
+        AtomicReference<String> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+        coalescer.detail(1, this::query).subscribe(first::set);
+        coalescer.detail(1, this::query).subscribe(second::set);
+
+        // when
+        result.tryEmitValue("post");
+
+        // then
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(first.get()).isEqualTo("post");
+        assertThat(second.get()).isEqualTo("post");
+        assertThat(meterRegistry.get("streamboard.read.coalesce").tag("result", "shared").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("먼저 조회한 요청이 취소해도 공유된 쿼리는 취소되지 않고 나머지 요청이 결과를 받는다.")
+    void cancelTest() {
+        // given
+        AtomicReference<String> second = new AtomicReference<>();
+        Disposable first = coalescer.detail(1, this::query).subscribe();
+        coalescer.detail(1, this::query).subscribe(second::set);
+
+        // when
+        first.dispose();
+        result.tryEmitValue("post");
+
+        // then
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(second.get()).isEqualTo("post");
+    }
+
+    @Test
+    @DisplayName("글이 수정되면 이후의 조회는 진행 중인 쿼리에 합류하지 않고 새로 읽는다.")
+    void fenceTest() {
+        // given
+        coalescer.detail(1, this::query).subscribe();
+        coalescer.page(Integer.MAX_VALUE, 11, PageDirection.NEXT, this::query).subscribe();
+
+        // when
+        coalescer.fence(1);
+        coalescer.detail(1, this::query).subscribe();
+        coalescer.page(Integer.MAX_VALUE, 11, PageDirection.NEXT, this::query).subscribe();
+
+        // then
+        assertThat(queries.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("쿼리가 끝난 뒤의 조회는 끝난 결과를 받지 않고 새로 읽는다.")
+    void completedQueryTest() {
+        // given
+        coalescer.detail(1, () -> Mono.fromSupplier(() -> "post" + queries.incrementAndGet())).block();
+
+        // when
+        String next = coalescer.detail(1, () -> Mono.fromSupplier(() -> "post" + queries.incrementAndGet())).block();
+
+        // then
+        assertThat(next).isEqualTo("post2");
+    }
+
+    private Mono<String> query() {
+        queries.incrementAndGet();
+        return result.asMono();
+    }
+}
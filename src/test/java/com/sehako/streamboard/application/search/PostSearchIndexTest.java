@@ -0,0 +1,77 @@
+package com.sehako.streamboard.application.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.infrastructure.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class PostSearchIndexTest {
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postSearchIndex = new PostSearchIndex(
+                Mockito.mock(PostRepository.class),
+                new PostSearchProperties(true, 3),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    @DisplayName("한글은 조사가 붙어 있어도, 영문은 대소문자와 관계없이 검색된다.")
+    void tokenizeTest() {
+        // given
+        postSearchIndex.index(1, 0, "게시판에서 글쓰기", "Reactive Streams 소개");
+        postSearchIndex.index(2, 0, "다른 글", "내용");
+
+        // when
+        List<PostSearchHit> korean = postSearchIndex.search("게시판", null, 10);
+        List<PostSearchHit> english = postSearchIndex.search("reactive STREAMS", null, 10);
+
+        // then
+        assertThat(korean).extracting(PostSearchHit::no).containsExactly(1);
+        assertThat(english).extracting(PostSearchHit::no).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("제목에 검색어가 있는 글이 본문에만 있는 글보다 앞에 오고, 커서 이후의 결과만 이어서 반환된다.")
+    void rankingAndCursorTest() {
+        // given
+        postSearchIndex.index(1, 0, "일반 글", "스프링 웹플럭스 이야기");
+        postSearchIndex.index(2, 0, "스프링 웹플럭스", "정리");
+        postSearchIndex.index(3, 0, "무관한 글", "다른 이야기");
+
+        // when
+        List<PostSearchHit> first = postSearchIndex.search("스프링", null, 1);
+        List<PostSearchHit> second = postSearchIndex.search("스프링", first.get(0).cursor(), 1);
+        List<PostSearchHit> third = postSearchIndex.search("스프링", second.get(0).cursor(), 1);
+
+        // then
+        assertThat(first).extracting(PostSearchHit::no).containsExactly(2);
+        assertThat(second).extracting(PostSearchHit::no).containsExactly(1);
+        assertThat(third).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수정된 글은 새 내용으로만 검색되고, 삭제된 글이나 오래된 버전은 다시 색인되지 않는다.")
+    void incrementalUpdateTest() {
+        // given
+        postSearchIndex.index(1, 0, "처음 제목", "kotlin");
+        postSearchIndex.index(2, 0, "삭제할 글", "kotlin");
+
+        // when
+        postSearchIndex.index(1, 1, "바뀐 제목", "java");
+        postSearchIndex.index(1, 0, "처음 제목", "kotlin");
+        postSearchIndex.remove(2);
+        postSearchIndex.index(2, 0, "삭제할 글", "kotlin");
+
+        // then
+        assertThat(postSearchIndex.search("kotlin", null, 10)).isEmpty();
+        assertThat(postSearchIndex.search("java", null, 10)).extracting(PostSearchHit::no).containsExactly(1);
+    }
+}
@@ -0,0 +1,111 @@
+package com.sehako.streamboard.application.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.infrastructure.domain.Post;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {
+        "streamboard.view-counter.flush-interval=1h",
+        "streamboard.view-counter.hard-limit=5000"
+})
+@ActiveProfiles("test")
+class PostViewCounterTest {
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 글을 동시에 조회해도 조회수가 빠짐없이 한 번에 기록된다.")
+    void concurrentIncrementTest() throws InterruptedException {
+        // given
+        Post post = postRepository.save(new Post("title", "content")).block();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        IntStream.range(0, 1000)
+                .forEach(i -> executor.execute(() -> postViewCounter.increment(post.getNo(), 0L)));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        long pending = postViewCounter.current(post.getNo(), 0L);
+        postViewCounter.flush().block();
+
+        // then
+        assertThat(pending).isEqualTo(1000L);
+        assertThat(postRepository.findByNo(post.getNo()).block().getViews()).isEqualTo(1000L);
+    }
+
+    @Test
+    @DisplayName("기록된 조회수와 기록 전의 오래된 값을 함께 넘겨도 증가분이 두 번 더해지지 않는다.")
+    void currentAfterFlushTest() {
+        // given
+        Post post = postRepository.save(new Post("title", "content")).block();
+        postViewCounter.increment(post.getNo(), 0L);
+        postViewCounter.increment(post.getNo(), 0L);
+        postViewCounter.flush().block();
+
+        // when
+        postViewCounter.increment(post.getNo(), 0L);
+        long stale = postViewCounter.current(post.getNo(), 0L);
+        long fresh = postViewCounter.current(post.getNo(), 2L);
+
+        // then
+        assertThat(stale).isEqualTo(3L);
+        assertThat(fresh).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 기록한 조회수를 읽으면 그 값 위에 이 인스턴스의 증가분을 더한다.")
+    void observeOtherInstanceTest() {
+        // given
+        Post post = postRepository.save(new Post("title", "content")).block();
+        postViewCounter.increment(post.getNo(), 0L);
+
+        // when
+        long views = postViewCounter.increment(post.getNo(), 10L);
+
+        // then
+        assertThat(views).isEqualTo(12L);
+    }
+
+    @Test
+    @DisplayName("기록하지 못한 조회수가 상한에 이르면 더 세지 않고 버린 조회수를 지표로 센다.")
+    void hardLimitTest() {
+        // given
+        Post post = postRepository.save(new Post("title", "content")).block();
+        postViewCounter.flush().block();
+        double before = meterRegistry.counter("streamboard.views.dropped").count();
+
+        // when
+        for (int i = 0; i < 5010; i++) {
+            postViewCounter.increment(post.getNo(), 0L);
+        }
+
+        // then
+        assertThat(postViewCounter.current(post.getNo(), 0L)).isEqualTo(5000L);
+        assertThat(meterRegistry.counter("streamboard.views.dropped").count() - before).isEqualTo(10.0);
+        postViewCounter.flush().block();
+    }
+}
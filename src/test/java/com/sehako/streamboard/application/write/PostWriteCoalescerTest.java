@@ -0,0 +1,87 @@
+package com.sehako.streamboard.application.write;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(properties = {
+        "streamboard.write-batch.enabled=true",
+        "streamboard.write-batch.window=50ms"
+})
+@ActiveProfiles("test")
+class PostWriteCoalescerTest {
+
+    @Autowired
+    private PostWriteCoalescer postWriteCoalescer;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 게시글 작성 요청은 한 번에 기록되고 각자 생성된 번호를 받는다.")
+    void batchInsertTest() {
+        // given
+        List<PostWriteRequest> requests = List.of(
+                new PostWriteRequest("title1", "content1"),
+                new PostWriteRequest("title2", "content2"),
+                new PostWriteRequest("title3", null)
+        );
+
+        // when
+        List<PostRetrieveResponse> created = Flux.fromIterable(requests)
+                .flatMap(postWriteCoalescer::submit)
+                .collectList()
+                .block();
+
+        // then
+        assertThat(created)
+                .extracting(PostRetrieveResponse::no)
+                .doesNotContainNull()
+                .doesNotHaveDuplicates();
+        StepVerifier.create(postRepository.count())
+                .expectNext(3L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("배치 중 한 건이 실패해도 나머지 게시글은 기록된다.")
+    void failureIsolationTest() {
+        // given
+        PostWriteRequest valid = new PostWriteRequest("title", "content");
+        PostWriteRequest invalid = new PostWriteRequest("t".repeat(101), "content");
+
+        // when
+        Mono<PostRetrieveResponse> validResult = postWriteCoalescer.submit(valid).cache();
+        Mono<PostRetrieveResponse> invalidResult = postWriteCoalescer.submit(invalid).cache();
+        validResult.subscribe(response -> {}, error -> {});
+        invalidResult.subscribe(response -> {}, error -> {});
+
+        // then
+        StepVerifier.create(validResult)
+                .expectNextMatches(response -> response.no() != null)
+                .verifyComplete();
+        StepVerifier.create(invalidResult)
+                .expectError()
+                .verify();
+        StepVerifier.create(postRepository.count())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+}
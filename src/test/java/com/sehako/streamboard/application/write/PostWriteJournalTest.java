@@ -0,0 +1,174 @@
+package com.sehako.streamboard.application.write;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.PostService;
+import com.sehako.streamboard.common.response.error.ApplicationException;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.infrastructure.domain.Post;
+import com.sehako.streamboard.infrastructure.journal.JournalEntry;
+import com.sehako.streamboard.infrastructure.journal.PostJournal;
+import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(properties = {
+        "streamboard.write-journal.enabled=true",
+        "streamboard.write-journal.id-block-size=4",
+        "streamboard.write-journal.segment-size=1MB"
+})
+@ActiveProfiles("test")
+class PostWriteJournalTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    // 시작하기 전에 저널에 넣어 두는, 제목이 컬럼보다 길어 기록할 수 없는 글의 번호
+    private static final int REJECTED_NO = 1_000_000;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostWriteJournal postWriteJournal;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static Path directory;
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) throws IOException {
+        directory = Files.createTempDirectory("post-journal");
+        try (PostJournal journal = new PostJournal(directory, 1024 * 1024)) {
+            JournalEntry rejected = journal.append(REJECTED_NO, "t".repeat(101), "content", LocalDateTime.now());
+            journal.sync(rejected.sequence()).block(TIMEOUT);
+        }
+        registry.add("streamboard.write-journal.directory", directory::toString);
+    }
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("저널에 기록된 글은 번호 블록을 넘어가도 겹치지 않는 번호를 받고, 곧바로 조회되며 나중에 데이터베이스에 기록된다.")
+    void appendAndDrainTest() {
+        // given
+        List<PostWriteRequest> requests = List.of(
+                new PostWriteRequest("title1", "content1"),
+                new PostWriteRequest("title2", "content2"),
+                new PostWriteRequest("title3", null),
+                new PostWriteRequest("title4", "content4"),
+                new PostWriteRequest("title5", "content5"),
+                new PostWriteRequest("title6", "content6")
+        );
+
+        // when
+        List<Integer> nos = Flux.fromIterable(requests)
+                .concatMap(postService::createPost)
+                .collectList()
+                .block(TIMEOUT);
+
+        // then
+        assertThat(nos).doesNotContainNull().doesNotHaveDuplicates().isSorted();
+        StepVerifier.create(postService.retrievePostDetail(new PostDetailRetrieveRequest(nos.get(0))))
+                .expectNextMatches(post -> post.title().equals("title1") && post.content().equals("content1"))
+                .verifyComplete();
+
+        Flux.fromIterable(nos).concatMap(postWriteJournal::awaitDrained).blockLast(TIMEOUT);
+        StepVerifier.create(postRepository.count())
+                .expectNext(6L)
+                .verifyComplete();
+        StepVerifier.create(postRepository.findByNo(nos.get(2)))
+                .expectNextMatches(post -> post.getTitle().equals("title3") && post.getContent() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("저널이 번호 블록을 예약한 뒤에 자동 증가로 기록한 글은 예약된 번호와 겹치지 않는다.")
+    void autoIncrementSkipsReservedBlockTest() {
+        // given
+        List<Integer> journaled = Flux.range(1, 3)
+                .concatMap(i -> postService.createPost(new PostWriteRequest("journaled" + i, "content")))
+                .collectList()
+                .block(TIMEOUT);
+
+        // when
+        Post inserted = postRepository.save(new Post("auto", "content")).block(TIMEOUT);
+        Integer next = postService.createPost(new PostWriteRequest("journaled4", "content")).block(TIMEOUT);
+
+        // then
+        assertThat(journaled).doesNotContain(inserted.getNo());
+        assertThat(next).isNotEqualTo(inserted.getNo());
+        Flux.fromIterable(journaled).concatWith(Flux.just(next))
+                .concatMap(postWriteJournal::awaitDrained)
+                .blockLast(TIMEOUT);
+        StepVerifier.create(postRepository.count())
+                .expectNext(5L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("저널에만 있는 글을 삭제하면 데이터베이스에 기록된 뒤에 삭제된다.")
+    void deleteJournaledPostTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", "content")).block(TIMEOUT);
+
+        // when & then
+        StepVerifier.create(postService.deletePost(no))
+                .expectNext(1)
+                .expectComplete()
+                .verify(TIMEOUT);
+        StepVerifier.create(postRepository.findByNo(no))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("제목이나 본문이 컬럼 길이를 넘으면 저널에 기록하지 않고 거절한다.")
+    void rejectLongTitleTest() {
+        // when & then
+        StepVerifier.create(postService.createPost(new PostWriteRequest("t".repeat(101), "content")))
+                .expectError(ApplicationException.class)
+                .verify(TIMEOUT);
+        StepVerifier.create(postService.createPost(new PostWriteRequest("title", "가".repeat(21_846))))
+                .expectError(ApplicationException.class)
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("저널에 데이터베이스에 기록할 수 없는 글이 있으면 정해진 횟수만큼 시도한 뒤 보관 파일로 옮기고, 뒤의 글은 계속 기록한다.")
+    void skipRejectedEntryTest() throws IOException {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("title", "content")).block(TIMEOUT);
+
+        // when
+        postWriteJournal.awaitDrained(no).block(TIMEOUT);
+
+        // then
+        assertThat(meterRegistry.counter("streamboard.journal.dead.lettered").count()).isEqualTo(1.0);
+        StepVerifier.create(postRepository.findByNo(no))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(postRepository.findByNo(REJECTED_NO))
+                .verifyComplete();
+        assertThat(Files.size(directory.resolve("dead-letter.log"))).isPositive();
+    }
+}
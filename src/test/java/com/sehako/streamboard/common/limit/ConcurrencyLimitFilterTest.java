@@ -0,0 +1,127 @@
+package com.sehako.streamboard.common.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class ConcurrencyLimitFilterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static ResponseMessages responseMessages;
+
+    @BeforeAll
+    static void setUpMessages() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("i18n/messages", "i18n/errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        responseMessages = new ResponseMessages(messageSource, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("한도만큼 처리 중이면 다음 요청은 기다리지 않고 Retry-After와 OVERLOADED 코드가 담긴 503 응답을 받는다.")
+    void rejectOverLimitTest() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(1), responseMessages, meterRegistry);
+        AtomicInteger passed = new AtomicInteger();
+        WebFilterChain pending = exchange -> {
+            passed.incrementAndGet();
+            return Mono.never();
+        };
+        Disposable first = filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/post")), pending)
+                .subscribe();
+
+        // when
+        MockServerWebExchange rejected = MockServerWebExchange.from(MockServerHttpRequest.get("/post"));
+        filter.filter(rejected, pending).block();
+
+        // then
+        assertThat(passed.get()).isEqualTo(1);
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(rejected.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(rejected.getResponse().getBodyAsString().block()).startsWith("{\"code\":\"OVERLOADED\",\"message\":\"")
+                .endsWith("\"}");
+        assertThat(meterRegistry.get("streamboard.concurrency.rejected").tag("budget", "read").counter().count())
+                .isEqualTo(1.0);
+        first.dispose();
+    }
+
+    @Test
+    @DisplayName("읽기 한도가 가득 차도 쓰기 요청은 따로 센 한도 안에서 처리된다.")
+    void separateBudgetTest() {
+        // given
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(1), responseMessages, new SimpleMeterRegistry());
+        AtomicInteger passed = new AtomicInteger();
+        WebFilterChain pending = exchange -> {
+            passed.incrementAndGet();
+            return Mono.never();
+        };
+        Disposable read = filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/post")), pending)
+                .subscribe();
+
+        // when
+        Disposable write = filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/post")), pending)
+                .subscribe();
+
+        // then
+        assertThat(passed.get()).isEqualTo(2);
+        read.dispose();
+        write.dispose();
+    }
+
+    @Test
+    @DisplayName("지연 시간이 평소보다 길어지면 동시 처리 한도가 줄어들고, 짧으면 다시 늘어난다.")
+    void adaptiveLimitTest() {
+        // given
+        ConcurrencyLimitProperties.Budget budget = new ConcurrencyLimitProperties.Budget(20, 4, 200);
+        AdaptiveLimit limit = new AdaptiveLimit(budget, properties(20));
+
+        // when
+        saturate(limit, FAST, 3);
+        int grown = limit.limit();
+        saturate(limit, SLOW, 3);
+        int shrunk = limit.limit();
+
+        // then
+        assertThat(grown).isGreaterThan(20);
+        assertThat(shrunk).isLessThan(grown);
+        assertThat(shrunk).isGreaterThanOrEqualTo(budget.minLimit());
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    private static void saturate(AdaptiveLimit limit, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos);
+            }
+        }
+    }
+
+    private static ConcurrencyLimitProperties properties(int limit) {
+        ConcurrencyLimitProperties.Budget budget = new ConcurrencyLimitProperties.Budget(limit, limit, limit);
+        return new ConcurrencyLimitProperties(true, budget, budget, 2.0, 0.2, 100, Duration.ofMillis(1500));
+    }
+}
@@ -0,0 +1,84 @@
+package com.sehako.streamboard.common.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.PostService;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StageMetricsTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("서비스 메서드와 리포지토리 쿼리는 구독이 끝날 때 소요 시간과 반환한 행 수가 기록된다.")
+    void stageMetricsTest() {
+        // given
+        postService.createPost(new PostWriteRequest("title1", "content1")).block();
+        postService.createPost(new PostWriteRequest("title2", "content2")).block();
+        DistributionSummary before = rowsOf("findByCursor");
+        long queries = before == null ? 0 : before.count();
+        double returned = before == null ? 0 : before.totalAmount();
+
+        // when
+        postService.retrievePosts(new PostRetrieveRequest(0, 10)).collectList().block();
+
+        // then
+        Timer service = meterRegistry.find("streamboard.service.duration")
+                .tags("type", "PostService", "operation", "retrievePosts", "outcome", "success")
+                .timer();
+        assertThat(service).isNotNull();
+        assertThat(service.count()).isPositive();
+
+        DistributionSummary rows = rowsOf("findByCursor");
+        assertThat(rows).isNotNull();
+        assertThat(rows.count()).isEqualTo(queries + 1);
+        assertThat(rows.totalAmount()).isEqualTo(returned + 2);
+    }
+
+    @Test
+    @DisplayName("커넥션 풀의 상태와 커넥션을 빌려 오는 데 걸린 시간이 기록된다.")
+    void connectionPoolMetricsTest() {
+        // given
+
+        // when
+        postRepository.count().block();
+
+        // then
+        assertThat(meterRegistry.find("streamboard.r2dbc.pool.acquired").gauge()).isNotNull();
+        assertThat(meterRegistry.find("streamboard.r2dbc.pool.pending").gauge()).isNotNull();
+        assertThat(meterRegistry.find("streamboard.r2dbc.pool.acquire").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+    }
+
+    private DistributionSummary rowsOf(String operation) {
+        return meterRegistry.find("streamboard.repository.rows")
+                .tags("type", "PostRepository", "operation", operation)
+                .summary();
+    }
+}
@@ -0,0 +1,130 @@
+package com.sehako.streamboard.common.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.PostService;
+import com.sehako.streamboard.infrastructure.PostRepository;
+import com.sehako.streamboard.infrastructure.domain.Post;
+import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import java.net.URI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+// 서로 다른 두 H2 인메모리 데이터베이스를 주 데이터베이스와 복제본으로 쓴다.
+// 복제가 일어나지 않으므로 같은 번호의 글을 서로 다른 제목으로 넣어 어느 쪽에서 읽었는지 구분한다.
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///routing-primary?options=DB_CLOSE_DELAY=-1",
+        "spring.sql.init.mode=always",
+        "streamboard.replica-routing.enabled=true",
+        "streamboard.replica-routing.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "streamboard.replica-routing.health-check-interval=1h",
+        "streamboard.replica-routing.read-your-writes=10s"
+})
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+    static final String REPLICA_URL = "r2dbc:h2:mem:///routing-replica?options=DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private DatabaseClient replica;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory replicaFactory = ConnectionFactories.get(REPLICA_URL);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"))
+                .populate(replicaFactory)
+                .block();
+        replica = DatabaseClient.create(replicaFactory);
+        replica.sql("DELETE FROM post").then().block();
+        postRepository.deleteAll().block();
+
+        ((ReplicaRoutingConnectionFactory) connectionFactory).checkHealth().block();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 조회는 복제본에서 읽고, 트랜잭션 밖의 쿼리와 쓰기는 주 데이터베이스에서 처리된다.")
+    void readOnlyRoutingTest() {
+        // given
+        Integer no = postService.createPost(new PostWriteRequest("primary", "content")).block();
+        insertReplica(no, "replica");
+        ReplicaRoutingConnectionFactory routing = (ReplicaRoutingConnectionFactory) connectionFactory;
+        long replicaRoutes = routing.routed("replica");
+        long fallbacks = routing.routed("fallback");
+
+        // when & then
+        StepVerifier.create(postService.retrievePostDetail(new PostDetailRetrieveRequest(no)))
+                .expectNextMatches(post -> post.title().equals("replica"))
+                .verifyComplete();
+        assertThat(routing.routed("replica")).isGreaterThan(replicaRoutes);
+        assertThat(routing.routed("fallback")).isEqualTo(fallbacks);
+        StepVerifier.create(postRepository.findByNo(no).map(Post::getTitle))
+                .expectNext("primary")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("글을 쓴 클라이언트는 쿠키가 유효한 동안 자신이 쓴 글을 주 데이터베이스에서 읽는다.")
+    void readYourWritesTest() {
+        // given
+        EntityExchangeResult<byte[]> created = webTestClient.post().uri("/post")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PostWriteRequest("primary", "content"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectCookie().exists(ReadYourWritesFilter.COOKIE_NAME)
+                .expectBody().returnResult();
+        URI location = created.getResponseHeaders().getLocation();
+        ResponseCookie cookie = created.getResponseCookies().getFirst(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(location).isNotNull();
+        assertThat(cookie).isNotNull();
+        insertReplica(Integer.valueOf(location.getPath().substring("/post/".length())), "replica");
+
+        // when & then
+        webTestClient.get().uri(location)
+                .cookie(cookie.getName(), cookie.getValue())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result.title").isEqualTo("primary");
+        webTestClient.get().uri(location)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result.title").isEqualTo("replica");
+    }
+
+    private void insertReplica(Integer no, String title) {
+        replica.sql("INSERT INTO post (`no`, title, content, version) VALUES (:no, :title, 'content', 0)")
+                .bind("no", no)
+                .bind("title", title)
+                .then()
+                .block();
+    }
+}
@@ -0,0 +1,38 @@
+package com.sehako.streamboard.common.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.common.metrics.ConnectionPoolMetrics;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///startup-warmup?options=DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.pool.initial-size=3",
+        "spring.sql.init.mode=always",
+        "streamboard.startup.warmup=true"
+})
+@ActiveProfiles("test")
+class StartupWarmupTest {
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Test
+    @DisplayName("예열을 켜면 요청을 받기 전에 커넥션 풀이 initial-size만큼 채워져 있다.")
+    void warmupPoolTest() {
+        // given
+        ConnectionPool pool = ConnectionPoolMetrics.unwrap(connectionFactory);
+
+        // when & then
+        assertThat(pool).isNotNull();
+        assertThat(pool.getMetrics()).isPresent();
+        assertThat(pool.getMetrics().map(PoolMetrics::allocatedSize).orElse(0)).isGreaterThanOrEqualTo(3);
+    }
+}
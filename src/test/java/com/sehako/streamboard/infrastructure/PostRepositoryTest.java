@@ -1,5 +1,6 @@
 package com.sehako.streamboard.infrastructure;
 
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
 import com.sehako.streamboard.common.configuration.R2dbcAuditingConfiguration;
 import com.sehako.streamboard.infrastructure.domain.Post;
 import java.util.List;
@@ -58,7 +59,7 @@ class PostRepositoryTest {
 
         postRepository.saveAll(posts).subscribe();
         // when
-        Flux<Post> searchedPosts = postRepository.findByCursor(0, 10);
+        Flux<PostRetrieveResponse> searchedPosts = postRepository.findByCursor(0, 10);
         // then
         StepVerifier.create(searchedPosts)
                 .expectNextCount(5)
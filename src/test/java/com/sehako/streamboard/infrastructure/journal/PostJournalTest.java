@@ -0,0 +1,162 @@
+package com.sehako.streamboard.infrastructure.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+class PostJournalTest {
+    private static final long SEGMENT_SIZE = 4096;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("기록한 글은 다시 열었을 때 체크포인트 이후의 것만 순서대로 복구된다.")
+    void recoverAfterCheckpointTest() {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_000);
+        try (PostJournal journal = new PostJournal(directory, SEGMENT_SIZE)) {
+            journal.append(1, "title1", "content1", createdAt);
+            journal.append(2, "title2", null, createdAt);
+            JournalEntry last = journal.append(3, "제목3", "본문3", createdAt);
+            StepVerifier.create(journal.sync(last.sequence()))
+                    .expectComplete()
+                    .verify(TIMEOUT);
+            journal.checkpoint(1);
+        }
+
+        // when
+        List<JournalEntry> recovered;
+        try (PostJournal journal = new PostJournal(directory, SEGMENT_SIZE)) {
+            recovered = journal.recovered();
+        }
+
+        // then
+        assertThat(recovered).extracting(JournalEntry::no).containsExactly(2, 3);
+        assertThat(recovered.get(0).content()).isNull();
+        assertThat(recovered.get(1).title()).isEqualTo("제목3");
+        assertThat(recovered.get(1).createdAt()).isEqualTo(createdAt);
+    }
+
+    @Test
+    @DisplayName("마지막 레코드가 쓰다가 끊겼다면 그 앞까지만 복구하고 이어서 기록한다.")
+    void tornRecordTest() throws IOException {
+        // given
+        try (PostJournal journal = new PostJournal(directory, SEGMENT_SIZE)) {
+            journal.append(1, "title1", "content1", LocalDateTime.now());
+            JournalEntry torn = journal.append(2, "title2", "content2", LocalDateTime.now());
+            StepVerifier.create(journal.sync(torn.sequence()))
+                    .expectComplete()
+                    .verify(TIMEOUT);
+        }
+        corruptLastByte(segments().get(0), "content2");
+
+        // when
+        try (PostJournal journal = new PostJournal(directory, SEGMENT_SIZE)) {
+            JournalEntry next = journal.append(3, "title3", "content3", LocalDateTime.now());
+
+            // then
+            assertThat(journal.recovered()).extracting(JournalEntry::no).containsExactly(1);
+            assertThat(next.sequence()).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    @DisplayName("보관한 글은 체크포인트가 지나도 남고, 끊긴 레코드 뒤에 보관한 글도 다시 읽힌다.")
+    void deadLetterTest() throws IOException {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        try (PostJournal journal = new PostJournal(directory, SEGMENT_SIZE)) {
+            JournalEntry rejected = journal.append(1, "title1", "content1", createdAt);
+            journal.deadLetter(List.of(rejected));
+            journal.checkpoint(rejected.sequence());
+        }
+        corruptLastByte(directory.resolve("dead-letter.log"), "content1");
+
+        // when
+        List<JournalEntry> deadLetters;
+        try (PostJournal journal = new PostJournal(directory, SEGMENT_SIZE)) {
+            journal.deadLetter(List.of(new JournalEntry(2, 2, "title2", "content2", createdAt)));
+            deadLetters = journal.deadLetters();
+            journal.clearDeadLetters();
+
+            // then
+            assertThat(journal.recovered()).isEmpty();
+            assertThat(journal.deadLetters()).isEmpty();
+        }
+        assertThat(deadLetters).extracting(JournalEntry::no).containsExactly(2);
+        assertThat(deadLetters.get(0).content()).isEqualTo("content2");
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 새 파일로 넘어가고, 모두 반영된 세그먼트는 체크포인트에서 지워진다.")
+    void rotateAndReleaseTest() throws IOException {
+        // given
+        String content = "c".repeat(1000);
+        try (PostJournal journal = new PostJournal(directory, SEGMENT_SIZE)) {
+            JournalEntry last = null;
+            for (int no = 1; no <= 10; no++) {
+                last = journal.append(no, "title", content, LocalDateTime.now());
+            }
+            StepVerifier.create(journal.sync(last.sequence()))
+                    .expectComplete()
+                    .verify(TIMEOUT);
+            int rotated = segments().size();
+
+            // when
+            journal.checkpoint(last.sequence());
+
+            // then
+            assertThat(rotated).isGreaterThan(1);
+            assertThat(segments()).hasSize(1);
+        }
+        try (PostJournal journal = new PostJournal(directory, SEGMENT_SIZE)) {
+            assertThat(journal.recovered()).isEmpty();
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // 마지막 레코드 본문의 끝 바이트를 바꿔 검사합이 맞지 않게 만든다.
+    private void corruptLastByte(Path segment, String lastContent) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        byte[] marker = lastContent.getBytes();
+        int end = lastIndexOf(bytes, marker) + marker.length - 1;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (bytes[end] ^ 0xFF)}), end);
+        }
+    }
+
+    private int lastIndexOf(byte[] bytes, byte[] marker) {
+        for (int i = bytes.length - marker.length; i >= 0; i--) {
+            boolean match = true;
+            for (int j = 0; j < marker.length && match; j++) {
+                match = bytes[i + j] == marker[j];
+            }
+            if (match) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("marker not found");
+    }
+}
@@ -0,0 +1,284 @@
+package com.sehako.streamboard.presentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostRetrieveResponse;
+import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.presentation.request.PageDirection;
+import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostPatchRequest;
+import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// 리액티브 구성과 블로킹 구성이 함께 제공하는 엔드포인트의 시나리오다. 두 구성의 컨트롤러 테스트가 상속해
+// 각자의 서비스 목을 채우고 같은 요청과 검증을 실행하므로, 한쪽에만 시나리오를 추가할 수 없다.
+public abstract class PostControllerScenarios {
+
+    protected abstract WebTestClient webTestClient();
+
+    protected abstract void givenCreated(PostWriteRequest request, Integer no);
+
+    protected abstract void givenPage(PostRetrieveRequest request, PostPageResponse page);
+
+    protected abstract void givenPageVersion(PostRetrieveRequest request, String version);
+
+    protected abstract void givenDetail(PostDetailRetrieveRequest request, PostDetailRetrieveResponse detail);
+
+    // 304 응답에서도 조회수를 세므로 조회수 증가도 함께 준비한다.
+    protected abstract void givenVersion(Integer no, Integer version);
+
+    protected abstract void givenPatched(Integer no, PostPatchRequest request, PostDetailRetrieveResponse patched);
+
+    protected abstract void givenPatched(
+            Integer no, Integer version, PostPatchRequest request, PostDetailRetrieveResponse patched
+    );
+
+    protected abstract void givenDeleted(Integer no);
+
+    protected abstract void verifyNoServiceCalls();
+
+    protected abstract void verifyPageNotRead();
+
+    protected abstract void verifyDetailNotReadButViewCounted(Integer no);
+
+    @Test
+    @DisplayName("사용자가 요청한 포스팅 생성이 성공하면 201 응답이 반환된다.")
+    void userPostingWriteRequestTest() {
+        // given
+        PostWriteRequest request = new PostWriteRequest("title", "content");
+
+        // when
+        givenCreated(request, 1);
+
+        // then
+        webTestClient().post().uri("/post")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Location", "/post/1");
+    }
+
+    @Test
+    @DisplayName("사용자가 포스팅 조회를 요청하면 포스팅 리스트가 반환된다.")
+    void retrievePostingListTest() {
+        // given
+        PostRetrieveRequest request = new PostRetrieveRequest(0, 10);
+
+        // when
+        LocalDateTime now = LocalDateTime.now();
+        givenPage(request, new PostPageResponse(
+                List.of(
+                        new PostRetrieveResponse(1, "title1", now, 0, 0L),
+                        new PostRetrieveResponse(1, "title2", now, 0, 0L),
+                        new PostRetrieveResponse(1, "title3", now, 0, 0L),
+                        new PostRetrieveResponse(1, "title4", now, 0, 0L),
+                        new PostRetrieveResponse(1, "title5", now, 0, 0L)
+                ),
+                false,
+                null
+        ));
+
+        // then
+        webTestClient().get().uri("/post")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<JsonResponse<PostPageResponse>>() {
+                })
+                .consumeWith(response -> {
+                    JsonResponse<PostPageResponse> body = response.getResponseBody();
+                    assertThat(body).isNotNull();
+                    assertThat(body.result().posts()).hasSize(5);
+                    assertThat(body.result().hasNext()).isFalse();
+                });
+    }
+
+    @Test
+    @DisplayName("사용자가 이전 방향으로 포스팅 조회를 요청하면 다음 페이지 여부와 커서가 함께 반환된다.")
+    void retrievePreviousPostingListTest() {
+        // given
+        PostRetrieveRequest request = new PostRetrieveRequest(3, 2, PageDirection.PREV);
+
+        // when
+        LocalDateTime now = LocalDateTime.now();
+        givenPage(request, new PostPageResponse(
+                List.of(
+                        new PostRetrieveResponse(5, "title5", now, 0, 0L),
+                        new PostRetrieveResponse(4, "title4", now, 0, 0L)
+                ),
+                true,
+                5
+        ));
+
+        // then
+        webTestClient().get().uri("/post?cursor=3&size=2&direction=prev")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result.posts[0].no").isEqualTo(5)
+                .jsonPath("$.result.hasNext").isEqualTo(true)
+                .jsonPath("$.result.nextCursor").isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("사용자가 알 수 없는 방향으로 포스팅 조회를 요청하면 400 응답이 반환된다.")
+    void invalidDirectionPostingListTest() {
+        // given
+
+        // when
+
+        // then
+        webTestClient().get().uri("/post?direction=sideways")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("INVALID_PARAMETER");
+        verifyNoServiceCalls();
+    }
+
+    @Test
+    @DisplayName("사용자가 포스트를 조회하면 포스팅 상세 내역을 반환한다.")
+    void retrievePostDetailTest() {
+        // given
+        Integer no = 1;
+        givenDetail(
+                new PostDetailRetrieveRequest(no),
+                new PostDetailRetrieveResponse(no, "title", "content", LocalDateTime.now(), 0, 0L)
+        );
+
+        // when
+        webTestClient().get().uri("/post/{no}", no)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"1-0\"")
+                .expectBody(new ParameterizedTypeReference<JsonResponse<PostDetailRetrieveResponse>>() {
+                })
+                .consumeWith(response -> {
+                    PostDetailRetrieveResponse body = response.getResponseBody().result();
+                    assertThat(body).isNotNull();
+                });
+
+        // then
+    }
+
+    @Test
+    @DisplayName("사용자가 가진 ETag와 게시글 버전이 같으면 본문 없이 304 응답이 반환된다.")
+    void notModifiedPostDetailTest() {
+        // given
+        Integer no = 1;
+
+        // when
+        givenVersion(no, 2);
+
+        // then
+        webTestClient().get().uri("/post/{no}", no)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-2\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"1-2\"")
+                .expectBody().isEmpty();
+        verifyDetailNotReadButViewCounted(no);
+    }
+
+    @Test
+    @DisplayName("사용자가 가진 ETag와 게시글 목록의 검증 값이 같으면 304 응답이 반환된다.")
+    void notModifiedPostingListTest() {
+        // given
+        PostRetrieveRequest request = new PostRetrieveRequest(0, 10);
+
+        // when
+        givenPageVersion(request, "5-abc");
+
+        // then
+        webTestClient().get().uri("/post")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"p5-abc\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        verifyPageNotRead();
+    }
+
+    @Test
+    @DisplayName("사용자가 게시글 수정 요청을 보내면 새롭게 수정된 게시글이 반환된다.")
+    void patchPostTest() {
+        // given
+        PostPatchRequest request = new PostPatchRequest("newTitle", "newContent");
+
+        // when
+        givenPatched(1, request,
+                new PostDetailRetrieveResponse(1, "newTitle", "newContent", LocalDateTime.now(), 1, 0L));
+
+        // then
+        webTestClient().patch().uri("/post/{no}", 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<JsonResponse<PostDetailRetrieveResponse>>() {
+                })
+                .consumeWith(response -> {
+                    PostDetailRetrieveResponse data = response.getResponseBody().result();
+                    assertThat(data.content()).isEqualTo("newContent");
+                });
+    }
+
+    @Test
+    @DisplayName("사용자가 If-Match 헤더와 함께 게시글 수정을 요청하면 해당 버전을 기준으로 수정하고 새 ETag를 반환한다.")
+    void conditionalPatchPostTest() {
+        // given
+        PostPatchRequest request = new PostPatchRequest("newTitle", null);
+
+        // when
+        givenPatched(1, 3, request,
+                new PostDetailRetrieveResponse(1, "newTitle", "content", LocalDateTime.now(), 4, 0L));
+
+        // then
+        webTestClient().patch().uri("/post/{no}", 1)
+                .header(HttpHeaders.IF_MATCH, "W/\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"1-4\"");
+    }
+
+    @Test
+    @DisplayName("사용자가 다른 게시글의 ETag로 수정을 요청하면 412 응답이 반환된다.")
+    void mismatchedIfMatchPatchPostTest() {
+        // given
+        PostPatchRequest request = new PostPatchRequest("newTitle", null);
+
+        // then
+        webTestClient().patch().uri("/post/{no}", 1)
+                .header(HttpHeaders.IF_MATCH, "\"2-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    @DisplayName("사용자가 게시글 삭제 요청을 보내면 게시글을 삭제한다.")
+    void deletePostTest() {
+        // given
+        Integer no = 1;
+
+        // when
+        givenDeleted(no);
+
+        // then
+        webTestClient().delete().uri("/post/{no}", no)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
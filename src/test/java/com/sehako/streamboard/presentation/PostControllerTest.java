@@ -2,33 +2,63 @@ package com.sehako.streamboard.presentation;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.sehako.streamboard.application.PostService;
+import com.sehako.streamboard.application.response.PostBatchRetrieveResponse;
 import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.application.response.PostEvent;
+import com.sehako.streamboard.application.response.PostPageResponse;
+import com.sehako.streamboard.application.response.PostProjectionResponse;
 import com.sehako.streamboard.application.response.PostRetrieveResponse;
-import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.BinaryMediaTypes;
+import com.sehako.streamboard.common.response.message.ResponseMessages;
+import com.sehako.streamboard.infrastructure.domain.PostContent;
+import com.sehako.streamboard.presentation.request.PageDirection;
+import com.sehako.streamboard.presentation.request.PostBatchRetrieveRequest;
 import com.sehako.streamboard.presentation.request.PostDetailRetrieveRequest;
+import com.sehako.streamboard.presentation.request.PostField;
 import com.sehako.streamboard.presentation.request.PostPatchRequest;
 import com.sehako.streamboard.presentation.request.PostRetrieveRequest;
 import com.sehako.streamboard.presentation.request.PostWriteRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import org.assertj.core.api.Assertions;
+import java.util.Map;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 @WebFluxTest(PostController.class)
+@Import({ResponseMessages.class, PostDetailBodyCache.class})
 @ActiveProfiles("test")
-class PostControllerTest {
+class PostControllerTest extends PostControllerScenarios {
 
     @Autowired
     private WebTestClient webTestClient;
@@ -36,123 +66,354 @@ class PostControllerTest {
     @MockitoBean
     private PostService postService;
 
+    @TestConfiguration
+    @EnableConfigurationProperties(PostDetailBodyCacheProperties.class)
+    static class MeterRegistryConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Override
+    protected WebTestClient webTestClient() {
+        return webTestClient;
+    }
+
+    @Override
+    protected void givenCreated(PostWriteRequest request, Integer no) {
+        Mockito.when(postService.createPost(request)).thenReturn(Mono.just(no));
+    }
+
+    @Override
+    protected void givenPage(PostRetrieveRequest request, PostPageResponse page) {
+        Mockito.when(postService.retrievePostPage(request)).thenReturn(Mono.just(page));
+    }
+
+    @Override
+    protected void givenPageVersion(PostRetrieveRequest request, String version) {
+        Mockito.when(postService.retrievePostsVersion(request)).thenReturn(Mono.just(version));
+    }
+
+    @Override
+    protected void givenDetail(PostDetailRetrieveRequest request, PostDetailRetrieveResponse detail) {
+        Mockito.when(postService.retrievePostDetail(request)).thenReturn(Mono.just(detail));
+    }
+
+    @Override
+    protected void givenVersion(Integer no, Integer version) {
+        Mockito.when(postService.retrievePostVersion(no)).thenReturn(Mono.just(version));
+        Mockito.when(postService.countView(no)).thenReturn(Mono.empty());
+    }
+
+    @Override
+    protected void givenPatched(Integer no, PostPatchRequest request, PostDetailRetrieveResponse patched) {
+        Mockito.when(postService.patchPostDetail(no, request)).thenReturn(Mono.just(patched));
+    }
+
+    @Override
+    protected void givenPatched(
+            Integer no, Integer version, PostPatchRequest request, PostDetailRetrieveResponse patched
+    ) {
+        Mockito.when(postService.patchPostDetail(no, version, request)).thenReturn(Mono.just(patched));
+    }
+
+    @Override
+    protected void givenDeleted(Integer no) {
+        Mockito.when(postService.deletePost(no)).thenReturn(Mono.just(1));
+    }
+
+    @Override
+    protected void verifyNoServiceCalls() {
+        Mockito.verifyNoInteractions(postService);
+    }
+
+    @Override
+    protected void verifyPageNotRead() {
+        Mockito.verify(postService, Mockito.never()).retrievePostPage(Mockito.any());
+    }
+
+    @Override
+    protected void verifyDetailNotReadButViewCounted(Integer no) {
+        Mockito.verify(postService, Mockito.never()).retrievePostDetail(Mockito.any());
+        Mockito.verify(postService).countView(no);
+    }
+
     @Test
-    @DisplayName("사용자가 요청한 포스팅 생성이 성공하면 201 응답이 반환된다.")
-    void userPostingWriteRequestTest() {
+    @DisplayName("사용자가 NDJSON으로 포스팅 조회를 요청하면 포스팅이 한 건씩 스트리밍된다.")
+    void streamPostingListTest() {
         // given
-        PostWriteRequest request = new PostWriteRequest("title", "content");
+        PostRetrieveRequest request = new PostRetrieveRequest(0, 10);
 
         // when
-        Mockito.when(postService.createPost(request)).thenReturn(Mono.just(1));
+        LocalDateTime now = LocalDateTime.now();
+        Mockito.when(postService.retrievePosts(request)).thenReturn(
+                Flux.just(
+                        new PostRetrieveResponse(3, "title3", now, 0, 0L),
+                        new PostRetrieveResponse(2, "title2", now, 0, 0L),
+                        new PostRetrieveResponse(1, "title1", now, 0, 0L)
+                )
+        );
 
         // then
-        webTestClient.post().uri("/post")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
+        Flux<PostRetrieveResponse> body = webTestClient.get().uri("/post")
+                .accept(MediaType.APPLICATION_NDJSON)
                 .exchange()
-                .expectStatus().isCreated()
-                .expectHeader().valueEquals("Location", "/post/1");
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(PostRetrieveResponse.class)
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .expectNextMatches(response -> response.no() == 3)
+                .expectNextMatches(response -> response.no() == 2)
+                .expectNextMatches(response -> response.no() == 1)
+                .verifyComplete();
     }
 
     @Test
-    @DisplayName("사용자가 포스팅 조회를 요청하면 포스팅 리스트가 반환된다.")
-    void retrievePostingListTest() {
+    @DisplayName("사용자가 NDJSON으로 이전 방향 포스팅 조회를 요청하면 커서보다 새로운 포스팅이 최신 글부터 스트리밍된다.")
+    void streamPreviousPostingListTest() {
         // given
-        PostRetrieveRequest request = new PostRetrieveRequest(0, 10);
+        PostRetrieveRequest request = new PostRetrieveRequest(3, 2, PageDirection.PREV);
 
         // when
         LocalDateTime now = LocalDateTime.now();
         Mockito.when(postService.retrievePosts(request)).thenReturn(
                 Flux.just(
-                        new PostRetrieveResponse(1, "title1", now),
-                        new PostRetrieveResponse(1, "title2", now),
-                        new PostRetrieveResponse(1, "title3", now),
-                        new PostRetrieveResponse(1, "title4", now),
-                        new PostRetrieveResponse(1, "title5", now)
+                        new PostRetrieveResponse(5, "title5", now, 0, 0L),
+                        new PostRetrieveResponse(4, "title4", now, 0, 0L)
                 )
         );
 
         // then
-        webTestClient.get().uri("/post")
+        Flux<PostRetrieveResponse> body = webTestClient.get().uri("/post?cursor=3&size=2&direction=prev")
+                .accept(MediaType.APPLICATION_NDJSON)
                 .exchange()
                 .expectStatus().isOk()
-                .expectBody(new ParameterizedTypeReference<JsonResponse<List<PostRetrieveResponse>>>() {
-                })
-                .consumeWith(response -> {
-                    JsonResponse<List<PostRetrieveResponse>> body = response.getResponseBody();
-                    assertThat(body).isNotNull();
-                    assertThat(body.result()).hasSize(5);
-                });
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(PostRetrieveResponse.class)
+                .getResponseBody();
 
+        StepVerifier.create(body)
+                .expectNextMatches(response -> response.no() == 5)
+                .expectNextMatches(response -> response.no() == 4)
+                .verifyComplete();
+        Mockito.verify(postService, Mockito.never()).retrievePostPage(Mockito.any());
     }
 
     @Test
-    @DisplayName("사용자가 포스트를 조회하면 포스팅 상세 내역을 반환한다.")
-    void retrievePostDetailTest() {
+    @DisplayName("사용자가 여러 게시글 번호로 조회하면 요청한 필드만 담긴 게시글과 없는 번호가 반환된다.")
+    void retrievePostBatchTest() {
         // given
-        Integer no = 1;
-        PostDetailRetrieveRequest request = new PostDetailRetrieveRequest(no);
-
-        Mockito.when(postService.retrievePostDetail(request))
-                .thenReturn(
-                        Mono.just(
-                                new PostDetailRetrieveResponse(
-                                        no, "title", "content", LocalDateTime.now()
-                                )
-                        )
-                );
+        PostBatchRetrieveRequest request = PostBatchRetrieveRequest.of(List.of(2, 3, 1), List.of(PostField.TITLE));
 
         // when
-        webTestClient.get().uri("/post/{no}", no)
+        Mockito.when(postService.retrievePostBatch(request))
+                .thenReturn(Mono.just(new PostBatchRetrieveResponse(
+                        List.of(
+                                new PostProjectionResponse(2, "title2", null, null, null, null),
+                                new PostProjectionResponse(1, "title1", null, null, null, null)
+                        ),
+                        List.of(3)
+                )));
+
+        // then
+        webTestClient.get().uri("/post?ids=2,3,1&fields=title")
                 .exchange()
                 .expectStatus().isOk()
-                .expectBody(new ParameterizedTypeReference<JsonResponse<PostDetailRetrieveResponse>>() {
-                })
-                .consumeWith(response -> {
-                    PostDetailRetrieveResponse body = response.getResponseBody().result();
-                    Assertions.assertThat(body).isNotNull();
-                });
+                .expectBody()
+                .jsonPath("$.result.posts[0].no").isEqualTo(2)
+                .jsonPath("$.result.posts[0].title").isEqualTo("title2")
+                .jsonPath("$.result.posts[0].content").doesNotExist()
+                .jsonPath("$.result.posts[1].no").isEqualTo(1)
+                .jsonPath("$.result.missing[0]").isEqualTo(3);
+    }
 
-        // then
+    @Test
+    @DisplayName("사용자가 한 번에 조회할 수 있는 개수보다 많은 게시글을 요청하면 400 응답이 반환된다.")
+    void tooManyPostBatchTest() {
+        // given
+        List<Integer> ids = IntStream.rangeClosed(1, PostBatchRetrieveRequest.MAX_SIZE + 1).boxed().toList();
+
+        // when & then
+        webTestClient.post().uri("/post/_batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("ids", ids))
+                .exchange()
+                .expectStatus().isBadRequest();
+        Mockito.verify(postService, Mockito.never()).retrievePostBatch(Mockito.any());
     }
 
     @Test
-    @DisplayName("사용자가 게시글 수정 요청을 보내면 새롭게 수정된 게시글이 반환된다.")
-    void patchPostTest() {
+    @DisplayName("중복을 뺀 게시글 번호가 한 번에 조회할 수 있는 개수 이하이면 조회된다.")
+    void duplicatedPostBatchTest() {
         // given
-        PostPatchRequest request = new PostPatchRequest("newTitle", "newContent");
+        List<Integer> ids = new ArrayList<>(IntStream.rangeClosed(1, PostBatchRetrieveRequest.MAX_SIZE).boxed().toList());
+        ids.add(1);
+        PostBatchRetrieveRequest request = PostBatchRetrieveRequest.of(ids, null);
 
         // when
-        Mockito.when(postService.patchPostDetail(1, request)).thenReturn(Mono.just(
-                new PostDetailRetrieveResponse(1, "newTitle", "newContent", LocalDateTime.now())
-        ));
+        Mockito.when(postService.retrievePostBatch(request))
+                .thenReturn(Mono.just(new PostBatchRetrieveResponse(List.of(), request.ids())));
 
         // then
-        webTestClient.patch().uri("/post/{no}", 1)
+        webTestClient.post().uri("/post/_batch")
                 .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
+                .bodyValue(Map.of("ids", ids))
+                .exchange()
+                .expectStatus().isOk();
+        Mockito.verify(postService).retrievePostBatch(request);
+    }
+
+    @Test
+    @DisplayName("사용자가 알 수 없는 필드나 읽을 수 없는 본문으로 여러 게시글을 조회하면 400 응답이 공통 응답 형식으로 반환된다.")
+    void invalidPostBatchBodyTest() {
+        // when & then
+        webTestClient.post().uri("/post/_batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("ids", List.of(1), "fields", List.of("unknown")))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("INVALID_PARAMETER");
+        webTestClient.post().uri("/post/_batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"ids\": [\"one\"]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("INVALID_PARAMETER");
+        Mockito.verify(postService, Mockito.never()).retrievePostBatch(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("사용자가 빈 검색어로 검색하면 400 응답이 반환된다.")
+    void blankSearchQueryTest() {
+        // when & then
+        webTestClient.get().uri(builder -> builder.path("/post/search").queryParam("q", " ").build())
+                .exchange()
+                .expectStatus().isBadRequest();
+        Mockito.verify(postService, Mockito.never()).searchPosts(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("사용자가 Last-Event-ID와 함께 이벤트 스트림을 구독하면 그 이후의 이벤트가 번호와 종류와 함께 전달된다.")
+    void streamPostEventsTest() {
+        // given
+        PostRetrieveResponse post = PostRetrieveResponse.created(3, "title", LocalDateTime.now());
+
+        // when
+        Mockito.when(postService.streamPostEvents(7L))
+                .thenReturn(Flux.just(PostEvent.created(8, post), PostEvent.heartbeat()));
+
+        // then
+        Flux<ServerSentEvent<String>> events = webTestClient.get().uri("/post/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", "7")
                 .exchange()
                 .expectStatus().isOk()
-                .expectBody(new ParameterizedTypeReference<JsonResponse<PostDetailRetrieveResponse>>() {
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
                 })
-                .consumeWith(response -> {
-                    PostDetailRetrieveResponse data = response.getResponseBody().result();
-                    Assertions.assertThat(data.content()).isEqualTo("newContent");
-                });
+                .getResponseBody();
+        StepVerifier.create(events)
+                .expectNextMatches(event -> "8".equals(event.id())
+                        && "created".equals(event.event())
+                        && event.data().contains("\"title\":\"title\""))
+                .expectNextMatches(event -> "heartbeat".equals(event.comment()))
+                .verifyComplete();
     }
 
     @Test
-    @DisplayName("사용자가 게시글 삭제 요청을 보내면 게시글을 삭제한다.")
-    void deletePostTest() {
+    @DisplayName("사용자가 본문의 바이트 구간을 요청하면 해당 구간만 206 응답으로 반환된다.")
+    void retrievePostContentRangeTest() {
         // given
         Integer no = 1;
+        PostContent content = new PostContent(no, 2, 10L, false);
 
         // when
-        Mockito.when(postService.deletePost(no)).thenReturn(Mono.just(1));
+        Mockito.when(postService.retrievePostContent(no)).thenReturn(Mono.just(content));
+        Mockito.when(postService.streamPostContent(content, 2, 5))
+                .thenReturn(Flux.just(ByteBuffer.wrap("cde".getBytes(StandardCharsets.UTF_8))));
+
+        // then
+        webTestClient.get().uri("/post/{no}/content", no)
+                .header(HttpHeaders.RANGE, "bytes=2-4")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PARTIAL_CONTENT)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10")
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-2\"")
+                .expectBody(String.class).isEqualTo("cde");
+    }
+
+    @Test
+    @DisplayName("사용자가 본문 길이를 벗어난 구간을 요청하면 416 응답이 반환된다.")
+    void unsatisfiableContentRangeTest() {
+        // given
+        Integer no = 1;
+
+        // when
+        Mockito.when(postService.retrievePostContent(no)).thenReturn(Mono.just(new PostContent(no, 2, 10L, false)));
+
+        // then
+        webTestClient.get().uri("/post/{no}/content", no)
+                .header(HttpHeaders.RANGE, "bytes=10-")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_RANGE, "bytes */10");
+        Mockito.verify(postService, Mockito.never()).streamPostContent(Mockito.any(), Mockito.anyLong(), Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("사용자가 CBOR 응답을 요청하면 JSON과 같은 응답 구조가 CBOR로 반환된다.")
+    void retrievePostingListAsCborTest() throws IOException {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0, 30);
+        Mockito.when(postService.retrievePostPage(new PostRetrieveRequest(0, 10))).thenReturn(Mono.just(
+                new PostPageResponse(List.of(new PostRetrieveResponse(1, "title1", createdAt, 0, 0L)), false, null)
+        ));
+
+        // when
+        byte[] body = webTestClient.get().uri("/post")
+                .accept(BinaryMediaTypes.CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(BinaryMediaTypes.CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
 
         // then
-        webTestClient.delete().uri("/post/{no}", no)
+        JsonNode response = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertThat(response.get("code").asText()).isNotBlank();
+        assertThat(response.at("/result/posts/0/title").asText()).isEqualTo("title1");
+        assertThat(response.at("/result/posts/0/createdAt").asText()).isEqualTo("2024-01-01T12:00:30");
+        assertThat(response.at("/result/hasNext").asBoolean()).isFalse();
+    }
+
+    @Test
+    @DisplayName("사용자가 Smile 응답을 요청하면 게시글 상세 내역이 Smile로 반환된다.")
+    void retrievePostDetailAsSmileTest() throws IOException {
+        // given
+        Integer no = 1;
+        Mockito.when(postService.retrievePostDetail(new PostDetailRetrieveRequest(no))).thenReturn(Mono.just(
+                new PostDetailRetrieveResponse(no, "title", "본문", LocalDateTime.now(), 0, 0L)
+        ));
+
+        // when
+        byte[] body = webTestClient.get().uri("/post/{no}", no)
+                .accept(BinaryMediaTypes.SMILE)
                 .exchange()
-                .expectStatus().isNoContent();
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(BinaryMediaTypes.SMILE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // then
+        JsonNode response = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(response.at("/result/no").asInt()).isEqualTo(no);
+        assertThat(response.at("/result/content").asText()).isEqualTo("본문");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.sehako.streamboard.presentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sehako.streamboard.application.response.PostDetailRetrieveResponse;
+import com.sehako.streamboard.common.compression.Gzip;
+import com.sehako.streamboard.common.response.JsonResponse;
+import com.sehako.streamboard.common.response.message.code.SuccessCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class PostDetailBodyCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final PostDetailBodyCache cache = new PostDetailBodyCache(
+            new PostDetailBodyCacheProperties(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1), DataSize.ofBytes(256)),
+            objectMapper,
+            new SimpleMeterRegistry()
+    );
+
+    @Test
+    @DisplayName("gzip을 받는다고 한 요청만 압축된 응답 캐시를 사용한다.")
+    void acceptsTest() {
+        // when & then
+        assertThat(cache.accepts("gzip, deflate, br")).isTrue();
+        assertThat(cache.accepts("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(cache.accepts("gzip;q=0")).isFalse();
+        assertThat(cache.accepts("deflate, br")).isFalse();
+        assertThat(cache.accepts(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("큰 상세 응답은 한 번 압축해 보관하고, 풀면 원래 JSON과 같다.")
+    void compressedBodyTest() throws Exception {
+        // given
+        JsonResponse<PostDetailRetrieveResponse> response = response(1, 0, "content ".repeat(200));
+
+        // when
+        PostDetailBodyCache.Body body = cache.put(response).block();
+
+        // then
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        assertThat(body.compressed()).isTrue();
+        assertThat(body.bytes().length).isLessThan(json.length);
+        assertThat(Gzip.decompress(ByteBuffer.wrap(body.bytes()))).isEqualTo(json);
+        assertThat(cache.getIfPresent(1, 0, response.message())).containsSame(body);
+    }
+
+    @Test
+    @DisplayName("큰 상세 응답은 호출한 스레드가 아닌 boundedElastic 스레드에서 압축한다.")
+    void compressOffCallerThreadTest() {
+        // given
+        JsonResponse<PostDetailRetrieveResponse> response = response(3, 0, "content ".repeat(200));
+
+        // when
+        String thread = cache.put(response)
+                .map(body -> Thread.currentThread().getName())
+                .block();
+
+        // then
+        assertThat(thread).startsWith("boundedElastic");
+    }
+
+    @Test
+    @DisplayName("작은 응답은 압축하지 않고, 버전이 다르면 캐시된 응답을 쓰지 않는다.")
+    void smallBodyAndVersionTest() {
+        // given
+        JsonResponse<PostDetailRetrieveResponse> response = response(2, 3, "short");
+
+        // when
+        PostDetailBodyCache.Body body = cache.put(response).block();
+
+        // then
+        assertThat(body.compressed()).isFalse();
+        assertThat(cache.getIfPresent(2, 3, response.message())).isPresent();
+        assertThat(cache.getIfPresent(2, 4, response.message())).isEmpty();
+        assertThat(cache.getIfPresent(2, 3, "other message")).isEmpty();
+    }
+
+    private JsonResponse<PostDetailRetrieveResponse> response(Integer no, Integer version, String content) {
+        PostDetailRetrieveResponse post = new PostDetailRetrieveResponse(
+                no, "title", content, LocalDateTime.of(2025, 11, 24, 10, 0), version, 0L
+        );
+        return JsonResponse.of(SuccessCode.SUCCESS, "success", post);
+    }
+}
@@ -0,0 +1,36 @@
+package com.sehako.streamboard.presentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PostETagTest {
+
+    @Test
+    @DisplayName("조회수가 담긴 상세 응답은 약한 ETag를, 압축한 상세 본문은 압축 방식이 붙은 ETag를 갖는다.")
+    void detailETagTest() {
+        // when & then
+        assertThat(PostETag.of(1, 2)).isEqualTo("\"1-2\"");
+        assertThat(PostETag.ofDetail(1, 2)).isEqualTo("W/\"1-2\"");
+        assertThat(PostETag.ofGzipDetail(1, 2)).isEqualTo("W/\"1-2-gzip\"");
+    }
+
+    @Test
+    @DisplayName("If-None-Match가 두 표현 중 하나와 일치하면 일치한 ETag를 반환한다.")
+    void matchDetailTest() {
+        // when & then
+        assertThat(PostETag.matchDetail("W/\"1-2-gzip\"", 1, 2)).contains("W/\"1-2-gzip\"");
+        assertThat(PostETag.matchDetail("\"1-2\"", 1, 2)).contains("W/\"1-2\"");
+        assertThat(PostETag.matchDetail("W/\"1-1-gzip\"", 1, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("If-Match에 약한 ETag나 압축한 본문의 ETag를 보내도 같은 버전으로 읽는다.")
+    void parseVersionTest() {
+        // when & then
+        assertThat(PostETag.parseVersion(1, "W/\"1-3-gzip\"")).isEqualTo(3);
+        assertThat(PostETag.parseVersion(1, "W/\"1-3\"")).isEqualTo(3);
+        assertThat(PostETag.parseVersion(1, "\"1-3\"")).isEqualTo(3);
+    }
+}